@@ -14,6 +14,55 @@ const ActiveUsers = ({ currentUsername }) => {
 
     useEffect(() => {
         let userListSubscription = null;
+        let snapshotSubscription = null;
+        let version = null; // 마지막으로 반영한 목록 버전
+        let buffered = []; // 스냅샷을 받기 전에 도착한 DELTA
+
+        // DELTA 반영: 같은 이름이 여러 번 있으면 그 수만큼 추가/제거
+        const applyDelta = (message) => {
+            setUsers((prev) => {
+                const next = [...prev];
+                (message.left || []).forEach((name) => {
+                    const idx = next.indexOf(name);
+                    if (idx >= 0) next.splice(idx, 1);
+                });
+                return next.concat(message.joined || []);
+            });
+            setTotalCount(message.totalCount || 0);
+            version = message.version;
+        };
+
+        // /app/musicbox/users 구독 시 이 세션에만 전체 목록(SNAPSHOT)이 1회 온다
+        const requestSnapshot = () => {
+            version = null;
+            if (snapshotSubscription) {
+                snapshotSubscription.unsubscribe();
+            }
+            snapshotSubscription = musicBoxWebSocketService.subscribe(
+                '/app/musicbox/users',
+                (message) => {
+                    setUsers(message.users || []);
+                    setTotalCount(message.totalCount || 0);
+                    version = message.version;
+                    const pending = buffered;
+                    buffered = [];
+                    pending.forEach(handleUserListMessage);
+                }
+            );
+        };
+
+        const handleUserListMessage = (message) => {
+            if (version === null) {
+                buffered.push(message);
+            } else if (message.version <= version) {
+                // 스냅샷에 이미 반영된 변경분
+            } else if (message.version === version + 1) {
+                applyDelta(message);
+            } else {
+                // 버전을 건너뛰었으면 전체 목록을 다시 받는다
+                requestSnapshot();
+            }
+        };
 
         // WebSocket 연결이 완료될 때까지 대기
         const subscribeWhenConnected = () => {
@@ -23,16 +72,13 @@ const ActiveUsers = ({ currentUsername }) => {
                 return;
             }
 
-            // /topic/musicbox/users 구독 (username 헤더와 함께)
+            // /topic/musicbox/users 구독 (username 헤더와 함께) — 입장/퇴장 변경분(DELTA) 수신
             userListSubscription = musicBoxWebSocketService.subscribe(
                 '/topic/musicbox/users',
-                (message) => {
-                    console.log('👥 User list updated:', message);
-                    setUsers(message.users || []);
-                    setTotalCount(message.totalCount || 0);
-                },
+                handleUserListMessage,
                 currentUsername // username 헤더 전달
             );
+            requestSnapshot();
         };
 
         subscribeWhenConnected();
@@ -42,6 +88,9 @@ const ActiveUsers = ({ currentUsername }) => {
             if (userListSubscription) {
                 userListSubscription.unsubscribe();
             }
+            if (snapshotSubscription) {
+                snapshotSubscription.unsubscribe();
+            }
         };
     }, [currentUsername]);
 
@@ -1,8 +1,8 @@
-import React, { useState, useEffect, useCallback } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import PropTypes from 'prop-types';
 import styled from 'styled-components';
 import musicBoxWebSocketService from '../../services/musicBoxWebSocket';
-import { fetchGridState } from '../../services/musicBoxApi';
+import { fetchGridState, fetchFramesSince } from '../../services/musicBoxApi';
 
 // 그리드 크기 상수
 const GRID_WIDTH = 16;
@@ -11,6 +11,44 @@ const GRID_HEIGHT = 8;
 // 음계 레이블 (C4부터 C5까지)
 const NOTE_LABELS = ['C5', 'B4', 'A4', 'G4', 'F4', 'E4', 'D4', 'C4'];
 
+/**
+ * Base64 비트셋 디코딩 (long 단위 little-endian → 비트 i 는 바이트 i >> 3 의 i & 7 번째 비트)
+ */
+const decodeBits = (base64) => {
+    const binary = atob(base64);
+    const bytes = new Uint8Array(binary.length);
+    for (let i = 0; i < binary.length; i++) {
+        bytes[i] = binary.charCodeAt(i);
+    }
+    return bytes;
+};
+
+/**
+ * diff 프레임을 그리드에 적용 (changed 비트가 켜진 셀을 active 비트 값으로 덮어씀)
+ */
+const applyDiff = (prevGrid, frame) => {
+    const changed = decodeBits(frame.changed);
+    const active = decodeBits(frame.active);
+    const width = frame.gridWidth;
+    const newGrid = prevGrid.map(row => [...row]);
+    for (let byteIndex = 0; byteIndex < changed.length; byteIndex++) {
+        if (changed[byteIndex] === 0) {
+            continue;
+        }
+        for (let bit = 0; bit < 8; bit++) {
+            if (changed[byteIndex] & (1 << bit)) {
+                const index = byteIndex * 8 + bit;
+                const x = index % width;
+                const y = Math.floor(index / width);
+                if (y < GRID_HEIGHT && x < GRID_WIDTH) {
+                    newGrid[y][x] = (active[byteIndex] & (1 << bit)) !== 0;
+                }
+            }
+        }
+    }
+    return newGrid;
+};
+
 /**
  * 뮤직 그리드 컴포넌트
  *
@@ -24,6 +62,10 @@ const MusicGrid = ({ onGridChange, currentPlaybackPosition = -1, username }) =>
 
     const [connected, setConnected] = useState(false);
 
+    // 마지막으로 적용한 diff 프레임 순번 (스냅샷 로드 전에는 null)
+    const lastSeqRef = useRef(null);
+    const catchingUpRef = useRef(false);
+
     /**
      * 초기 그리드 상태 로드
      */
@@ -46,6 +88,7 @@ const MusicGrid = ({ onGridChange, currentPlaybackPosition = -1, username }) =>
             });
 
             setGrid(newGrid);
+            lastSeqRef.current = data.seq != null ? data.seq : 0;
 
             // 부모 컴포넌트에 그리드 상태 전달 (항상 호출)
             onGridChange(newGrid);
@@ -55,12 +98,92 @@ const MusicGrid = ({ onGridChange, currentPlaybackPosition = -1, username }) =>
         }
     }, [onGridChange]);
 
+    /**
+     * diff 프레임 적용 (순번이 비면 누락 프레임을 받아오고, 보관 범위를 벗어났으면 스냅샷을 다시 로드)
+     */
+    const applyFrames = useCallback((frames) => {
+        if (frames.length === 0) {
+            return;
+        }
+        setGrid(prevGrid => {
+            let newGrid = prevGrid;
+            frames.forEach(frame => {
+                newGrid = applyDiff(newGrid, frame);
+            });
+            if (onGridChange) {
+                onGridChange(newGrid);
+            }
+            return newGrid;
+        });
+        lastSeqRef.current = frames[frames.length - 1].seq;
+    }, [onGridChange]);
+
+    const catchUp = useCallback(async (since) => {
+        if (catchingUpRef.current) {
+            return;
+        }
+        catchingUpRef.current = true;
+        try {
+            const frames = await fetchFramesSince(since);
+            if (frames === null) {
+                await loadInitialGrid();
+            } else if (frames.length > 0) {
+                applyFrames(frames.filter(frame => frame.seq > lastSeqRef.current));
+            }
+        } catch (error) {
+            await loadInitialGrid();
+        } finally {
+            catchingUpRef.current = false;
+        }
+    }, [applyFrames, loadInitialGrid]);
+
+    /**
+     * 순번을 버리고 스냅샷부터 다시 로드 (방 크기 변경 SYNC, 서버 재시작으로 순번이 되돌아간 경우)
+     */
+    const resync = useCallback(async () => {
+        if (catchingUpRef.current) {
+            return;
+        }
+        catchingUpRef.current = true;
+        lastSeqRef.current = null;
+        try {
+            await loadInitialGrid();
+        } finally {
+            catchingUpRef.current = false;
+        }
+    }, [loadInitialGrid]);
+
     /**
      * WebSocket 메시지 수신 핸들러
      */
     const handleMessageReceived = useCallback((message) => {
+        if (message.type === 'DIFF') {
+            const lastSeq = lastSeqRef.current;
+            if (lastSeq === null || message.seq === lastSeq || catchingUpRef.current) {
+                // 스냅샷 로드 전이거나 이미 반영된 프레임
+                return;
+            }
+            if (message.seq < lastSeq) {
+                // 순번이 되돌아감 (서버 재시작 등): 이 순번 체계로는 이어 붙일 수 없다
+                resync();
+                return;
+            }
+            if (message.seq !== lastSeq + 1) {
+                catchUp(lastSeq);
+                return;
+            }
+            applyFrames([message]);
+            return;
+        }
+
         console.log('📨 WebSocket message received:', message);
 
+        if (message.type === 'SYNC') {
+            // 방 그리드가 교체됨 (크기 변경)
+            resync();
+            return;
+        }
+
         if (message.type === 'CLEAR') {
             // 전체 클리어
             const clearedGrid = Array(GRID_HEIGHT).fill(null)
@@ -88,7 +211,7 @@ const MusicGrid = ({ onGridChange, currentPlaybackPosition = -1, username }) =>
                 return newGrid;
             });
         }
-    }, [onGridChange]);
+    }, [onGridChange, applyFrames, catchUp, resync]);
 
     /**
      * 컴포넌트 마운트 시 WebSocket 연결 및 초기 데이터 로드
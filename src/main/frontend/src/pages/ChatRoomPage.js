@@ -1,15 +1,30 @@
-import React, { useEffect, useState, useRef } from "react";
+import React, { useEffect, useLayoutEffect, useState, useRef } from "react";
 import { useParams } from "react-router-dom";
 import SockJS from "sockjs-client";
 import { Client } from "@stomp/stompjs";
 import "../assets/css/ChatRoomPage.scss";
 
+// 한 번에 불러오는 메시지 수 (서버 기본값과 동일)
+const PAGE_SIZE = 50;
+
+// 이미 불러온 메시지와 새로 받은 메시지를 ID 기준으로 합침 (ID 오름차순)
+const mergeById = (current, incoming) => {
+  const byId = new Map(current.map((m) => [m.id, m]));
+  incoming.forEach((m) => byId.set(m.id, { ...byId.get(m.id), ...m }));
+  return [...byId.values()].sort((a, b) => a.id - b.id);
+};
+
 const ChatRoomPage = () => {
   const { roomId } = useParams();
   const [room, setRoom] = useState(null);
   const [messages, setMessages] = useState([]);
   const [input, setInput] = useState("");
+  const [hasMore, setHasMore] = useState(false);
+  const [isLoadingOlder, setIsLoadingOlder] = useState(false);
   const stompClient = useRef(null);
+  const messagesRef = useRef(null);
+  // 이전 메시지를 앞에 붙이기 직전의 scrollHeight
+  const prependScrollHeightRef = useRef(null);
 
   // 채팅방 정보 API 호출 (GET /api/chatrooms/{roomId})
   useEffect(() => {
@@ -26,13 +41,21 @@ const ChatRoomPage = () => {
     fetchRoomDetails();
   }, [roomId]);
 
-  // 기존 메시지 불러오기 (GET /api/chatmessages/{roomId}) 및 폴링
+  // 최근 메시지 불러오기 (GET /api/chatmessages/{roomId}) 및 폴링
+  // 폴링은 최근 페이지만 받아 합치므로 위로 불러온 이전 메시지는 유지된다
   useEffect(() => {
+    let isFirstFetch = true;
+    setMessages([]);
+
     const fetchMessages = async () => {
       try {
-        const res = await fetch(`/api/chatmessages/${roomId}`);
+        const res = await fetch(`/api/chatmessages/${roomId}?limit=${PAGE_SIZE}`);
         const data = await res.json();
-        setMessages(data);
+        if (isFirstFetch) {
+          isFirstFetch = false;
+          setHasMore(data.length === PAGE_SIZE);
+        }
+        setMessages((prev) => mergeById(prev, data));
       } catch (error) {
         console.error("메시지 가져오기 실패:", error);
       }
@@ -45,6 +68,42 @@ const ChatRoomPage = () => {
     return () => clearInterval(interval);
   }, [roomId]);
 
+  // 앞에 붙인 만큼 내려서 보던 위치를 유지
+  useLayoutEffect(() => {
+    const list = messagesRef.current;
+    if (prependScrollHeightRef.current !== null && list) {
+      list.scrollTop += list.scrollHeight - prependScrollHeightRef.current;
+      prependScrollHeightRef.current = null;
+    }
+  }, [messages]);
+
+  // 가장 오래된 메시지 ID 를 beforeId 로 넘겨 그 이전 페이지를 불러옴
+  const loadOlderMessages = async () => {
+    if (isLoadingOlder || !hasMore || messages.length === 0) return;
+    setIsLoadingOlder(true);
+    try {
+      const res = await fetch(
+        `/api/chatmessages/${roomId}?beforeId=${messages[0].id}&limit=${PAGE_SIZE}`
+      );
+      const older = await res.json();
+      setHasMore(older.length === PAGE_SIZE);
+      if (older.length > 0) {
+        prependScrollHeightRef.current = messagesRef.current?.scrollHeight ?? null;
+        setMessages((prev) => mergeById(prev, older));
+      }
+    } catch (error) {
+      console.error("이전 메시지 가져오기 실패:", error);
+    } finally {
+      setIsLoadingOlder(false);
+    }
+  };
+
+  const handleMessagesScroll = (e) => {
+    if (e.currentTarget.scrollTop < 40) {
+      loadOlderMessages();
+    }
+  };
+
   // WebSocket 연결 설정 (실시간 메시지 수신)
   useEffect(() => {
     // 환경에 따른 WebSocket URL 설정
@@ -64,7 +123,17 @@ const ChatRoomPage = () => {
         if (room) {
           stompClient.current.subscribe(`/topic/chat/${room.id}`, (message) => {
             const msg = JSON.parse(message.body);
-            setMessages((prev) => [...prev, msg]);
+            if (msg.status === "FAILED") {
+              // 저장에 실패한 메시지는 이미 받은 항목에 표시만 한다
+              setMessages((prev) => {
+                const exists = prev.some((m) => m.id === msg.id);
+                return exists
+                  ? prev.map((m) => (m.id === msg.id ? { ...m, status: msg.status } : m))
+                  : [...prev, msg];
+              });
+              return;
+            }
+            setMessages((prev) => mergeById(prev, [msg]));
           });
         }
       },
@@ -107,7 +176,16 @@ const ChatRoomPage = () => {
         <p>채팅방 정보를 불러오는 중...</p>
       )}
 
-      <div className="chat-messages">
+      <div className="chat-messages" ref={messagesRef} onScroll={handleMessagesScroll}>
+        {hasMore && (
+          <button
+            className="load-older"
+            onClick={loadOlderMessages}
+            disabled={isLoadingOlder}
+          >
+            {isLoadingOlder ? "불러오는 중..." : "이전 메시지 더 보기"}
+          </button>
+        )}
         {messages.length > 0 ? (
           messages.map((msg) => (
             <div key={msg.id} className="chat-message">
@@ -118,6 +196,9 @@ const ChatRoomPage = () => {
               <span className="timestamp">
                 {msg.formattedSentAt || msg.sentAt}
               </span>
+              {msg.status === "FAILED" && (
+                <span className="failed"> (저장 실패)</span>
+              )}
             </div>
           ))
         ) : (
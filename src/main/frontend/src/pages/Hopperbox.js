@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef, useCallback } from 'react';
 import ThoughtInput from '../components/hopperbox/ThoughtInput';
 import ThoughtMap from '../components/hopperbox/ThoughtMap';
 import TopicSelector from '../components/hopperbox/TopicSelector';
@@ -6,12 +6,29 @@ import thoughtService from '../services/thoughtService';
 import topicService from '../services/topicService';
 import './Hopperbox.css';
 
+// 태그 확정 알림을 놓쳤을 때 tagsPending 을 다시 확인하는 주기와 최대 대기 시간
+const PENDING_POLL_INTERVAL_MS = 5000;
+const PENDING_MAX_WAIT_MS = 120000;
+
+// 계층 노드(children 포함)에서 해당 생각의 태그만 교체
+const replaceNodeTags = (nodes, thoughtId, tags) => nodes.map(node => {
+  const children = Array.isArray(node.children) ? replaceNodeTags(node.children, thoughtId, tags) : node.children;
+  if (node.id === thoughtId) {
+    return { ...node, tags, children };
+  }
+  return children === node.children ? node : { ...node, children };
+});
+
 const Hopperbox = () => {
   const [topics, setTopics] = useState([]);
   const [selectedTopicId, setSelectedTopicId] = useState(null);
   const [mapData, setMapData] = useState([]);
   const [isLoadingTopics, setIsLoadingTopics] = useState(false);
   const [isLoadingMap, setIsLoadingMap] = useState(false);
+  const selectedTopicIdRef = useRef(null);
+  const tagSubscriptionRef = useRef(null);
+  // AI 태그를 기다리는 생각 ID → { topicId, deadline }
+  const pendingTagsRef = useRef(new Map());
 
   // 주제 목록 불러오기 (생각 개수는 선택 시에만 조회)
   const fetchTopics = async () => {
@@ -123,13 +140,66 @@ const Hopperbox = () => {
 
   // 주제 선택 시 맵 데이터 다시 로드
   useEffect(() => {
+    selectedTopicIdRef.current = selectedTopicId;
     fetchThoughtMap(selectedTopicId);
   }, [selectedTopicId]);
 
+  // 확정된 AI 태그를 현재 맵에 반영 (맵을 다시 불러오지 않고 해당 노드만 교체)
+  const applyTagUpdate = useCallback(({ thoughtId, topicId, tags }) => {
+    pendingTagsRef.current.delete(thoughtId);
+    if (topicId == null || topicId !== selectedTopicIdRef.current) return;
+    setMapData(prev => {
+      if (!prev || !Array.isArray(prev.nodes)) return prev;
+      return { ...prev, nodes: replaceNodeTags(prev.nodes, thoughtId, tags || []) };
+    });
+  }, []);
+
+  // AI 태그 확정 알림 구독
+  useEffect(() => {
+    tagSubscriptionRef.current = thoughtService.subscribeTagUpdates(applyTagUpdate);
+    return () => {
+      tagSubscriptionRef.current?.close();
+      tagSubscriptionRef.current = null;
+    };
+  }, [applyTagUpdate]);
+
+  // WebSocket 이 끊겨 있으면 tagsPending 인 생각을 폴링
+  useEffect(() => {
+    const timer = setInterval(async () => {
+      const pending = pendingTagsRef.current;
+      if (pending.size === 0 || tagSubscriptionRef.current?.isConnected()) return;
+
+      const now = Date.now();
+      for (const [thoughtId, { topicId, deadline }] of pending) {
+        if (now > deadline) {
+          pending.delete(thoughtId);
+          continue;
+        }
+        try {
+          const response = await thoughtService.getThoughtById(thoughtId);
+          const thought = response.data;
+          if (thought && !thought.tagsPending) {
+            applyTagUpdate({ thoughtId, topicId, tags: thought.tags });
+          }
+        } catch {
+          pending.delete(thoughtId);
+        }
+      }
+    }, PENDING_POLL_INTERVAL_MS);
+    return () => clearInterval(timer);
+  }, [applyTagUpdate]);
+
   // 새 생각 저장
   const handleThoughtSubmit = async (content) => {
     try {
-      await thoughtService.createThoughtWithTopic(content, selectedTopicId);
+      const response = await thoughtService.createThoughtWithTopic(content, selectedTopicId);
+      const created = response?.data;
+      if (created?.tagsPending) {
+        pendingTagsRef.current.set(created.id, {
+          topicId: selectedTopicId,
+          deadline: Date.now() + PENDING_MAX_WAIT_MS,
+        });
+      }
       // 저장 후 맵 다시 로드
       await fetchThoughtMap(selectedTopicId);
     } catch (error) {
@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useRef } from 'react';
+import React, { useState, useEffect, useLayoutEffect, useRef } from 'react';
 import { useParams } from 'react-router-dom';
 import axios from 'axios';
 import { Client } from '@stomp/stompjs';
@@ -6,6 +6,9 @@ import SockJS from 'sockjs-client';
 import authService from '../services/AuthService';
 import '../assets/css/LiveChatRoomPage.scss';
 
+// 한 번에 불러오는 이전 메시지 수 (서버 기본값과 동일)
+const PAGE_SIZE = 50;
+
 function LiveChatRoomPage() {
     const { roomId } = useParams();
     const [messages, setMessages] = useState([]);
@@ -14,21 +17,72 @@ function LiveChatRoomPage() {
     const [currentUser, setCurrentUser] = useState(null);
     const [isConnected, setIsConnected] = useState(false);
     const [isComposing, setIsComposing] = useState(false);
+    const [hasMore, setHasMore] = useState(false);
+    const [isLoadingOlder, setIsLoadingOlder] = useState(false);
     const stompClient = useRef(null);
     const messagesEndRef = useRef(null);
+    const messageListRef = useRef(null);
+    // 이전 메시지를 앞에 붙이기 직전의 scrollHeight (null 이면 맨 아래로 스크롤)
+    const prependScrollHeightRef = useRef(null);
+    // 첫 페이지는 애니메이션 없이 맨 아래로 (스크롤 중 상단 도달로 이전 페이지를 부르지 않도록)
+    const initialScrollDoneRef = useRef(false);
 
     useEffect(() => {
         setCurrentUser(authService.getCurrentUsername());
     }, []);
 
-    const scrollToBottom = () => {
-        messagesEndRef.current?.scrollIntoView({ behavior: "smooth" });
+    const scrollToBottom = (behavior = "smooth") => {
+        messagesEndRef.current?.scrollIntoView({ behavior });
     };
 
-    useEffect(() => {
+    useLayoutEffect(() => {
+        const list = messageListRef.current;
+        if (prependScrollHeightRef.current !== null && list) {
+            // 앞에 붙인 만큼 내려서 보던 위치를 유지
+            list.scrollTop += list.scrollHeight - prependScrollHeightRef.current;
+            prependScrollHeightRef.current = null;
+            return;
+        }
+        if (!initialScrollDoneRef.current && messages.length > 0) {
+            initialScrollDoneRef.current = true;
+            scrollToBottom("auto");
+            return;
+        }
         scrollToBottom();
     }, [messages]);
 
+    // 가장 오래된 메시지 ID 를 beforeId 로 넘겨 그 이전 페이지를 불러옴
+    const loadOlderMessages = async () => {
+        if (isLoadingOlder || !hasMore || messages.length === 0) return;
+        setIsLoadingOlder(true);
+        try {
+            const token = authService.getToken();
+            const response = await axios.get(`/api/livechat/rooms/${roomId}/messages`, {
+                headers: { Authorization: `Bearer ${token}` },
+                params: { beforeId: messages[0].id, limit: PAGE_SIZE }
+            });
+            const older = response.data;
+            setHasMore(older.length === PAGE_SIZE);
+            if (older.length > 0) {
+                prependScrollHeightRef.current = messageListRef.current?.scrollHeight ?? null;
+                setMessages(prevMessages => {
+                    const loadedIds = new Set(prevMessages.map(msg => msg.id));
+                    return [...older.filter(msg => !loadedIds.has(msg.id)), ...prevMessages];
+                });
+            }
+        } catch (error) {
+            console.error('Error fetching older messages:', error);
+        } finally {
+            setIsLoadingOlder(false);
+        }
+    };
+
+    const handleMessageListScroll = (e) => {
+        if (e.currentTarget.scrollTop < 40) {
+            loadOlderMessages();
+        }
+    };
+
     useEffect(() => {
         const fetchRoomDetails = async () => {
             try {
@@ -53,11 +107,13 @@ function LiveChatRoomPage() {
                 const response = await axios.get(`/api/livechat/rooms/${roomId}/messages`, {
                     headers: {
                         Authorization: `Bearer ${token}`
-                    }
+                    },
+                    params: { limit: PAGE_SIZE }
                 });
                 console.log('Loaded previous messages:', response.data);
                 console.log('First message structure:', response.data[0]);
                 setMessages(response.data);
+                setHasMore(response.data.length === PAGE_SIZE);
             } catch (error) {
                 console.error('Error fetching previous messages:', error);
                 if (error.response?.status === 401) {
@@ -66,6 +122,7 @@ function LiveChatRoomPage() {
             }
         };
 
+        initialScrollDoneRef.current = false;
         fetchRoomDetails();
         fetchPreviousMessages();
 
@@ -219,7 +276,16 @@ function LiveChatRoomPage() {
                     {isConnected ? '연결됨' : '연결 안됨'}
                 </div>
             </div>
-            <div className="message-list">
+            <div className="message-list" ref={messageListRef} onScroll={handleMessageListScroll}>
+                {hasMore && (
+                    <button
+                        className="load-older-button"
+                        onClick={loadOlderMessages}
+                        disabled={isLoadingOlder}
+                    >
+                        {isLoadingOlder ? '불러오는 중...' : '이전 메시지 더 보기'}
+                    </button>
+                )}
                 {messages.length === 0 ? (
                     <div className="empty-chat">
                         <div className="empty-icon">💬</div>
@@ -229,7 +295,7 @@ function LiveChatRoomPage() {
                 ) : (
                     messages.map((msg, index) => (
                         <div
-                            key={index}
+                            key={msg.id ?? index}
                             className={`message-bubble ${msg.senderName === currentUser ? 'my-message' : 'other-message'}`}
                         >
                             {msg.senderName !== currentUser && (
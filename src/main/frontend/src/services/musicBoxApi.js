@@ -24,6 +24,25 @@ export const fetchGridState = async () => {
     }
 };
 
+/**
+ * 특정 순번 이후의 diff 프레임 조회
+ *
+ * @param {number} since - 마지막으로 적용한 프레임 순번
+ * @returns {Promise} 프레임 배열, 보관 범위를 벗어났으면 null (전체 스냅샷 필요)
+ */
+export const fetchFramesSince = async (since) => {
+    try {
+        const response = await axios.get(`${API_BASE_URL}/grid/frames`, { params: { since } });
+        return response.data;
+    } catch (error) {
+        if (error.response && error.response.status === 410) {
+            return null;
+        }
+        console.error(`❌ Error fetching frames since ${since}:`, error);
+        throw error;
+    }
+};
+
 /**
  * 특정 X 좌표의 활성화된 노트 조회
  *
@@ -1,4 +1,7 @@
+import { Client } from '@stomp/stompjs';
+import SockJS from 'sockjs-client';
 import axios from '../utils/axiosConfig';
+import authService from './AuthService';
 
 /**
  * Thought Service
@@ -180,6 +183,40 @@ const thoughtService = {
       throw error;
     }
   },
+
+  /**
+   * AI 태그 확정 알림 구독 (/user/topic/thoughts)
+   * 사용자 목적지는 CONNECT 프레임의 Authorization 헤더로 사용자가 식별되어야 전달됩니다.
+   * @param {Function} onTagsUpdate - { thoughtId, topicId, tags } 를 받는 콜백
+   * @returns {{ close: Function, isConnected: Function }} 구독 핸들 (토큰이 없으면 null)
+   */
+  subscribeTagUpdates: (onTagsUpdate) => {
+    const token = authService.getToken();
+    if (!token) return null;
+
+    const wsBase = axios.defaults.baseURL || '';
+    const client = new Client({
+      webSocketFactory: () => new SockJS(`${wsBase}/ws-livechat`),
+      connectHeaders: { Authorization: `Bearer ${token}` },
+      reconnectDelay: 5000,
+      debug: () => {},
+      onConnect: () => {
+        client.subscribe('/user/topic/thoughts', (message) => {
+          try {
+            onTagsUpdate(JSON.parse(message.body));
+          } catch {
+            /* 손상된 프레임은 무시 */
+          }
+        });
+      },
+    });
+    client.activate();
+
+    return {
+      close: () => client.deactivate(),
+      isConnected: () => client.connected,
+    };
+  },
 };
 
 export default thoughtService;
\ No newline at end of file
@@ -2,40 +2,57 @@ package com.hoooon22.devzip.Config;
 
 import com.hoooon22.devzip.Model.traceboard.AccessLog;
 import com.hoooon22.devzip.Service.JwtUtils;
-import com.hoooon22.devzip.Service.traceboard.AccessLogService;
-import com.hoooon22.devzip.Service.traceboard.GeoIPService;
+import com.hoooon22.devzip.Service.traceboard.AccessLogSink;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 /**
  * 모든 HTTP 요청을 로깅하는 Interceptor
  *
  * 주의사항:
  * - 원본 IP 주소를 저장하므로 개인정보 보호 정책 준수 필요
- * - 성능 영향을 최소화하기 위해 비동기 처리 권장
+ * - 저장과 GeoIP 조회는 AccessLogSink 의 writer 스레드에서 수행 (요청 스레드는 큐에 넣기만 함)
  * - 정적 리소스는 로깅에서 제외
+ *
+ * 모든 요청이 지나가는 경로이므로 요청당 할당을 줄인다.
+ * - 정적 리소스 판별은 정규식 대신 미리 정의한 확장자 표와 비교한다.
+ * - JWT 는 AuthTokenFilter 가 검증해 요청 속성에 남긴 Claims 를 재사용하고, 없을 때만 한 번 파싱한다.
+ * - 사용자 이름과 역할은 한 번에 추출한다 (RequestPrincipal).
  */
 @Component
 @Slf4j
 public class AccessLogInterceptor implements HandlerInterceptor {
 
+    // 로깅에서 제외할 정적 리소스 확장자 (대소문자 구분)
+    private static final String[] STATIC_SUFFIXES = {
+        "css", "js", "jpg", "jpeg", "png", "gif", "ico", "svg", "woff", "woff2", "ttf", "eot"
+    };
+
+    // 클라이언트 IP 를 찾을 프록시 헤더 (우선순위 순)
+    private static final String[] CLIENT_IP_HEADERS = {
+        "X-Forwarded-For", "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR"
+    };
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
     @Autowired
-    private AccessLogService accessLogService;
+    private AccessLogSink accessLogSink;
 
     @Autowired(required = false)
     private JwtUtils jwtUtils;
 
-    @Autowired
-    private GeoIPService geoIPService;
-
     private static final ThreadLocal<Long> REQUEST_START_TIME = new ThreadLocal<>();
 
     @Override
@@ -59,31 +76,30 @@ public class AccessLogInterceptor implements HandlerInterceptor {
             Long startTime = REQUEST_START_TIME.get();
             long responseTime = (startTime != null) ? System.currentTimeMillis() - startTime : 0;
 
-            // IP 주소 및 국가 정보 조회
+            // IP 주소 추출 (국가 정보는 AccessLogSink 가 채움)
             String clientIp = getClientIp(request);
-            GeoIPService.GeoLocation geoLocation = geoIPService.getCountryInfo(clientIp);
+            RequestPrincipal principal = resolvePrincipal(request);
+            HttpSession session = request.getSession(false);
 
             // 접근 로그 생성
             AccessLog accessLog = AccessLog.builder()
                 .ipAddress(clientIp)
-                .username(getCurrentUsername(request))
-                .userRole(getCurrentUserRole(request))
+                .username(principal.username())
+                .userRole(principal.role())
                 .requestMethod(request.getMethod())
                 .requestUri(requestUri)
                 .queryString(request.getQueryString())
                 .httpStatus(response.getStatus())
                 .userAgent(request.getHeader("User-Agent"))
                 .referer(request.getHeader("Referer"))
-                .sessionId(request.getSession(false) != null ? request.getSession().getId() : null)
+                .sessionId(session != null ? session.getId() : null)
                 .responseTimeMs(responseTime)
                 .accessTime(LocalDateTime.now())
                 .errorMessage(ex != null ? ex.getMessage() : null)
-                .countryCode(geoLocation.getCountryCode())
-                .countryName(geoLocation.getCountryName())
                 .build();
 
-            // 비동기로 로그 저장 (성능 영향 최소화)
-            saveAccessLogAsync(accessLog);
+            // writer 스레드가 배치로 저장 (성능 영향 최소화)
+            accessLogSink.offer(accessLog);
 
         } catch (Exception e) {
             log.error("접근 로그 저장 중 오류 발생", e);
@@ -96,84 +112,80 @@ public class AccessLogInterceptor implements HandlerInterceptor {
      * 클라이언트 IP 주소 추출 (프록시 고려)
      */
     private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
+        String ip = null;
+        for (String header : CLIENT_IP_HEADERS) {
+            ip = request.getHeader(header);
+            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
+                break;
+            }
+            ip = null;
         }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
+        if (ip == null) {
+            return request.getRemoteAddr();
         }
 
         // X-Forwarded-For는 쉼표로 구분된 IP 리스트일 수 있음 (첫 번째가 실제 클라이언트 IP)
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-
-        return ip;
+        int comma = ip.indexOf(',');
+        return comma >= 0 ? ip.substring(0, comma).trim() : ip;
     }
 
     /**
-     * 현재 인증된 사용자 이름 추출
+     * 현재 사용자 이름과 역할 추출
+     * Spring Security Context 를 우선하고, 비어 있는 값만 JWT Claims 로 보완한다.
      */
-    private String getCurrentUsername(HttpServletRequest request) {
+    private RequestPrincipal resolvePrincipal(HttpServletRequest request) {
+        String username = null;
+        String role = null;
         try {
-            // Spring Security Context에서 추출
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()
-                && !"anonymousUser".equals(authentication.getPrincipal())) {
-                return authentication.getName();
+            if (authentication != null) {
+                if (authentication.isAuthenticated() && !"anonymousUser".equals(authentication.getPrincipal())) {
+                    username = authentication.getName();
+                }
+                Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+                if (authorities != null && !authorities.isEmpty()) {
+                    role = authorities.iterator().next().getAuthority();
+                }
             }
 
             // JWT 토큰에서 추출 (fallback)
-            if (jwtUtils != null) {
-                String token = request.getHeader("Authorization");
-                if (token != null && token.startsWith("Bearer ")) {
-                    String jwt = token.substring(7);
-                    if (jwtUtils.validateJwtToken(jwt)) {
-                        return jwtUtils.getUsernameFromJwtToken(jwt);
+            if (username == null || role == null) {
+                Claims claims = getVerifiedClaims(request);
+                if (claims != null) {
+                    if (username == null) {
+                        username = claims.getSubject();
+                    }
+                    if (role == null) {
+                        role = claims.get("role", String.class);
                     }
                 }
             }
         } catch (Exception e) {
-            log.debug("사용자 이름 추출 중 오류 (인증되지 않은 요청일 수 있음)", e);
+            log.debug("사용자 정보 추출 중 오류 (인증되지 않은 요청일 수 있음)", e);
         }
-        return null;
+        return new RequestPrincipal(username, role);
     }
 
     /**
-     * 현재 사용자 역할 추출
+     * AuthTokenFilter 가 남긴 Claims 를 재사용하고, 없으면 Authorization 헤더를 한 번만 검증한다
      */
-    private String getCurrentUserRole(HttpServletRequest request) {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getAuthorities() != null
-                && !authentication.getAuthorities().isEmpty()) {
-                return authentication.getAuthorities().iterator().next().getAuthority();
-            }
-
-            // JWT 토큰에서 추출 (fallback)
-            if (jwtUtils != null) {
-                String token = request.getHeader("Authorization");
-                if (token != null && token.startsWith("Bearer ")) {
-                    String jwt = token.substring(7);
-                    if (jwtUtils.validateJwtToken(jwt)) {
-                        return jwtUtils.getRoleFromJwtToken(jwt);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.debug("사용자 역할 추출 중 오류", e);
+    private Claims getVerifiedClaims(HttpServletRequest request) {
+        Object cached = request.getAttribute(JwtUtils.CLAIMS_ATTRIBUTE);
+        if (cached instanceof Claims claims) {
+            return claims;
+        }
+        if (jwtUtils == null) {
+            return null;
         }
-        return null;
+        String token = request.getHeader("Authorization");
+        if (token == null || !token.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        Claims claims = jwtUtils.parseVerifiedClaims(token.substring(BEARER_PREFIX.length()));
+        if (claims != null) {
+            request.setAttribute(JwtUtils.CLAIMS_ATTRIBUTE, claims);
+        }
+        return claims;
     }
 
     /**
@@ -181,7 +193,7 @@ public class AccessLogInterceptor implements HandlerInterceptor {
      */
     private boolean shouldSkipLogging(String requestUri) {
         // 정적 리소스 제외
-        if (requestUri.matches(".+\\.(css|js|jpg|jpeg|png|gif|ico|svg|woff|woff2|ttf|eot)$")) {
+        if (hasStaticSuffix(requestUri)) {
             return true;
         }
 
@@ -199,16 +211,24 @@ public class AccessLogInterceptor implements HandlerInterceptor {
     }
 
     /**
-     * 비동기로 접근 로그 저장 (CompletableFuture 사용)
+     * ".+\.(css|js|...)$" 와 같은 판별을 문자열 할당 없이 수행
      */
-    private void saveAccessLogAsync(AccessLog accessLog) {
-        // 별도 스레드에서 실행하여 응답 시간에 영향 최소화
-        java.util.concurrent.CompletableFuture.runAsync(() -> {
-            try {
-                accessLogService.saveAccessLog(accessLog);
-            } catch (Exception e) {
-                log.error("비동기 접근 로그 저장 실패", e);
+    private static boolean hasStaticSuffix(String requestUri) {
+        int dot = requestUri.lastIndexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        int suffixLength = requestUri.length() - dot - 1;
+        for (String suffix : STATIC_SUFFIXES) {
+            if (suffix.length() == suffixLength && requestUri.regionMatches(dot + 1, suffix, 0, suffixLength)) {
+                return true;
             }
-        });
+        }
+        return false;
     }
+
+    /**
+     * 요청에서 추출한 사용자 정보 (익명 요청은 둘 다 null 일 수 있음)
+     */
+    private record RequestPrincipal(String username, String role) {}
 }
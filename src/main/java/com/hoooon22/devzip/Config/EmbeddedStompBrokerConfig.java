@@ -0,0 +1,41 @@
+package com.hoooon22.devzip.Config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 개발용 내장 STOMP 브로커 (ActiveMQ Artemis)
+ *
+ * app.websocket.broker.embedded.enabled=true 이고 Artemis 가 클래스패스에 있을 때만 뜬다.
+ * Artemis 는 developmentOnly 의존성이라 bootRun 에서만 포함되며, 배포 jar 에서는 이 설정이 건너뛰어진다.
+ * broker.mode=relay 와 함께 쓰면 인스턴스 두 개를 같은 내장 브로커에 붙여 노드 간 전파를 확인할 수 있다.
+ */
+@Configuration
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+@ConditionalOnProperty(name = "app.websocket.broker.embedded.enabled", havingValue = "true")
+@Slf4j
+public class EmbeddedStompBrokerConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(
+            @Value("${app.websocket.broker.relay-port:61613}") int port) throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        // /topic/** 은 멀티캐스트(구독자 전원), /queue/** 는 애니캐스트로 매핑
+        configuration.addAcceptorConfiguration("stomp",
+                "tcp://127.0.0.1:" + port + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        log.info("Embedded Artemis STOMP broker on 127.0.0.1:{}", port);
+        return broker;
+    }
+}
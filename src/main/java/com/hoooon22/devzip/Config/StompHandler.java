@@ -2,6 +2,7 @@ package com.hoooon22.devzip.Config;
 
 import com.hoooon22.devzip.Service.JwtUtils;
 import com.hoooon22.devzip.Service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -31,9 +32,10 @@ public class StompHandler implements ChannelInterceptor {
             
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
-                if (jwtUtils.validateJwtToken(token)) {
-                    String username = jwtUtils.getUsernameFromJwtToken(token);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                Claims claims = jwtUtils.parseVerifiedClaims(token);
+                if (claims != null) {
+                    String username = claims.getSubject();
+                    UserDetails userDetails = userDetailsService.loadCachedUserByUsername(username);
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -1,21 +1,32 @@
 package com.hoooon22.devzip.Config;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.concurrent.Executor;
 
 @Configuration
 @EnableConfigurationProperties({TraceBoardProperties.class})
 @EnableAsync
+@EnableScheduling
+@Slf4j
 public class TraceBoardConfig {
 
+    /**
+     * 오래 걸리는 배치성 @Scheduled 작업(집계·정리·백필)이 쓰는 스케줄러 이름
+     */
+    public static final String BATCH_SCHEDULER = "batchTaskScheduler";
+
     private final TraceBoardProperties properties;
 
     public TraceBoardConfig(@Qualifier("app-com.hoooon22.devzip.Config.TraceBoardProperties") TraceBoardProperties properties) {
@@ -45,9 +56,10 @@ public class TraceBoardConfig {
 
     /**
      * CSV 내보내기 전용 TaskExecutor
+     * CSV 내보내기 엔드포인트가 WebAsyncTask 로 이 풀에서 응답을 기록한다.
      */
     @Bean("csvExportExecutor")
-    public Executor csvExportExecutor() {
+    public ThreadPoolTaskExecutor csvExportExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(4);
@@ -70,4 +82,80 @@ public class TraceBoardConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * 주제 맵 재클러스터링 전용 TaskExecutor
+     * LLM 호출이 길어질 수 있으므로 요청 스레드·공용 풀과 분리하고, 큐가 차면 거절한다 (다음 변경 때 다시 시도).
+     */
+    @Bean("thoughtClusterExecutor")
+    public ThreadPoolTaskExecutor thoughtClusterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("Thought-Cluster-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 생각 AI 태그 추출 전용 TaskExecutor
+     * 요청 트랜잭션이 Gemini 응답을 기다리지 않도록 저장 뒤 여기서 추출한다. 큐가 차면 거절하고 주기 작업이 다시 시도한다.
+     */
+    @Bean("thoughtTagExecutor")
+    public ThreadPoolTaskExecutor thoughtTagExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("Thought-Tag-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * GeoIP 원격 조회 전용 TaskExecutor
+     * 접근 로그 writer 가 ip-api 응답을 기다리지 않도록 캐시·로컬 DB 에 없는 IP 는 여기서 조회해 나중에 채운다.
+     * 요청 속도는 IpApiGeoLocationResolver 의 토큰 버킷이 제한하고(허가를 기다리는 것도 이 스레드), 호출은 한 스레드로
+     * 순서대로 나간다. 큐가 차면 거절한다 (국가 정보는 비워 둔다).
+     */
+    @Bean("geoIpExecutor")
+    public ThreadPoolTaskExecutor geoIpExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("GeoIP-Lookup-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 기본 @Scheduled 스케줄러 (짧은 주기 작업: 브로드캐스트·디바운스·write-behind flush·메트릭 샘플링)
+     * WebSocket 브로커도 TaskScheduler 빈을 만들기 때문에 Boot 자동 설정 대신 taskScheduler 이름으로 직접 등록한다.
+     * 오래 걸리는 작업은 batchTaskScheduler 로 분리해 이 풀의 주기를 지킨다.
+     */
+    @Bean("taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${app.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("Scheduler-");
+        scheduler.setErrorHandler(t -> log.error("예약 작업 실패", t));
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * 배치성 @Scheduled 작업 전용 스케줄러 (사전 집계·스케치 반영, 보관 기간 정리, 캐시 정리, 재시도)
+     * 작업 하나가 수 초 걸려도 기본 스케줄러의 짧은 주기 작업이 밀리지 않는다.
+     */
+    @Bean(BATCH_SCHEDULER)
+    public ThreadPoolTaskScheduler batchTaskScheduler(@Value("${app.scheduling.batch-pool-size:2}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("Batch-Scheduler-");
+        scheduler.setErrorHandler(t -> log.error("배치 예약 작업 실패", t));
+        scheduler.initialize();
+        return scheduler;
+    }
+}
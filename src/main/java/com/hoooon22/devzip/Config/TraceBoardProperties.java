@@ -75,10 +75,6 @@ public class TraceBoardProperties {
         @Max(value = 100000, message = "대시보드 제한값은 최대 100,000이어야 합니다")
         private int dashboardLimit = 50000;
         
-        @Min(value = 10000, message = "내보내기 제한값은 최소 10,000이어야 합니다")
-        @Max(value = 1000000, message = "내보내기 제한값은 최대 1,000,000이어야 합니다")
-        private int exportLimit = 100000;
-        
         @Min(value = 100, message = "사용자 제한값은 최소 100이어야 합니다")
         @Max(value = 10000, message = "사용자 제한값은 최대 10,000이어야 합니다")
         private int userLimit = 2000;
@@ -0,0 +1,284 @@
+package com.hoooon22.devzip.Config;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket 세션별 송신 큐와 느린 소비자 처리
+ *
+ * 기본 구성에서는 outbound 스레드가 세션 소켓에 직접 쓰기 때문에, 느린 SockJS 클라이언트 하나가
+ * 그 스레드를 send-time-limit 동안 붙잡아 /topic/chat/* fan-out 전체가 밀릴 수 있다.
+ * 여기서는 모든 세션을 BufferedSession 으로 감싸 송신을 세션별 큐에 넣고 바로 돌아가며,
+ * 실제 소켓 쓰기는 전용 flush 풀에서 세션마다 한 번에 하나씩 처리한다.
+ * - 한 번의 쓰기가 send-time-limit-ms 를 넘긴 세션은 끊는다.
+ * - 큐가 send-buffer-size-limit 바이트를 넘으면 overflow-strategy 에 따라 끊거나(terminate)
+ *   오래된 메시지부터 버린다(drop).
+ * - 쓰기가 slow-threshold-ms 이상 걸리고 있는 세션은 websocket.session.slow 로 집계한다.
+ *
+ * 세션 ID 를 태그로 쓰면 지표 수가 세션 수만큼 늘어나므로, 세션별 큐 크기는 주기적으로
+ * 분포(websocket.session.send.buffer)에 기록하고 최댓값/합계는 게이지로 노출한다.
+ */
+@Component
+@Slf4j
+public class WebSocketSendBuffers implements WebSocketHandlerDecoratorFactory {
+
+    private final long sendTimeLimitNanos;
+    private final int sendBufferSizeLimit;
+    private final boolean dropOnOverflow;
+    private final long slowThresholdNanos;
+    private final ExecutorService flushExecutor;
+    private final Map<String, BufferedSession> sessions = new ConcurrentHashMap<>();
+
+    private final Counter terminatedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary bufferSummary;
+
+    public WebSocketSendBuffers(MeterRegistry meterRegistry,
+                                @Value("${app.websocket.transport.send-time-limit-ms:10000}") long sendTimeLimitMs,
+                                @Value("${app.websocket.transport.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+                                @Value("${app.websocket.transport.overflow-strategy:terminate}") String overflowStrategy,
+                                @Value("${app.websocket.transport.slow-threshold-ms:1000}") long slowThresholdMs,
+                                @Value("${app.websocket.transport.flush-pool-size:16}") int flushPoolSize) {
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.dropOnOverflow = "drop".equalsIgnoreCase(overflowStrategy);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+
+        int poolSize = Math.max(1, flushPoolSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("WebSocket-Flush-"));
+        executor.allowCoreThreadTimeOut(true);
+        this.flushExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "websocketFlush");
+
+        Gauge.builder("websocket.session.count", sessions, Map::size)
+                .description("열려 있는 WebSocket 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.send.buffer.max", this, b -> b.bufferStat(true))
+                .description("세션별 송신 대기 바이트 중 최댓값")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.send.buffer.total", this, b -> b.bufferStat(false))
+                .description("전체 세션의 송신 대기 바이트 합계")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.slow", this, WebSocketSendBuffers::slowSessionCount)
+                .description("slow-threshold-ms 이상 쓰기가 걸리고 있는 세션 수")
+                .register(meterRegistry);
+        this.terminatedCounter = Counter.builder("websocket.session.terminated")
+                .description("송신 시간/버퍼 한도를 넘겨 끊긴 세션 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("websocket.session.dropped")
+                .description("버퍼 초과로 버린 메시지 수 (overflow-strategy=drop)")
+                .register(meterRegistry);
+        this.bufferSummary = DistributionSummary.builder("websocket.session.send.buffer")
+                .description("세션별 송신 대기 바이트 (주기 샘플)")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BufferedSession buffered = new BufferedSession(session);
+                sessions.put(session.getId(), buffered);
+                super.afterConnectionEstablished(buffered);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(buffered(session), message);
+            }
+
+            @Override
+            public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+                super.handleTransportError(buffered(session), exception);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BufferedSession buffered = sessions.remove(session.getId());
+                if (buffered != null) {
+                    buffered.discard();
+                }
+                super.afterConnectionClosed(buffered != null ? buffered : session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 세션별 송신 큐 크기 샘플링
+     */
+    @Scheduled(fixedRateString = "${app.websocket.transport.sample-interval-ms:5000}")
+    public void sampleBuffers() {
+        for (BufferedSession session : sessions.values()) {
+            bufferSummary.record(session.bufferedBytes.get());
+        }
+    }
+
+    private WebSocketSession buffered(WebSocketSession session) {
+        WebSocketSession buffered = sessions.get(session.getId());
+        return buffered != null ? buffered : session;
+    }
+
+    private double bufferStat(boolean max) {
+        long result = 0;
+        for (BufferedSession session : sessions.values()) {
+            int size = session.bufferedBytes.get();
+            result = max ? Math.max(result, size) : result + size;
+        }
+        return result;
+    }
+
+    private double slowSessionCount() {
+        long now = System.nanoTime();
+        int slow = 0;
+        for (BufferedSession session : sessions.values()) {
+            long started = session.sendStartNanos;
+            if (started != 0 && now - started >= slowThresholdNanos) {
+                slow++;
+            }
+        }
+        return slow;
+    }
+
+    /**
+     * 송신을 큐에 넣고 flush 풀에서 순서대로 내보내는 세션
+     */
+    private final class BufferedSession extends WebSocketSessionDecorator {
+
+        private final Deque<WebSocketMessage<?>> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger bufferedBytes = new AtomicInteger();
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        private volatile long sendStartNanos;
+        private volatile boolean terminated;
+
+        BufferedSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (terminated) {
+                return;
+            }
+            long started = sendStartNanos;
+            if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+                terminate("send time limit exceeded");
+                return;
+            }
+
+            queue.add(message);
+            if (bufferedBytes.addAndGet(message.getPayloadLength()) > sendBufferSizeLimit) {
+                if (!dropOnOverflow) {
+                    terminate("send buffer size limit exceeded");
+                    return;
+                }
+                // 가장 오래된 메시지부터 버린다 (방금 넣은 메시지는 남긴다)
+                while (bufferedBytes.get() > sendBufferSizeLimit && queue.size() > 1) {
+                    WebSocketMessage<?> dropped = queue.pollFirst();
+                    if (dropped == null) {
+                        break;
+                    }
+                    bufferedBytes.addAndGet(-dropped.getPayloadLength());
+                    droppedCounter.increment();
+                }
+            }
+            scheduleFlush();
+        }
+
+        private void scheduleFlush() {
+            if (flushing.compareAndSet(false, true)) {
+                flushExecutor.execute(this::flush);
+            }
+        }
+
+        private void flush() {
+            while (true) {
+                WebSocketMessage<?> message = queue.pollFirst();
+                if (message == null) {
+                    flushing.set(false);
+                    // flag 를 내린 사이에 들어온 메시지가 있으면 다시 맡는다
+                    if (queue.isEmpty() || !flushing.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                bufferedBytes.addAndGet(-message.getPayloadLength());
+                if (terminated) {
+                    continue;
+                }
+                sendStartNanos = System.nanoTime();
+                try {
+                    getDelegate().sendMessage(message);
+                } catch (Exception e) {
+                    log.debug("WebSocket send failed: session={}", getId(), e);
+                    terminate("send failed");
+                } finally {
+                    sendStartNanos = 0;
+                }
+            }
+        }
+
+        private void terminate(String reason) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            terminatedCounter.increment();
+            log.warn("Slow WebSocket consumer disconnected: session={}, buffer={} bytes, reason={}",
+                    getId(), bufferedBytes.get(), reason);
+            discard();
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception e) {
+                log.debug("Failed to close WebSocket session {}", getId(), e);
+            }
+        }
+
+        private void discard() {
+            terminated = true;
+            WebSocketMessage<?> message;
+            while ((message = queue.pollFirst()) != null) {
+                bufferedBytes.addAndGet(-message.getPayloadLength());
+            }
+        }
+    }
+}
@@ -42,10 +42,11 @@ public class ChatController {
             }
             incomingMessage.setColor(clientColor);
             
+            // 방 조회는 캐시, 저장은 write-behind — 브로드캐스트는 DB 를 기다리지 않는다
             ChatRoom room = chatRoomService.getOrCreateChatRoom(keyword);
-            ChatMessage savedMessage = chatMessageService.saveMessage(
+            ChatMessage message = chatMessageService.createMessage(
                     room, incomingMessage.getSender(), incomingMessage.getContent(), incomingMessage.getColor());
-            messagingTemplate.convertAndSend("/topic/chat/" + room.getId(), savedMessage);
+            messagingTemplate.convertAndSend("/topic/chat/" + room.getId(), message);
         } catch (Exception e) {
             e.printStackTrace();
         }
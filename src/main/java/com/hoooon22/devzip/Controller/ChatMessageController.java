@@ -0,0 +1,32 @@
+package com.hoooon22.devzip.Controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hoooon22.devzip.Model.ChatMessage;
+import com.hoooon22.devzip.Service.ChatMessageService;
+
+@RestController
+@RequestMapping("/api/chatmessages")
+public class ChatMessageController {
+
+    private final ChatMessageService chatMessageService;
+
+    public ChatMessageController(ChatMessageService chatMessageService) {
+        this.chatMessageService = chatMessageService;
+    }
+
+    // 채팅방 메시지 조회 (beforeId 보다 오래된 메시지 중 최근 limit 건, ID 오름차순)
+    @GetMapping("/{roomId}")
+    public ResponseEntity<List<ChatMessage>> getMessages(@PathVariable Long roomId,
+                                                         @RequestParam(required = false) Long beforeId,
+                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(chatMessageService.getMessagesByRoomId(roomId, beforeId, limit));
+    }
+}
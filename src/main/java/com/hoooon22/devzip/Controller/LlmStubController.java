@@ -0,0 +1,90 @@
+package com.hoooon22.devzip.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hoooon22.devzip.Service.llm.LlmResponseCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gemini generateContent 로컬 스텁 (오프라인 개발·테스트용)
+ *
+ * app.llm.stub.enabled=true 일 때만 등록된다. app.llm.base-url 을 http://localhost:8080/api/llm-stub 로 두고
+ * google.api.key 에 아무 값이나 넣으면 AI 서비스들이 외부 호출 없이 이 엔드포인트를 쓴다.
+ * 응답은 프롬프트만으로 결정되므로 같은 입력이면 항상 같은 결과가 나온다.
+ * - 클러스터링 프롬프트(MEMBERS 형식): 모든 생각을 한 그룹으로
+ * - 계층 구조 프롬프트(INDEX/LEVEL/PARENT 형식): 0번을 중심으로 나머지를 레벨1로
+ * - 그 외: 프롬프트 해시로 만든 고정 텍스트
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/llm-stub")
+@ConditionalOnProperty(name = "app.llm.stub.enabled", havingValue = "true")
+public class LlmStubController {
+
+    private static final Pattern THOUGHT_INDEX = Pattern.compile("^\\[(\\d+)\\]", Pattern.MULTILINE);
+
+    @Value("${app.llm.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @PostMapping("/v1beta/models/{model}:generateContent")
+    public Map<String, Object> generateContent(@PathVariable String model, @RequestBody JsonNode request) {
+        String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText("");
+        simulateLatency();
+
+        String text;
+        if (prompt.contains("MEMBERS:")) {
+            text = "GROUP:stub\nMEMBERS:" + String.join(",", thoughtIndices(prompt)) + "\n---";
+        } else if (prompt.contains("INDEX:") && prompt.contains("PARENT:")) {
+            StringBuilder sb = new StringBuilder();
+            for (String index : thoughtIndices(prompt)) {
+                boolean root = "0".equals(index);
+                sb.append("INDEX:").append(index).append('\n')
+                  .append("LEVEL:").append(root ? 0 : 1).append('\n')
+                  .append("PARENT:").append(root ? -1 : 0).append('\n')
+                  .append("---\n");
+            }
+            text = sb.toString();
+        } else {
+            text = "stub-" + LlmResponseCache.key(model, prompt).substring(0, 8);
+        }
+        log.debug("LLM stub response for model {}: {}", model, text);
+
+        return Map.of("candidates", List.of(
+            Map.of("content", Map.of("parts", List.of(Map.of("text", text))))
+        ));
+    }
+
+    private List<String> thoughtIndices(String prompt) {
+        List<String> indices = new ArrayList<>();
+        Matcher matcher = THOUGHT_INDEX.matcher(prompt);
+        while (matcher.find()) {
+            indices.add(matcher.group(1));
+        }
+        return indices;
+    }
+
+    private void simulateLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.hoooon22.devzip.Controller;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.hoooon22.devzip.metrics.NetworkTrafficMetrics;
+import com.hoooon22.devzip.metrics.NetworkTrafficMetrics.InterfaceSample;
 
 @RestController
 public class NetworkTrafficController {
 
+    private static final int MAX_HISTORY = 1000;
+
     private final NetworkTrafficMetrics networkTrafficMetrics;
 
     @Autowired
@@ -25,4 +34,53 @@ public class NetworkTrafficController {
     public long getReceivedTraffic() {
         return networkTrafficMetrics.getReceivedBytes();
     }
-}
\ No newline at end of file
+
+    /**
+     * 인터페이스별 최근 초당 속도 이력 (열 단위 배열로 압축, 오래된 순)
+     */
+    @GetMapping("/metrics/network.traffic.history")
+    public ResponseEntity<Map<String, Object>> getTrafficHistory(
+            @RequestParam(name = "interface", required = false) String iface,
+            @RequestParam(defaultValue = "60") int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_HISTORY);
+
+        Map<String, Object> interfaces = new LinkedHashMap<>();
+        networkTrafficMetrics.history(iface, size).forEach((name, samples) -> interfaces.put(name, toColumns(samples)));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("success", true);
+        response.put("interfaces", interfaces);
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> toColumns(List<InterfaceSample> samples) {
+        int n = samples.size();
+        long[] timestamps = new long[n];
+        double[] rxBytes = new double[n];
+        double[] txBytes = new double[n];
+        double[] rxPackets = new double[n];
+        double[] txPackets = new double[n];
+        double[] rxErrors = new double[n];
+        double[] txErrors = new double[n];
+        for (int i = 0; i < n; i++) {
+            InterfaceSample s = samples.get(i);
+            timestamps[i] = s.timestamp();
+            rxBytes[i] = s.rxBytesPerSec();
+            txBytes[i] = s.txBytesPerSec();
+            rxPackets[i] = s.rxPacketsPerSec();
+            txPackets[i] = s.txPacketsPerSec();
+            rxErrors[i] = s.rxErrorsPerSec();
+            txErrors[i] = s.txErrorsPerSec();
+        }
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("timestamps", timestamps);
+        columns.put("rxBytesPerSec", rxBytes);
+        columns.put("txBytesPerSec", txBytes);
+        columns.put("rxPacketsPerSec", rxPackets);
+        columns.put("txPacketsPerSec", txPackets);
+        columns.put("rxErrorsPerSec", rxErrors);
+        columns.put("txErrorsPerSec", txErrors);
+        return columns;
+    }
+}
@@ -3,33 +3,47 @@ package com.hoooon22.devzip.Controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.lang.management.ManagementFactory;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import com.hoooon22.devzip.metrics.SystemMetricsSampler;
+import com.hoooon22.devzip.metrics.SystemMetricsSampler.SystemSample;
+
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * 시스템 지표 API
+ * 모든 값은 SystemMetricsSampler 가 백그라운드에서 수집한 최신 샘플을 즉시 반환한다.
+ */
 @RestController
 @RequestMapping("/api/system")
 public class SystemMetricsController {
 
+    private static final int MAX_HISTORY = 1000;
+
+    private final SystemMetricsSampler sampler;
+
+    public SystemMetricsController(SystemMetricsSampler sampler) {
+        this.sampler = sampler;
+    }
+
     @GetMapping("/cpu")
     public ResponseEntity<Map<String, Object>> getSystemCpuUsage() {
         Map<String, Object> response = new HashMap<>();
 
-        try {
-            double cpuUsage = getSystemCpuUsagePercent();
-            response.put("success", true);
-            response.put("cpuUsage", cpuUsage);
-            response.put("timestamp", System.currentTimeMillis());
-        } catch (Exception e) {
+        SystemSample sample = sampler.latest();
+        if (sample == null) {
             response.put("success", false);
-            response.put("error", e.getMessage());
+            response.put("error", "아직 수집된 지표가 없습니다");
             response.put("cpuUsage", 0.0);
+            return ResponseEntity.ok(response);
         }
 
+        response.put("success", true);
+        response.put("cpuUsage", sample.cpuUsage());
+        response.put("timestamp", sample.timestamp());
         return ResponseEntity.ok(response);
     }
 
@@ -37,403 +51,33 @@ public class SystemMetricsController {
     public ResponseEntity<Map<String, Object>> getSystemMemoryUsage() {
         Map<String, Object> response = new HashMap<>();
 
-        try {
-            Map<String, Object> memoryInfo = getSystemMemoryInfo();
-            response.put("success", true);
-            response.putAll(memoryInfo);
-            response.put("timestamp", System.currentTimeMillis());
-        } catch (Exception e) {
+        SystemSample sample = sampler.latest();
+        if (sample == null) {
             response.put("success", false);
-            response.put("error", e.getMessage());
+            response.put("error", "아직 수집된 지표가 없습니다");
+            return ResponseEntity.ok(response);
         }
 
+        response.put("success", true);
+        response.put("totalMemory", sample.totalMemory());
+        response.put("usedMemory", sample.usedMemory());
+        response.put("availableMemory", sample.availableMemory());
+        response.put("memoryUsage", sample.memoryUsage());
+        response.put("timestamp", sample.timestamp());
         return ResponseEntity.ok(response);
     }
 
-    private double getSystemCpuUsagePercent() {
-        try {
-            String os = System.getProperty("os.name").toLowerCase();
-
-            if (os.contains("linux") || os.contains("unix")) {
-                return getLinuxCpuUsage();
-            } else if (os.contains("mac")) {
-                return getMacCpuUsage();
-            } else if (os.contains("windows")) {
-                return getWindowsCpuUsage();
-            } else {
-                // 운영체제를 특정할 수 없는 경우 JVM CPU 사용량 반환
-                return ((com.sun.management.OperatingSystemMXBean) ManagementFactory
-                        .getOperatingSystemMXBean()).getCpuLoad() * 100;
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("CPU 사용량을 가져올 수 없습니다: " + e.getMessage());
-        }
-    }
-
-    private double getLinuxCpuUsage() throws Exception {
-        // 방법 1: vmstat으로 CPU 사용량 측정 (우분투에서 가장 안정적)
-        try {
-            ProcessBuilder pb = new ProcessBuilder("vmstat", "1", "2");
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-            String line;
-            String lastLine = null;
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().matches("^\\d+.*")) {
-                    lastLine = line.trim();
-                }
-            }
-            process.waitFor();
-
-            if (lastLine != null) {
-                String[] parts = lastLine.trim().split("\\s+");
-                if (parts.length >= 15) {
-                    // vmstat: user + system = CPU 사용량, idle = 유휴 상태
-                    int user = Integer.parseInt(parts[12]);    // us
-                    int system = Integer.parseInt(parts[13]);  // sy
-                    int idle = Integer.parseInt(parts[14]);    // id
-
-                    double cpuUsage = 100.0 - idle;
-                    return Math.max(Math.min(cpuUsage, 100.0), 0.1);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("vmstat 실패: " + e.getMessage());
-        }
-
-        // 방법 2: top 명령어로 즉시 CPU 사용량 측정
-        try {
-            ProcessBuilder pb = new ProcessBuilder("sh", "-c",
-                "top -bn1 | grep 'Cpu(s)' | sed 's/.*, *\\([0-9.]*\\)%* id.*/\\1/' | awk '{print 100 - $1}'");
-
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String result = reader.readLine();
-            process.waitFor();
-
-            if (result != null && !result.trim().isEmpty()) {
-                double cpuUsage = Double.parseDouble(result.trim());
-                return Math.max(Math.min(cpuUsage, 100.0), 0.1);
-            }
-        } catch (Exception e) {
-            System.err.println("top 명령어 실패: " + e.getMessage());
-        }
-
-        // 방법 3: /proc/stat을 이용한 CPU 사용량 계산 (개선된 버전)
-        try {
-            ProcessBuilder pb = new ProcessBuilder("sh", "-c",
-                "awk '/^cpu /{u=$2+$4; t=$2+$3+$4+$5; if (NR==1){u1=u; t1=t;} else print ($2+$4-u1) * 100 / (t-t1) \"%\"; }' " +
-                "/proc/stat /proc/stat");
-
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String result = reader.readLine();
-            process.waitFor();
-
-            if (result != null && result.contains("%")) {
-                String numStr = result.replace("%", "").trim();
-                double cpuUsage = Double.parseDouble(numStr);
-                return Math.max(Math.min(cpuUsage, 100.0), 0.1);
-            }
-        } catch (Exception e) {
-            System.err.println("/proc/stat 실패: " + e.getMessage());
-        }
-
-        // 방법 4: sar 명령어 (sysstat 패키지)
-        try {
-            ProcessBuilder pb = new ProcessBuilder("sar", "-u", "1", "1");
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.contains("Average:") && line.contains("all")) {
-                    String[] parts = line.trim().split("\\s+");
-                    if (parts.length >= 7) {
-                        double idle = Double.parseDouble(parts[6]);
-                        double cpuUsage = 100.0 - idle;
-                        return Math.max(Math.min(cpuUsage, 100.0), 0.1);
-                    }
-                }
-            }
-            process.waitFor();
-        } catch (Exception e) {
-            System.err.println("sar 명령어 실패: " + e.getMessage());
-        }
-
-        // 최종 대안: JVM에서 제공하는 시스템 CPU 로드
-        try {
-            com.sun.management.OperatingSystemMXBean osBean =
-                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
-            double systemLoad = osBean.getCpuLoad();
-            if (systemLoad >= 0) {
-                return Math.max(systemLoad * 100, 0.1);
-            }
-        } catch (Exception e) {
-            System.err.println("JVM 시스템 로드 실패: " + e.getMessage());
-        }
-
-        // 마지막 기본값: 실제 측정값 대신 낮은 값 반환
-        return 5.0;
-    }
-
-    private double getMacCpuUsage() throws Exception {
-        ProcessBuilder pb = new ProcessBuilder("bash", "-c",
-            "top -l 1 -n 0 | grep 'CPU usage' | awk '{print $3}' | sed 's/%//'");
-
-        Process process = pb.start();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-        String result = reader.readLine();
-        process.waitFor();
-
-        return result != null ? Double.parseDouble(result.trim()) : 0.0;
-    }
-
-    private double getWindowsCpuUsage() throws Exception {
-        ProcessBuilder pb = new ProcessBuilder("wmic", "cpu", "get", "loadpercentage", "/value");
-        Process process = pb.start();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.startsWith("LoadPercentage=")) {
-                String value = line.split("=")[1].trim();
-                return Double.parseDouble(value);
-            }
-        }
-        process.waitFor();
-
-        return 0.0;
-    }
-
-    private Map<String, Object> getSystemMemoryInfo() throws Exception {
-        Map<String, Object> memoryInfo = new HashMap<>();
-
-        String os = System.getProperty("os.name").toLowerCase();
-
-        if (os.contains("linux") || os.contains("unix")) {
-            return getLinuxMemoryInfo();
-        } else if (os.contains("mac")) {
-            return getMacMemoryInfo();
-        } else if (os.contains("windows")) {
-            return getWindowsMemoryInfo();
-        } else {
-            // JVM 메모리 정보
-            Runtime runtime = Runtime.getRuntime();
-            long totalMemory = runtime.totalMemory();
-            long freeMemory = runtime.freeMemory();
-            long usedMemory = totalMemory - freeMemory;
-
-            memoryInfo.put("totalMemory", totalMemory);
-            memoryInfo.put("usedMemory", usedMemory);
-            memoryInfo.put("freeMemory", freeMemory);
-            memoryInfo.put("memoryUsage", (double) usedMemory / totalMemory * 100);
-
-            return memoryInfo;
-        }
-    }
-
-    private Map<String, Object> getLinuxMemoryInfo() throws Exception {
-        Map<String, Object> memoryInfo = new HashMap<>();
+    /**
+     * 최근 샘플 시계열 (오래된 순)
+     */
+    @GetMapping("/history")
+    public ResponseEntity<Map<String, Object>> getHistory(@RequestParam(defaultValue = "60") int limit) {
+        List<SystemSample> samples = sampler.history(Math.min(Math.max(limit, 1), MAX_HISTORY));
 
-        // 방법 1: /proc/meminfo를 직접 파싱 (가장 정확한 방법)
-        try {
-            ProcessBuilder pb = new ProcessBuilder("sh", "-c",
-                "awk '/^MemTotal:/{total=$2} /^MemAvailable:/{available=$2} /^MemFree:/{free=$2} /^Buffers:/{buffers=$2} /^Cached:/{cached=$2} END{if(available>0) used=total-available; else used=total-free-buffers-cached; print total \" \" used \" \" (available>0?available:free+buffers+cached) \" \" (used*100/total)}' /proc/meminfo");
-
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String result = reader.readLine();
-            process.waitFor();
-
-            if (result != null && !result.trim().isEmpty()) {
-                String[] parts = result.trim().split("\\s+");
-                if (parts.length >= 4) {
-                    long totalKB = Long.parseLong(parts[0]);
-                    long usedKB = Long.parseLong(parts[1]);
-                    long availableKB = Long.parseLong(parts[2]);
-                    double usagePercent = Double.parseDouble(parts[3]);
-
-                    long totalBytes = totalKB * 1024;
-                    long usedBytes = usedKB * 1024;
-                    long availableBytes = availableKB * 1024;
-
-                    memoryInfo.put("totalMemory", totalBytes);
-                    memoryInfo.put("usedMemory", usedBytes);
-                    memoryInfo.put("availableMemory", availableBytes);
-                    memoryInfo.put("memoryUsage", Math.max(Math.min(usagePercent, 100.0), 0.0));
-
-                    return memoryInfo;
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("/proc/meminfo 파싱 실패: " + e.getMessage());
-        }
-
-        // 방법 2: free 명령어 사용 (간단하고 신뢰할 수 있음)
-        try {
-            ProcessBuilder pb = new ProcessBuilder("free", "-b");
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith("Mem:")) {
-                    String[] parts = line.trim().split("\\s+");
-                    if (parts.length >= 7) {
-                        long total = Long.parseLong(parts[1]);
-                        long used = Long.parseLong(parts[2]);
-                        long free = Long.parseLong(parts[3]);
-                        long available = parts.length > 6 ? Long.parseLong(parts[6]) : free;
-
-                        // 실제 사용량 계산 (available 기준)
-                        long actualUsed = total - available;
-                        double usagePercent = (double) actualUsed / total * 100;
-
-                        memoryInfo.put("totalMemory", total);
-                        memoryInfo.put("usedMemory", actualUsed);
-                        memoryInfo.put("availableMemory", available);
-                        memoryInfo.put("memoryUsage", Math.max(Math.min(usagePercent, 100.0), 0.0));
-
-                        return memoryInfo;
-                    }
-                    break;
-                }
-            }
-            process.waitFor();
-        } catch (Exception e) {
-            System.err.println("free 명령어 실패: " + e.getMessage());
-        }
-
-        // 방법 3: cat /proc/meminfo로 직접 읽기
-        try {
-            ProcessBuilder pb = new ProcessBuilder("cat", "/proc/meminfo");
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-            long total = 0, available = 0, free = 0, buffers = 0, cached = 0;
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith("MemTotal:")) {
-                    total = Long.parseLong(line.split("\\s+")[1]) * 1024;
-                } else if (line.startsWith("MemAvailable:")) {
-                    available = Long.parseLong(line.split("\\s+")[1]) * 1024;
-                } else if (line.startsWith("MemFree:")) {
-                    free = Long.parseLong(line.split("\\s+")[1]) * 1024;
-                } else if (line.startsWith("Buffers:")) {
-                    buffers = Long.parseLong(line.split("\\s+")[1]) * 1024;
-                } else if (line.startsWith("Cached:")) {
-                    cached = Long.parseLong(line.split("\\s+")[1]) * 1024;
-                }
-            }
-            process.waitFor();
-
-            if (total > 0) {
-                long actualAvailable = available > 0 ? available : (free + buffers + cached);
-                long used = total - actualAvailable;
-                double usagePercent = (double) used / total * 100;
-
-                memoryInfo.put("totalMemory", total);
-                memoryInfo.put("usedMemory", used);
-                memoryInfo.put("availableMemory", actualAvailable);
-                memoryInfo.put("memoryUsage", Math.max(Math.min(usagePercent, 100.0), 0.0));
-
-                return memoryInfo;
-            }
-        } catch (Exception e) {
-            System.err.println("직접 /proc/meminfo 읽기 실패: " + e.getMessage());
-        }
-
-        // 최종 대안: JVM 메모리 정보
-        try {
-            com.sun.management.OperatingSystemMXBean osBean =
-                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
-
-            long totalPhysical = osBean.getTotalMemorySize();
-            long freePhysical = osBean.getFreeMemorySize();
-
-            if (totalPhysical > 0 && freePhysical >= 0) {
-                long used = totalPhysical - freePhysical;
-                double usagePercent = (double) used / totalPhysical * 100;
-
-                memoryInfo.put("totalMemory", totalPhysical);
-                memoryInfo.put("usedMemory", used);
-                memoryInfo.put("availableMemory", freePhysical);
-                memoryInfo.put("memoryUsage", Math.max(Math.min(usagePercent, 100.0), 0.0));
-
-                return memoryInfo;
-            }
-        } catch (Exception e) {
-            System.err.println("JVM 메모리 정보 실패: " + e.getMessage());
-        }
-
-        // 마지막 기본값: Runtime 메모리 정보
-        Runtime runtime = Runtime.getRuntime();
-        long totalMemory = runtime.totalMemory();
-        long freeMemory = runtime.freeMemory();
-        long usedMemory = totalMemory - freeMemory;
-
-        memoryInfo.put("totalMemory", totalMemory);
-        memoryInfo.put("usedMemory", usedMemory);
-        memoryInfo.put("freeMemory", freeMemory);
-        memoryInfo.put("memoryUsage", totalMemory > 0 ? (double) usedMemory / totalMemory * 100 : 0.0);
-
-        return memoryInfo;
-    }
-
-    private Map<String, Object> getMacMemoryInfo() throws Exception {
-        Map<String, Object> memoryInfo = new HashMap<>();
-
-        // macOS의 경우 vm_stat 명령어 사용
-        ProcessBuilder pb = new ProcessBuilder("bash", "-c",
-            "vm_stat | grep -E '(Pages free|Pages active|Pages inactive|Pages speculative|Pages wired down)' | awk '{print $3}' | sed 's/\\.//'");
-
-        Process process = pb.start();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-        // 간단한 메모리 정보 (실제로는 더 복잡한 계산이 필요)
-        Runtime runtime = Runtime.getRuntime();
-        long totalMemory = runtime.totalMemory();
-        long freeMemory = runtime.freeMemory();
-        long usedMemory = totalMemory - freeMemory;
-
-        memoryInfo.put("totalMemory", totalMemory);
-        memoryInfo.put("usedMemory", usedMemory);
-        memoryInfo.put("freeMemory", freeMemory);
-        memoryInfo.put("memoryUsage", (double) usedMemory / totalMemory * 100);
-
-        return memoryInfo;
-    }
-
-    private Map<String, Object> getWindowsMemoryInfo() throws Exception {
-        Map<String, Object> memoryInfo = new HashMap<>();
-
-        // Windows의 경우 wmic 명령어 사용
-        ProcessBuilder pb = new ProcessBuilder("wmic", "OS", "get", "TotalVisibleMemorySize,FreePhysicalMemory", "/value");
-        Process process = pb.start();
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-        long totalMemory = 0;
-        long freeMemory = 0;
-
-        String line;
-        while ((line = reader.readLine()) != null) {
-            if (line.startsWith("TotalVisibleMemorySize=")) {
-                totalMemory = Long.parseLong(line.split("=")[1].trim()) * 1024; // KB to Bytes
-            } else if (line.startsWith("FreePhysicalMemory=")) {
-                freeMemory = Long.parseLong(line.split("=")[1].trim()) * 1024; // KB to Bytes
-            }
-        }
-        process.waitFor();
-
-        long usedMemory = totalMemory - freeMemory;
-
-        memoryInfo.put("totalMemory", totalMemory);
-        memoryInfo.put("usedMemory", usedMemory);
-        memoryInfo.put("freeMemory", freeMemory);
-        memoryInfo.put("memoryUsage", totalMemory > 0 ? (double) usedMemory / totalMemory * 100 : 0);
-
-        return memoryInfo;
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("count", samples.size());
+        response.put("samples", samples);
+        return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+}
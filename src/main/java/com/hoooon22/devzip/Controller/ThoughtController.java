@@ -52,7 +52,7 @@ public class ThoughtController {
     }
 
     /**
-     * 새로운 생각 생성 (AI 태그 자동 추출)
+     * 새로운 생각 생성 (임시 태그로 즉시 응답, AI 태그는 /user/topic/thoughts 로 알림)
      */
     @PostMapping
     public ResponseEntity<ApiResponse<Thought>> createThought(@Valid @RequestBody Map<String, String> request) {
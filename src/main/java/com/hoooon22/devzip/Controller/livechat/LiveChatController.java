@@ -28,9 +28,12 @@ public class LiveChatController {
         return ResponseEntity.ok(room);
     }
 
+    // beforeId 보다 오래된 메시지 중 최근 limit 건 (ID 오름차순, 기본 50건, 최대 200건)
     @GetMapping("/rooms/{roomId}/messages")
-    public ResponseEntity<List<LiveChatMessageResponse>> getRoomMessages(@PathVariable Long roomId) {
-        return ResponseEntity.ok(liveChatService.findMessagesByRoomId(roomId));
+    public ResponseEntity<List<LiveChatMessageResponse>> getRoomMessages(@PathVariable Long roomId,
+                                                                         @RequestParam(required = false) Long beforeId,
+                                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(liveChatService.findMessagesByRoomId(roomId, beforeId, limit));
     }
 
     @DeleteMapping("/rooms/{roomId}")
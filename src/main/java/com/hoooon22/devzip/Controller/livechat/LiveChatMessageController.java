@@ -2,11 +2,11 @@ package com.hoooon22.devzip.Controller.livechat;
 
 import com.hoooon22.devzip.dto.livechat.LiveChatMessageDTO;
 import com.hoooon22.devzip.dto.livechat.LiveChatMessageRequest;
+import com.hoooon22.devzip.dto.livechat.LiveChatRoomResponse;
 import com.hoooon22.devzip.Model.livechat.LiveChatMessage;
-import com.hoooon22.devzip.Model.livechat.LiveChatRoom;
-import com.hoooon22.devzip.Repository.livechat.LiveChatMessageRepository;
-import com.hoooon22.devzip.Repository.livechat.LiveChatRoomRepository;
+import com.hoooon22.devzip.Service.livechat.LiveChatService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Controller;
@@ -14,47 +14,44 @@ import java.security.Principal;
 
 @Controller
 @RequiredArgsConstructor
+@Slf4j
 public class LiveChatMessageController {
 
     private final SimpMessageSendingOperations messagingTemplate;
-    private final LiveChatMessageRepository liveChatMessageRepository;
-    private final LiveChatRoomRepository liveChatRoomRepository;
+    private final LiveChatService liveChatService;
 
     @MessageMapping("/livechat/message")
     public void message(LiveChatMessageRequest messageRequest, Principal principal) {
-        System.out.println("Received message request: " + messageRequest.getMessage() + " for room: " + messageRequest.getRoomId());
-        System.out.println("Principal: " + (principal != null ? principal.getName() : "null"));
+        Long roomId = messageRequest.getRoomId();
+        log.debug("Live chat message received: roomId={}, principal={}",
+                roomId, principal != null ? principal.getName() : null);
 
         try {
-            LiveChatRoom room = liveChatRoomRepository.findById(messageRequest.getRoomId())
-                    .orElseThrow(() -> new RuntimeException("Chat room not found"));
-
-            LiveChatMessage chatMessage = new LiveChatMessage();
-            chatMessage.setLiveChatRoom(room);
+            // 방 존재 확인은 캐시된 방 정보로 처리 (메시지마다 방 엔티티를 조회하지 않음)
+            LiveChatRoomResponse room = roomId != null ? liveChatService.findRoom(roomId) : null;
+            if (room == null) {
+                log.warn("Live chat message for unknown room: roomId={}", roomId);
+                return;
+            }
 
             // Principal이 null인 경우 임시로 senderName 사용
             String senderName = (principal != null) ? principal.getName() :
                                (messageRequest.getSenderName() != null) ? messageRequest.getSenderName() : "Anonymous";
-            chatMessage.setSenderName(senderName);
-            chatMessage.setMessage(messageRequest.getMessage());
-
-        LiveChatMessage savedMessage = liveChatMessageRepository.save(chatMessage);
-        System.out.println("Message saved with ID: " + savedMessage.getId());
-
-        LiveChatMessageDTO messageDTO = new LiveChatMessageDTO(
-                savedMessage.getId(),
-                savedMessage.getLiveChatRoom().getId(),
-                savedMessage.getSenderName(),
-                savedMessage.getMessage(),
-                savedMessage.getCreatedAt()
-        );
-
-            System.out.println("Sending DTO: " + messageDTO.getMessage() + " to topic: /topic/room/" + messageRequest.getRoomId());
-            messagingTemplate.convertAndSend("/topic/room/" + messageRequest.getRoomId(), messageDTO);
-            System.out.println("Message sent to topic");
+
+            LiveChatMessage savedMessage = liveChatService.saveMessage(roomId, senderName, messageRequest.getMessage());
+
+            LiveChatMessageDTO messageDTO = new LiveChatMessageDTO(
+                    savedMessage.getId(),
+                    roomId,
+                    savedMessage.getSenderName(),
+                    savedMessage.getMessage(),
+                    savedMessage.getCreatedAt()
+            );
+
+            messagingTemplate.convertAndSend("/topic/room/" + roomId, messageDTO);
+            log.debug("Live chat message {} sent to /topic/room/{}", savedMessage.getId(), roomId);
         } catch (Exception e) {
-            System.err.println("Error processing message: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Failed to process live chat message: roomId={}", roomId, e);
         }
     }
 }
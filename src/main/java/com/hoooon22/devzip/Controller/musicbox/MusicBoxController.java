@@ -1,19 +1,26 @@
 package com.hoooon22.devzip.Controller.musicbox;
 
 import com.hoooon22.devzip.Service.MusicBoxService;
+import com.hoooon22.devzip.dto.musicbox.GridDiffMessage;
 import com.hoooon22.devzip.dto.musicbox.GridStateResponse;
+import com.hoooon22.devzip.dto.musicbox.RoomSizeRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * 뮤직박스 REST API 컨트롤러
  *
  * WebSocket이 아닌 HTTP 요청으로 그리드 상태를 조회하거나
  * 초기화할 때 사용합니다.
+ * 방 ID 가 없는 기존 경로(/grid, /notes/{x})는 기본 방(default)을 가리킵니다.
+ * 방은 POST /rooms/{roomId} 로만 만들어지며, 없는 방을 조회·변경하면 404 를 반환합니다.
+ * 방 생성과 크기 변경은 로그인한 사용자만 할 수 있습니다 (WebSecurityConfig).
  */
 @RestController
 @RequestMapping("/api/musicbox")
@@ -28,23 +35,43 @@ public class MusicBoxController {
      *
      * 새로운 사용자가 접속했을 때, 초기 그리드 상태를 받아오는 용도
      */
-    @GetMapping("/grid")
-    public ResponseEntity<GridStateResponse> getGridState() {
-        log.info("GET /api/musicbox/grid - Fetching current grid state");
+    @GetMapping({"/grid", "/rooms/{roomId}/grid"})
+    public ResponseEntity<GridStateResponse> getGridState(
+            @PathVariable(required = false) String roomId) {
+        String room = roomOrDefault(roomId);
+        log.info("GET /api/musicbox/rooms/{}/grid - Fetching current grid state", room);
 
-        GridStateResponse gridState = musicBoxService.getGridState();
+        GridStateResponse gridState = musicBoxService.getGridState(room);
 
         return ResponseEntity.ok(gridState);
     }
 
+    /**
+     * since 이후의 diff 프레임 조회
+     *
+     * 프레임 순번이 건너뛴 클라이언트가 누락분을 받는 용도.
+     * 보관 범위를 벗어났으면 410 을 반환하며, 클라이언트는 /grid 스냅샷을 다시 받는다.
+     */
+    @GetMapping({"/grid/frames", "/rooms/{roomId}/grid/frames"})
+    public ResponseEntity<List<GridDiffMessage>> getFramesSince(
+            @PathVariable(required = false) String roomId, @RequestParam long since) {
+        List<GridDiffMessage> frames = musicBoxService.getFramesSince(roomOrDefault(roomId), since);
+        if (frames == null) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(frames);
+    }
+
     /**
      * 특정 X 좌표의 활성화된 노트 조회 (재생 로직용)
      */
-    @GetMapping("/notes/{x}")
-    public ResponseEntity<List<Integer>> getActiveNotesAt(@PathVariable Integer x) {
-        log.info("GET /api/musicbox/notes/{} - Fetching active notes", x);
+    @GetMapping({"/notes/{x}", "/rooms/{roomId}/notes/{x}"})
+    public ResponseEntity<List<Integer>> getActiveNotesAt(
+            @PathVariable(required = false) String roomId, @PathVariable Integer x) {
+        String room = roomOrDefault(roomId);
+        log.info("GET /api/musicbox/rooms/{}/notes/{} - Fetching active notes", room, x);
 
-        List<Integer> activeNotes = musicBoxService.getActiveNotesAtPosition(x);
+        List<Integer> activeNotes = musicBoxService.getActiveNotesAtPosition(room, x);
 
         return ResponseEntity.ok(activeNotes);
     }
@@ -52,12 +79,71 @@ public class MusicBoxController {
     /**
      * 그리드 전체 클리어 (HTTP 방식)
      */
-    @DeleteMapping("/grid")
-    public ResponseEntity<Void> clearGrid() {
-        log.info("DELETE /api/musicbox/grid - Clearing all grid");
+    @DeleteMapping({"/grid", "/rooms/{roomId}/grid"})
+    public ResponseEntity<Void> clearGrid(@PathVariable(required = false) String roomId) {
+        String room = roomOrDefault(roomId);
+        log.info("DELETE /api/musicbox/rooms/{}/grid - Clearing all grid", room);
 
-        musicBoxService.clearGrid();
+        musicBoxService.clearGrid(room);
 
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * 방 생성 (이미 있으면 현재 상태 반환, 로그인 필요)
+     */
+    @PostMapping("/rooms/{roomId}")
+    public ResponseEntity<GridStateResponse> createRoom(
+            @PathVariable String roomId, @RequestBody(required = false) RoomSizeRequest request) {
+        log.info("POST /api/musicbox/rooms/{} - Creating room", roomId);
+
+        Integer width = request != null ? request.getWidth() : null;
+        Integer height = request != null ? request.getHeight() : null;
+
+        return ResponseEntity.ok(musicBoxService.createRoom(roomId, width, height));
+    }
+
+    /**
+     * 방 그리드 크기 변경 (로그인 필요, 기본 방은 불가)
+     */
+    @PutMapping("/rooms/{roomId}/size")
+    public ResponseEntity<GridStateResponse> resizeRoom(
+            @PathVariable String roomId, @RequestBody RoomSizeRequest request) {
+        log.info("PUT /api/musicbox/rooms/{}/size - Resizing to {}x{}",
+                roomId, request.getWidth(), request.getHeight());
+
+        if (request.getWidth() == null || request.getHeight() == null) {
+            throw new IllegalArgumentException("Width and height are required");
+        }
+
+        return ResponseEntity.ok(musicBoxService.resizeRoom(roomId, request.getWidth(), request.getHeight()));
+    }
+
+    /**
+     * 잘못된 방 ID, 좌표, 크기
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * 만들어지지 않은 방
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<String> handleRoomNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    /**
+     * 방 수 상한 초과 (메모리에 올린 방 수는 유휴 방이 정리되면 다시 시도할 수 있음)
+     */
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleTooManyRooms(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    private static String roomOrDefault(String roomId) {
+        return roomId != null ? roomId : MusicBoxService.DEFAULT_ROOM;
+    }
 }
@@ -1,19 +1,26 @@
 package com.hoooon22.devzip.Controller.musicbox;
 
+import com.hoooon22.devzip.Service.ActiveUserService;
 import com.hoooon22.devzip.Service.MusicBoxService;
 import com.hoooon22.devzip.dto.musicbox.GridCellMessage;
+import com.hoooon22.devzip.dto.musicbox.UserListMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+import java.util.NoSuchElementException;
+
 /**
  * 뮤직박스 WebSocket 메시지 핸들러
  *
- * 클라이언트가 /app/musicbox/toggle 로 메시지를 보내면,
- * 이 컨트롤러가 처리하고 /topic/musicbox/updates 를 구독 중인
- * 모든 클라이언트에게 브로드캐스트합니다.
+ * 클라이언트가 /app/musicbox/{roomId}/toggle 로 메시지를 보내면 해당 방의 메모리 그리드에 반영한다.
+ * 결과는 토글마다 보내지 않고, MusicBoxBroadcaster 가 짧은 주기로 묶어
+ * 방 토픽(/topic/musicbox/{roomId}/updates)에 diff 프레임(GridDiffMessage)으로 브로드캐스트한다.
+ * 방 ID 가 없는 /app/musicbox/toggle 은 기본 방(/topic/musicbox/updates)을 가리킨다.
+ * 없는 방으로 보낸 메시지는 방을 만들지 않고 버린다 (방 생성은 REST POST /api/musicbox/rooms/{roomId}).
  */
 @Controller
 @RequiredArgsConstructor
@@ -21,39 +28,32 @@ import org.springframework.stereotype.Controller;
 public class MusicBoxWebSocketController {
 
     private final MusicBoxService musicBoxService;
+    private final ActiveUserService activeUserService;
 
     /**
      * 셀 토글 메시지 핸들러
      *
      * @MessageMapping: 클라이언트가 /app/musicbox/toggle 로 SEND
-     * @SendTo: 처리 결과를 /topic/musicbox/updates 구독자 전원에게 브로드캐스트
      */
     @MessageMapping("/musicbox/toggle")
-    @SendTo("/topic/musicbox/updates")
-    public GridCellMessage handleToggle(GridCellMessage message) {
-        log.info("Received toggle message: x={}, y={}, user={}",
-                 message.getX(), message.getY(), message.getUsername());
-
-        try {
-            // 서비스 레이어에서 비즈니스 로직 처리 + DB 저장
-            GridCellMessage response = musicBoxService.toggleCell(message);
-
-            log.info("Broadcasting toggle result: x={}, y={}, active={}",
-                     response.getX(), response.getY(), response.getActive());
+    public void handleToggle(GridCellMessage message) {
+        handleRoomToggle(MusicBoxService.DEFAULT_ROOM, message);
+    }
 
-            return response;
+    /**
+     * 방별 셀 토글 메시지 핸들러
+     */
+    @MessageMapping("/musicbox/{roomId}/toggle")
+    public void handleRoomToggle(@DestinationVariable String roomId, GridCellMessage message) {
+        log.debug("Received toggle message: room={}, x={}, y={}, user={}",
+                 roomId, message.getX(), message.getY(), message.getUsername());
 
+        try {
+            musicBoxService.toggleCell(roomId, message);
         } catch (IllegalArgumentException e) {
-            log.error("Invalid coordinates received: {}", e.getMessage());
-
-            // 에러 메시지 반환 (클라이언트가 처리할 수 있도록)
-            return GridCellMessage.builder()
-                    .x(message.getX())
-                    .y(message.getY())
-                    .active(false)
-                    .username("SYSTEM")
-                    .type(GridCellMessage.MessageType.TOGGLE)
-                    .build();
+            log.warn("Invalid toggle received: {}", e.getMessage());
+        } catch (NoSuchElementException | IllegalStateException e) {
+            log.debug("Ignored toggle for room {}: {}", roomId, e.getMessage());
         }
     }
 
@@ -61,18 +61,34 @@ public class MusicBoxWebSocketController {
      * 그리드 전체 클리어 메시지 핸들러
      */
     @MessageMapping("/musicbox/clear")
-    @SendTo("/topic/musicbox/updates")
-    public GridCellMessage handleClear(GridCellMessage message) {
-        log.info("Received clear request from user: {}", message.getUsername());
+    public void handleClear(GridCellMessage message) {
+        handleRoomClear(MusicBoxService.DEFAULT_ROOM, message);
+    }
 
-        musicBoxService.clearGrid();
+    /**
+     * 방별 그리드 전체 클리어 메시지 핸들러
+     */
+    @MessageMapping("/musicbox/{roomId}/clear")
+    public void handleRoomClear(@DestinationVariable String roomId, GridCellMessage message) {
+        log.info("Received clear request for room {} from user: {}", roomId, message.getUsername());
+
+        try {
+            musicBoxService.clearGrid(roomId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid clear received: {}", e.getMessage());
+        } catch (NoSuchElementException | IllegalStateException e) {
+            log.debug("Ignored clear for room {}: {}", roomId, e.getMessage());
+        }
+    }
 
-        return GridCellMessage.builder()
-                .x(0)
-                .y(0)
-                .active(false)
-                .username(message.getUsername())
-                .type(GridCellMessage.MessageType.CLEAR)
-                .build();
+    /**
+     * 활성 사용자 전체 목록 (구독한 세션에만 1회 응답)
+     *
+     * @SubscribeMapping: 클라이언트가 /app/musicbox/users 를 SUBSCRIBE.
+     * 이후 변경분은 /topic/musicbox/users 의 DELTA 로 받는다.
+     */
+    @SubscribeMapping("/musicbox/users")
+    public UserListMessage handleUserListSnapshot() {
+        return activeUserService.snapshot();
     }
 }
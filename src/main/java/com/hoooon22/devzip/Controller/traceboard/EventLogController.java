@@ -1,5 +1,6 @@
 package com.hoooon22.devzip.Controller.traceboard;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
@@ -7,8 +8,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -20,15 +27,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import com.hoooon22.devzip.Model.traceboard.EventLog;
 import com.hoooon22.devzip.Model.traceboard.dto.ApiResponse;
 import com.hoooon22.devzip.Model.traceboard.dto.EventLogRequest;
 import com.hoooon22.devzip.Model.traceboard.dto.EventLogResponse;
 import com.hoooon22.devzip.Security.DataEncryptionUtil;
+import com.hoooon22.devzip.Service.traceboard.EventLogIngestBuffer;
 import com.hoooon22.devzip.Service.traceboard.EventLogService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,10 +55,21 @@ public class EventLogController {
     @Autowired
     private DataEncryptionUtil encryptionUtil;
     
+    @Autowired
+    private EventLogIngestBuffer ingestBuffer;
+    
+    @Autowired
+    @Qualifier("csvExportExecutor")
+    private AsyncTaskExecutor csvExportExecutor;
+    
+    // CSV 내보내기 최대 소요 시간 (이 엔드포인트에만 적용)
+    @Value("${app.traceboard.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+    
     // 이벤트 로그 수집 API
     @PostMapping("/event")
     public ResponseEntity<?> collectEvent(@RequestBody(required = false) Map<String, Object> eventData, HttpServletRequest request) {
-        System.out.println("=== EventLog 요청 받음 ===");
+        log.debug("=== EventLog 요청 받음 ===");
         try {
             // 서비스 의존성 확인
             if (eventLogService == null) {
@@ -64,7 +85,7 @@ public class EventLogController {
                 eventData = new HashMap<>();
             }
             
-            System.out.println("받은 데이터: " + eventData);
+            log.debug("받은 데이터: {}", eventData);
             
             // IP 주소 해싱하여 기록
             String clientIp = getClientIp(request);
@@ -104,6 +125,22 @@ public class EventLogController {
                 System.out.println("리플렉션 실패, 기본값만 설정: " + e.getMessage());
             }
             
+            // 비동기 수집 모드: 버퍼에 넣고 즉시 202 응답 (가득 차면 429)
+            if (ingestBuffer.isAsyncEnabled()) {
+                if (!ingestBuffer.offer(eventLog)) {
+                    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of(
+                            "success", false,
+                            "message", "이벤트 수집 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."
+                        ));
+                }
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "success", true,
+                    "message", "이벤트 로그가 접수되었습니다."
+                ));
+            }
+            
             // 이벤트 로그 저장
             EventLog savedLog = eventLogService.saveEventLog(eventLog);
             
@@ -316,27 +353,40 @@ public class EventLogController {
     }
 
     // CSV 내보내기 API (backend 코드)
+    // DB 커서로 읽으며 응답 스트림에 바로 기록하므로 기간이 길어도 메모리 사용량이 일정하다.
+    // 전용 풀(csvExportExecutor)과 타임아웃은 이 엔드포인트에만 적용한다 (다른 비동기 MVC 요청은 기본 설정 사용).
     @GetMapping("/log/export/csv")
-    public ResponseEntity<byte[]> exportEventLogsToCSV(
+    public WebAsyncTask<Void> exportEventLogsToCSV(
             @RequestParam(required = false) String eventType,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
         
-        try {
-            byte[] csvData = eventLogService.exportEventLogsToCSV(eventType, startDate, endDate);
-            
-            String filename = "event_logs_" + startDate.toString() + "_to_" + endDate.toString() + ".csv";
-            filename = filename.replace(":", "-");
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", filename);
-            
-            return new ResponseEntity<>(csvData, headers, HttpStatus.OK);
-        } catch (Exception e) {
-            log.error("이벤트 로그 CSV 내보내기 중 오류 발생: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        String filename = "event_logs_" + startDate.toString() + "_to_" + endDate.toString() + ".csv";
+        filename = filename.replace(":", "-");
+        if (gzip) {
+            filename += ".gz";
         }
+        
+        response.setContentType(gzip ? "application/gzip" : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        
+        Callable<Void> export = () -> {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                eventLogService.exportEventLogsToCSV(eventType, startDate, endDate, gzipOut);
+                gzipOut.finish();
+            } else {
+                eventLogService.exportEventLogsToCSV(eventType, startDate, endDate, out);
+            }
+            out.flush();
+            return null;
+        };
+        
+        return new WebAsyncTask<>(exportTimeoutMs, csvExportExecutor, export);
     }
     
     // 클라이언트 IP 주소 가져오기
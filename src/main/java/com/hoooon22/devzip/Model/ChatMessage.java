@@ -7,19 +7,23 @@ import java.time.format.DateTimeFormatter;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "chat_message")
+@Table(name = "chat_message",
+    indexes = @Index(name = "idx_chat_message_room_id", columnList = "chat_room_id, id"))
 public class ChatMessage {
 
+    // 저장에 실패한 메시지를 다시 브로드캐스트할 때의 상태 값
+    public static final String STATUS_FAILED = "FAILED";
+
+    // ChatMessageService 가 id_blocks 에서 예약한 블록으로 저장 전에 부여한다 (DB 자동 증가를 쓰지 않음)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     // 채팅방과 다대일 관계
@@ -39,6 +43,10 @@ public class ChatMessage {
     // 메시지에 사용할 색상
     private String color;
 
+    // 전송 상태 (저장 실패 시 FAILED, 그 외에는 null — DB 에 저장하지 않음)
+    @Transient
+    private String status;
+
     public ChatMessage() {}
 
     public ChatMessage(ChatRoom chatRoom, String sender, String content) {
@@ -68,6 +76,9 @@ public class ChatMessage {
     public String getColor() { return color; }
     public void setColor(String color) { this.color = color; }
 
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
     public String getFormattedSentAt() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         return sentAt.format(formatter);
@@ -0,0 +1,32 @@
+package com.hoooon22.devzip.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이름별 다음 ID 블록 시작값 (hi-lo 방식 ID 예약)
+ *
+ * DB 저장 전에 ID 를 부여해야 하는 곳(채팅 메시지 write-behind)이 블록 단위로 ID 를 예약한다.
+ * 예약은 이 행을 UPDATE 로 먼저 올린 뒤 쓰므로 재시작·다중 인스턴스에서도 같은 ID 가 두 번 나가지 않는다.
+ * 행 갱신은 IdBlockAllocator 가 JDBC 로 처리하며, 이 엔티티는 테이블 정의용이다.
+ */
+@Entity
+@Table(name = "id_blocks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdBlock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // 아직 예약되지 않은 첫 ID
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
@@ -0,0 +1,49 @@
+package com.hoooon22.devzip.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자·주제별 태그 사용 횟수 (태그 추출 프롬프트의 기존 태그 목록용 색인)
+ *
+ * (사용자, 주제, 태그) 하나당 한 행으로 확정된 태그를 가진 생각 수를 누적한다.
+ * 주제 없는 생각은 topicId = NO_TOPIC 으로 기록해 유니크 제약이 NULL 로 빠지지 않게 한다.
+ */
+@Entity
+@Table(name = "tag_usage",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_tag_usage",
+        columnNames = {"user_id", "topic_id", "tag"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagUsage {
+
+    // 주제 없는 생각의 topicId
+    public static final long NO_TOPIC = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(nullable = false)
+    private String tag;
+
+    @Column(name = "usage_count", nullable = false)
+    private long usageCount;
+
+    public TagUsage(Long userId, Long topicId, String tag, long usageCount) {
+        this.userId = userId;
+        this.topicId = topicId;
+        this.tag = tag;
+        this.usageCount = usageCount;
+    }
+}
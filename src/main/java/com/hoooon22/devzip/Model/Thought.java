@@ -37,6 +37,10 @@ public class Thought {
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
 
+    // AI 태그 추출 대기 중 (true 면 tags 는 임시 태그)
+    @Column(name = "tags_pending", columnDefinition = "boolean default false")
+    private boolean tagsPending;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
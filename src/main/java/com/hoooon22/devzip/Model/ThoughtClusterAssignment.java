@@ -0,0 +1,41 @@
+package com.hoooon22.devzip.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 생각의 클러스터 배정 (주제 중심 맵의 그룹)
+ * 생각이 추가·수정될 때 그 생각만 배정하고, 전체 재클러스터링 결과로 한꺼번에 갱신된다.
+ */
+@Entity
+@Table(name = "thought_cluster_assignments",
+       indexes = @Index(name = "idx_thought_cluster_topic", columnList = "topic_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThoughtClusterAssignment {
+
+    @Id
+    @Column(name = "thought_id")
+    private Long thoughtId;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "cluster_id", nullable = false, length = 64)
+    private String clusterId;
+
+    @Column(name = "assigned_at", nullable = false)
+    private LocalDateTime assignedAt;
+
+    public ThoughtClusterAssignment(Long thoughtId, Long topicId, String clusterId) {
+        this.thoughtId = thoughtId;
+        this.topicId = topicId;
+        this.clusterId = clusterId;
+        this.assignedAt = LocalDateTime.now();
+    }
+}
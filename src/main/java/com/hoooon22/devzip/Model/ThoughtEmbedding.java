@@ -0,0 +1,35 @@
+package com.hoooon22.devzip.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 생각의 로컬 임베딩 벡터 (해시 n-gram, L2 정규화된 float 배열)
+ * 생각이 저장·수정될 때 계산되며 로컬 클러스터링과 계층 구조 생성에 쓰인다.
+ */
+@Entity
+@Table(name = "thought_embeddings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThoughtEmbedding {
+
+    @Id
+    @Column(name = "thought_id")
+    private Long thoughtId;
+
+    // 차원 수가 설정과 다르면 다시 계산한다
+    @Column(nullable = false)
+    private int dimensions;
+
+    // float 배열 (리틀 엔디언, 차원당 4바이트)
+    @Column(nullable = false, length = 8192)
+    private byte[] vector;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.hoooon22.devzip.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주제별 클러스터링 상태
+ * - version: 배정이 바뀔 때마다 증가 (클라이언트가 맵을 다시 그릴지 판단하는 값)
+ * - baseSize: 마지막 전체 재클러스터링에 들어간 생각 수
+ * - driftCount: 그 이후 개별 배정·삭제된 생각 수 (baseSize 대비 비율이 임계값을 넘으면 재클러스터링)
+ * 카운터는 TopicClusterStateRepository 의 원자적 UPDATE 로만 바꾼다 (읽고 고쳐 저장하면 동시 변경분을 잃는다).
+ */
+@Entity
+@Table(name = "topic_cluster_states")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicClusterState {
+
+    @Id
+    @Column(name = "topic_id")
+    private Long topicId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "base_size", nullable = false)
+    private int baseSize;
+
+    @Column(name = "drift_count", nullable = false)
+    private int driftCount;
+
+    @Column(name = "reclustered_at")
+    private LocalDateTime reclusteredAt;
+
+    public TopicClusterState(Long topicId) {
+        this.topicId = topicId;
+    }
+}
@@ -10,7 +10,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "live_chat_message")
+@Table(name = "live_chat_message",
+    indexes = @Index(name = "idx_live_chat_message_room_id", columnList = "live_chat_room_id, live_chat_message_id"))
 public class LiveChatMessage extends BaseTimeEntity {
 
     @Id
@@ -0,0 +1,61 @@
+package com.hoooon22.devzip.Model.musicbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 뮤직박스 방 하나의 그리드 상태
+ *
+ * 셀마다 행을 두지 않고 방마다 한 행에 비트셋(long 단위 little-endian 바이트열)으로 저장한다.
+ * 메모리 상태(MusicGrid)가 원본이며, write-behind 플러시와 유휴 방 정리 시에만 기록된다.
+ */
+@Entity
+@Table(name = "music_rooms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MusicRoom {
+
+    /**
+     * 방 ID (영문, 숫자, '-', '_' 최대 64자)
+     */
+    @Id
+    @Column(name = "room_id", length = 64)
+    private String roomId;
+
+    @Column(name = "grid_width", nullable = false)
+    private Integer width;
+
+    @Column(name = "grid_height", nullable = false)
+    private Integer height;
+
+    /**
+     * 셀 비트셋 (비트 i = 셀 (i % width, i / width), 최대 64x64 = 512 바이트)
+     */
+    @Column(nullable = false, length = 512)
+    private byte[] cells;
+
+    /**
+     * 마지막 수정 시각
+     */
+    @Column(name = "last_modified")
+    private LocalDateTime lastModified;
+
+    /**
+     * 마지막 수정한 사용자 (익명 지원)
+     */
+    @Column(name = "modified_by")
+    private String modifiedBy;
+
+    @PrePersist
+    @PreUpdate
+    public void updateTimestamp() {
+        this.lastModified = LocalDateTime.now();
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +18,9 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "event_logs")
+@Table(name = "event_logs", indexes = {
+    @Index(name = "idx_event_logs_occurred_at", columnList = "occurred_at")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -0,0 +1,99 @@
+package com.hoooon22.devzip.Model.traceboard;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이벤트 로그 사전 집계(rollup) 엔티티
+ *
+ * (집계 단위, 버킷 시작 시각, 차원, 차원 값) 하나당 한 행으로 이벤트 수를 누적한다.
+ * 대시보드는 원본 event_logs 대신 이 테이블을 읽으므로 조회 비용이 이벤트 수가 아닌 버킷 수에 비례한다.
+ * 버킷 시각은 이벤트 발생 시각(occurredAt) 기준이다.
+ */
+@Entity
+@Table(name = "event_rollups",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_event_rollup_bucket",
+        columnNames = {"granularity", "bucket_start", "dimension", "dimension_value"}),
+    indexes = @Index(name = "idx_event_rollup_range", columnList = "granularity, bucket_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventRollup {
+
+    // 전체 합계(TOTAL) 행의 차원 값
+    public static final String ALL = "-";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Dimension dimension;
+
+    @Column(name = "dimension_value", nullable = false)
+    private String dimensionValue;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    /**
+     * 집계 단위 (분/시/일)
+     */
+    public enum Granularity {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime truncate(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        public LocalDateTime ceil(LocalDateTime time) {
+            LocalDateTime floor = time.truncatedTo(unit);
+            return floor.equals(time) ? floor : floor.plus(1, unit);
+        }
+    }
+
+    /**
+     * 집계 차원
+     */
+    public enum Dimension {
+        TOTAL,          // 전체 이벤트 수 (값은 ALL)
+        EVENT_TYPE,     // 소문자·언더스코어 제거로 정규화한 이벤트 타입
+        PAGE_VIEW_PATH, // 페이지뷰 이벤트의 경로
+        DEVICE,
+        BROWSER,
+        OS
+    }
+}
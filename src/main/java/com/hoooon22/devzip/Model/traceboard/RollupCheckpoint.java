@@ -0,0 +1,28 @@
+package com.hoooon22.devzip.Model.traceboard;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사전 집계 작업의 진행 위치 (마지막으로 반영한 원본 로그 ID)
+ * 집계 결과와 같은 트랜잭션에서 갱신되어 같은 로그가 두 번 반영되지 않는다.
+ */
+@Entity
+@Table(name = "rollup_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+}
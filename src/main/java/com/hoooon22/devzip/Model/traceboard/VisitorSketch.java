@@ -0,0 +1,63 @@
+package com.hoooon22.devzip.Model.traceboard;
+
+import java.time.LocalDateTime;
+
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 버킷별 고유 방문자 HyperLogLog 스케치
+ *
+ * event_rollups 와 같은 분/시/일 버킷 단위로 저장되며, 조회 구간의 스케치들을 병합해 고유 방문자 수를 추정한다.
+ */
+@Entity
+@Table(name = "visitor_sketches",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_visitor_sketch_bucket",
+        columnNames = {"source", "granularity", "bucket_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitorSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Source source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // HyperLogLog 레지스터 (4,096 바이트)
+    @Column(nullable = false, length = 4096)
+    private byte[] registers;
+
+    /**
+     * 방문자 식별 원천
+     */
+    public enum Source {
+        EVENT_LOG,  // userId 우선, 없으면 IP 해시
+        ACCESS_LOG  // 원본 IP 주소
+    }
+}
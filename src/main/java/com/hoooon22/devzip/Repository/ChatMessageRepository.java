@@ -2,13 +2,23 @@ package com.hoooon22.devzip.Repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.hoooon22.devzip.Model.ChatMessage;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    // 특정 채팅방의 ID를 기반으로 메시지를 조회
-        List<ChatMessage> findByChatRoomId(Long chatRoomId);
+
+    // 특정 채팅방의 최근 메시지 (ID 내림차순, (chat_room_id, id) 인덱스 사용)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.chatRoom WHERE m.chatRoom.id = :roomId ORDER BY m.id DESC")
+    List<ChatMessage> findRecent(@Param("roomId") Long roomId, Pageable pageable);
+
+    // beforeId 보다 오래된 메시지 (keyset 페이지네이션)
+    @Query("SELECT m FROM ChatMessage m JOIN FETCH m.chatRoom " +
+           "WHERE m.chatRoom.id = :roomId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<ChatMessage> findBefore(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId, Pageable pageable);
 }
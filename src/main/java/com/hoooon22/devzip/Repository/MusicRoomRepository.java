@@ -0,0 +1,12 @@
+package com.hoooon22.devzip.Repository;
+
+import com.hoooon22.devzip.Model.musicbox.MusicRoom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 뮤직박스 방 데이터 접근 레이어
+ */
+@Repository
+public interface MusicRoomRepository extends JpaRepository<MusicRoom, String> {
+}
@@ -0,0 +1,49 @@
+package com.hoooon22.devzip.Repository;
+
+import com.hoooon22.devzip.Model.TagUsage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TagUsageRepository extends JpaRepository<TagUsage, Long> {
+
+    /**
+     * 특정 주제에서 많이 쓰인 태그 (사용 횟수 내림차순)
+     */
+    @Query("SELECT u.tag FROM TagUsage u " +
+           "WHERE u.userId = :userId AND u.topicId = :topicId AND u.usageCount > 0 " +
+           "ORDER BY u.usageCount DESC, u.tag")
+    List<String> findTopTagsByTopic(@Param("userId") Long userId, @Param("topicId") Long topicId, Pageable pageable);
+
+    /**
+     * 사용자의 모든 주제에서 많이 쓰인 태그 (주제별 횟수 합 내림차순)
+     */
+    @Query("SELECT u.tag FROM TagUsage u " +
+           "WHERE u.userId = :userId AND u.usageCount > 0 " +
+           "GROUP BY u.tag ORDER BY SUM(u.usageCount) DESC, u.tag")
+    List<String> findTopTagsByUser(@Param("userId") Long userId, Pageable pageable);
+
+    boolean existsByUserIdAndTopicIdAndTag(Long userId, Long topicId, String tag);
+
+    /**
+     * 태그 사용 횟수 증감 (행이 없으면 0 을 반환)
+     */
+    @Modifying
+    @Query("UPDATE TagUsage u SET u.usageCount = u.usageCount + :delta " +
+           "WHERE u.userId = :userId AND u.topicId = :topicId AND u.tag = :tag")
+    int addUsage(@Param("userId") Long userId, @Param("topicId") Long topicId,
+                 @Param("tag") String tag, @Param("delta") long delta);
+
+    /**
+     * 특정 주제의 태그 사용 횟수 전체 삭제 (주제 삭제 시)
+     */
+    @Modifying
+    @Query("DELETE FROM TagUsage u WHERE u.topicId = :topicId")
+    int deleteByTopicId(@Param("topicId") Long topicId);
+}
@@ -0,0 +1,26 @@
+package com.hoooon22.devzip.Repository;
+
+import com.hoooon22.devzip.Model.ThoughtClusterAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ThoughtClusterAssignmentRepository extends JpaRepository<ThoughtClusterAssignment, Long> {
+
+    /**
+     * 특정 주제의 모든 배정 조회
+     */
+    List<ThoughtClusterAssignment> findByTopicId(Long topicId);
+
+    /**
+     * 특정 주제의 배정 전체 삭제 (주제 삭제 시)
+     */
+    @Modifying
+    @Query("DELETE FROM ThoughtClusterAssignment a WHERE a.topicId = :topicId")
+    int deleteByTopicId(@Param("topicId") Long topicId);
+}
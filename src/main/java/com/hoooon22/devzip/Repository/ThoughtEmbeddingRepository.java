@@ -0,0 +1,9 @@
+package com.hoooon22.devzip.Repository;
+
+import com.hoooon22.devzip.Model.ThoughtEmbedding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ThoughtEmbeddingRepository extends JpaRepository<ThoughtEmbedding, Long> {
+}
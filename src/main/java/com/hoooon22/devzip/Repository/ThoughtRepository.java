@@ -23,6 +23,24 @@ public interface ThoughtRepository extends JpaRepository<Thought, Long> {
      */
     List<Thought> findByUserAndTopicOrderByCreatedAtDesc(User user, Topic topic);
 
+    /**
+     * 특정 주제에 속한 생각들 조회 (최신순)
+     */
+    List<Thought> findByTopicIdOrderByCreatedAtDesc(Long topicId);
+
+    /**
+     * AI 태그 추출이 끝나지 않은 생각 (오래된 순)
+     */
+    List<Thought> findTop50ByTagsPendingTrueOrderByIdAsc();
+
+    /**
+     * 사용자·주제·태그별 확정 태그 사용 수 (태그 사용 색인 초기 구축용)
+     * @return [userId, topicId(없으면 null), tag, count]
+     */
+    @Query("SELECT t.user.id, tp.id, tag, COUNT(DISTINCT t.id) FROM Thought t LEFT JOIN t.topic tp JOIN t.tags tag " +
+           "WHERE t.tagsPending = false GROUP BY t.user.id, tp.id, tag")
+    List<Object[]> countConfirmedTagUsage();
+
     /**
      * 특정 사용자의 특정 태그를 포함하는 생각들 조회
      */
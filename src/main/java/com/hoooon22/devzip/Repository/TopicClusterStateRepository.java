@@ -0,0 +1,56 @@
+package com.hoooon22.devzip.Repository;
+
+import com.hoooon22.devzip.Model.TopicClusterState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface TopicClusterStateRepository extends JpaRepository<TopicClusterState, Long> {
+
+    /**
+     * 개별 배정·삭제 한 건 반영 (동시 요청에도 증가분을 잃지 않는 원자적 UPDATE)
+     *
+     * @return 갱신된 행의 수 (0이면 상태 행이 아직 없음)
+     */
+    @Modifying
+    @Query("UPDATE TopicClusterState s SET s.version = s.version + 1, s.driftCount = s.driftCount + 1 " +
+           "WHERE s.topicId = :topicId")
+    int recordChange(@Param("topicId") Long topicId);
+
+    /**
+     * 재클러스터링 결과 반영: 버전을 올리고 시작 이후 쌓인 변경 수(version - startVersion)를 drift 로 남긴다
+     * 행 잠금을 잡으므로 이후 개별 배정은 이 트랜잭션이 끝난 뒤에 반영된다.
+     * MySQL 은 SET 을 왼쪽부터 평가하므로 driftCount 를 version 보다 먼저 계산한다.
+     */
+    @Modifying
+    @Query("UPDATE TopicClusterState s SET s.driftCount = cast(s.version - :startVersion as Integer), " +
+           "s.version = s.version + 1, s.baseSize = :baseSize, s.reclusteredAt = :reclusteredAt " +
+           "WHERE s.topicId = :topicId")
+    int markReclustered(@Param("topicId") Long topicId,
+                        @Param("startVersion") long startVersion,
+                        @Param("baseSize") int baseSize,
+                        @Param("reclusteredAt") LocalDateTime reclusteredAt);
+
+    /**
+     * 현재 버전과 drift (영속성 컨텍스트에 남은 엔티티가 아니라 DB 의 값)
+     */
+    @Query("SELECT s.version AS version, s.baseSize AS baseSize, s.driftCount AS driftCount " +
+           "FROM TopicClusterState s WHERE s.topicId = :topicId")
+    Optional<Drift> findDrift(@Param("topicId") Long topicId);
+
+    interface Drift {
+        long getVersion();
+        int getBaseSize();
+        int getDriftCount();
+
+        default boolean needsRecluster(double driftRatio, int minDrift) {
+            return getDriftCount() >= minDrift && getDriftCount() > driftRatio * getBaseSize();
+        }
+    }
+}
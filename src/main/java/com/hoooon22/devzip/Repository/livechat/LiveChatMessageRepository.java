@@ -1,10 +1,16 @@
 package com.hoooon22.devzip.Repository.livechat;
 
 import com.hoooon22.devzip.Model.livechat.LiveChatMessage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface LiveChatMessageRepository extends JpaRepository<LiveChatMessage, Long> {
-    List<LiveChatMessage> findByLiveChatRoomId(Long roomId);
+
+    // 최근 메시지 (ID 내림차순, (live_chat_room_id, live_chat_message_id) 인덱스 사용)
+    List<LiveChatMessage> findByLiveChatRoomIdOrderByIdDesc(Long roomId, Pageable pageable);
+
+    // beforeId 보다 오래된 메시지 (keyset 페이지네이션)
+    List<LiveChatMessage> findByLiveChatRoomIdAndIdLessThanOrderByIdDesc(Long roomId, Long beforeId, Pageable pageable);
 }
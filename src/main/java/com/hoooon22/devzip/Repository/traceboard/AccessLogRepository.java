@@ -25,6 +25,28 @@ public interface AccessLogRepository extends JpaRepository<AccessLog, Long> {
         Pageable pageable
     );
 
+    /**
+     * 시간 범위 내 접근 횟수
+     */
+    long countByAccessTimeBetween(LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 고유 방문자 스케치 반영 대상: 마지막 반영 ID 이후이면서 기록된 지 일정 시간이 지난 로그
+     */
+    @Query("SELECT a.id AS id, a.ipAddress AS ipAddress, a.accessTime AS accessTime " +
+           "FROM AccessLog a WHERE a.id > :afterId AND a.accessTime < :settledBefore ORDER BY a.id")
+    List<SketchSource> findSketchSources(
+        @Param("afterId") long afterId,
+        @Param("settledBefore") LocalDateTime settledBefore,
+        Pageable pageable
+    );
+
+    interface SketchSource {
+        Long getId();
+        String getIpAddress();
+        LocalDateTime getAccessTime();
+    }
+
     /**
      * 특정 IP 주소로 접근 로그 조회
      */
@@ -6,11 +6,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventLogRepository extends JpaRepository<EventLog, Long>, JpaSpecificationExecutor<EventLog> {
@@ -35,6 +40,43 @@ public interface EventLogRepository extends JpaRepository<EventLog, Long>, JpaSp
     Page<EventLog> findByUserIdAndEventTypeAndOccurredAtBetween(
             String userId, String eventType, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
+    // CSV 내보내기용 전진 전용 커서 조회 (호출자는 읽기 트랜잭션 안에서 스트림을 소비하고 닫아야 한다)
+    // MySQL 은 JDBC URL 에 useCursorFetch=true 가 있어야 fetch size 만큼씩 서버 커서로 가져온다
+    // (없으면 Connector/J 가 결과 전체를 메모리에 올린다, application-docker.properties.example 참고)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM EventLog e WHERE e.occurredAt BETWEEN :start AND :end " +
+           "AND (:eventType IS NULL OR e.eventType = :eventType) ORDER BY e.id")
+    Stream<EventLog> streamForExport(@Param("eventType") String eventType,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end);
+
+    // 최근 이벤트 로그 (대시보드 최근 로그 목록)
+    List<EventLog> findTop100ByOccurredAtBetweenOrderByOccurredAtDesc(LocalDateTime start, LocalDateTime end);
+
+    // 사전 집계 대상: 마지막 반영 ID 이후이면서 기록된 지 일정 시간이 지난 로그 (집계에 필요한 컬럼만)
+    @Query("SELECT e.id AS id, e.eventType AS eventType, e.userId AS userId, e.path AS path, " +
+           "e.deviceType AS deviceType, e.browser AS browser, e.os AS os, " +
+           "e.ipAddressHash AS ipAddressHash, e.occurredAt AS occurredAt " +
+           "FROM EventLog e WHERE e.id > :afterId AND e.createdAt < :settledBefore ORDER BY e.id")
+    List<RollupSource> findRollupSources(@Param("afterId") long afterId,
+                                         @Param("settledBefore") LocalDateTime settledBefore,
+                                         Pageable pageable);
+
+    interface RollupSource {
+        Long getId();
+        String getEventType();
+        String getUserId();
+        String getPath();
+        String getDeviceType();
+        String getBrowser();
+        String getOs();
+        String getIpAddressHash();
+        LocalDateTime getOccurredAt();
+    }
+
     // 시간대별 이벤트 수 집계 (MySQL 호환)
     @Query(value = 
             "SELECT DATE_FORMAT(occurred_at, '%Y-%m-%d %H:00:00') as hour, COUNT(*) " +
@@ -0,0 +1,42 @@
+package com.hoooon22.devzip.Repository.traceboard;
+
+import com.hoooon22.devzip.Model.traceboard.EventRollup;
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Dimension;
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventRollupRepository extends JpaRepository<EventRollup, Long> {
+
+    // 집계 반영 시 갱신 대상 버킷의 기존 행 조회
+    List<EventRollup> findByGranularityAndBucketStartIn(Granularity granularity, Collection<LocalDateTime> bucketStarts);
+
+    // 구간 [from, to) 의 모든 차원 버킷 조회
+    @Query("SELECT r FROM EventRollup r " +
+           "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<EventRollup> findInRange(@Param("granularity") Granularity granularity,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    // 구간 [from, to) 의 특정 차원 버킷 조회
+    @Query("SELECT r FROM EventRollup r " +
+           "WHERE r.granularity = :granularity AND r.dimension = :dimension " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<EventRollup> findInRange(@Param("granularity") Granularity granularity,
+                                  @Param("dimension") Dimension dimension,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    // 보관 기간이 지난 버킷 삭제
+    @Modifying
+    @Query("DELETE FROM EventRollup r WHERE r.granularity = :granularity AND r.bucketStart < :cutoff")
+    int deleteOlderThan(@Param("granularity") Granularity granularity, @Param("cutoff") LocalDateTime cutoff);
+}
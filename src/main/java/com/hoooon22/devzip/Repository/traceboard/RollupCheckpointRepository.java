@@ -0,0 +1,9 @@
+package com.hoooon22.devzip.Repository.traceboard;
+
+import com.hoooon22.devzip.Model.traceboard.RollupCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RollupCheckpointRepository extends JpaRepository<RollupCheckpoint, String> {
+}
@@ -0,0 +1,36 @@
+package com.hoooon22.devzip.Repository.traceboard;
+
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch.Source;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface VisitorSketchRepository extends JpaRepository<VisitorSketch, Long> {
+
+    // 병합 대상 버킷의 기존 스케치 조회
+    List<VisitorSketch> findBySourceAndGranularityAndBucketStartIn(
+            Source source, Granularity granularity, Collection<LocalDateTime> bucketStarts);
+
+    // 구간 [from, to) 의 스케치 조회
+    @Query("SELECT s FROM VisitorSketch s " +
+           "WHERE s.source = :source AND s.granularity = :granularity " +
+           "AND s.bucketStart >= :from AND s.bucketStart < :to")
+    List<VisitorSketch> findInRange(@Param("source") Source source,
+                                    @Param("granularity") Granularity granularity,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to);
+
+    // 보관 기간이 지난 스케치 삭제
+    @Modifying
+    @Query("DELETE FROM VisitorSketch s WHERE s.granularity = :granularity AND s.bucketStart < :cutoff")
+    int deleteOlderThan(@Param("granularity") Granularity granularity, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,7 +1,11 @@
 package com.hoooon22.devzip.Service;
 
+import com.hoooon22.devzip.dto.musicbox.UserListMessage;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -11,34 +15,84 @@ import java.util.concurrent.ConcurrentHashMap;
  * 활성 사용자 관리 서비스
  *
  * WebSocket 세션과 사용자명을 매핑하여 실시간 접속자를 추적합니다.
+ *
+ * 입장/퇴장마다 전체 목록을 보내지 않고, 변경분을 사용자명별 증감으로 모아 두었다가
+ * debounce 주기(app.musicbox.user-list-debounce-ms)마다 버전이 붙은 DELTA 한 건으로 보냅니다.
+ * 같은 주기 안의 퇴장+재입장(배포 직후 재접속 등)은 서로 상쇄되어 전송되지 않습니다.
+ * 전체 목록(SNAPSHOT)은 클라이언트가 /app/musicbox/users 를 구독할 때 그 세션에만 보냅니다.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class ActiveUserService {
 
+    public static final String USERS_DESTINATION = "/topic/musicbox/users";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
     // 세션 ID -> 사용자명 매핑
     private final Map<String, String> sessionUserMap = new ConcurrentHashMap<>();
 
+    // 아직 보내지 않은 사용자명별 증감 (+ 입장, - 퇴장)
+    private final Map<String, Integer> pendingChanges = new HashMap<>();
+
+    // 마지막으로 보낸 DELTA 의 버전 (SNAPSHOT 은 이 버전 기준)
+    private long version;
+
     /**
      * 사용자 추가
      */
-    public void addUser(String sessionId, String username) {
-        sessionUserMap.put(sessionId, username);
-        log.info("User added: {} (session: {})", username, sessionId);
-        log.info("Total active users: {}", sessionUserMap.size());
+    public synchronized void addUser(String sessionId, String username) {
+        String previous = sessionUserMap.put(sessionId, username);
+        if (username.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            recordChange(previous, -1);
+        }
+        recordChange(username, 1);
+        log.debug("User added: {} (session: {}), total: {}", username, sessionId, sessionUserMap.size());
     }
 
     /**
      * 사용자 제거
      */
-    public void removeUser(String sessionId) {
+    public synchronized void removeUser(String sessionId) {
         String username = sessionUserMap.remove(sessionId);
         if (username != null) {
-            log.info("User removed: {} (session: {})", username, sessionId);
-            log.info("Total active users: {}", sessionUserMap.size());
+            recordChange(username, -1);
+            log.debug("User removed: {} (session: {}), total: {}", username, sessionId, sessionUserMap.size());
+        }
+    }
+
+    /**
+     * 모아 둔 변경분을 DELTA 한 건으로 브로드캐스트 (버전 순서가 뒤바뀌지 않도록 락 안에서 전송)
+     */
+    @Scheduled(fixedDelayString = "${app.musicbox.user-list-debounce-ms:250}")
+    public synchronized void publishPendingChanges() {
+        UserListMessage delta = drainDelta();
+        if (delta != null) {
+            messagingTemplate.convertAndSend(USERS_DESTINATION, delta);
+            log.info("Broadcasted user list delta v{}: +{} -{} ({} users)", delta.getVersion(),
+                    delta.getJoined().size(), delta.getLeft().size(), delta.getTotalCount());
         }
     }
 
+    /**
+     * 전체 목록 스냅샷
+     *
+     * 보내지 않은 변경분을 먼저 DELTA 로 내보내므로, 스냅샷은 항상 마지막 DELTA 버전과 일치한다.
+     */
+    public synchronized UserListMessage snapshot() {
+        publishPendingChanges();
+        return UserListMessage.builder()
+                .type(UserListMessage.MessageType.SNAPSHOT)
+                .version(version)
+                .users(new ArrayList<>(sessionUserMap.values()))
+                .totalCount(sessionUserMap.size())
+                .build();
+    }
+
     /**
      * 활성 사용자 목록 조회
      */
@@ -57,6 +111,33 @@ public class ActiveUserService {
         return sessionUserMap.size();
     }
 
+    private void recordChange(String username, int delta) {
+        pendingChanges.merge(username, delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private UserListMessage drainDelta() {
+        if (pendingChanges.isEmpty()) {
+            return null;
+        }
+        List<String> joined = new ArrayList<>();
+        List<String> left = new ArrayList<>();
+        pendingChanges.forEach((username, count) -> {
+            List<String> target = count > 0 ? joined : left;
+            for (int i = 0; i < Math.abs(count); i++) {
+                target.add(username);
+            }
+        });
+        pendingChanges.clear();
+        version++;
+        return UserListMessage.builder()
+                .type(UserListMessage.MessageType.DELTA)
+                .version(version)
+                .joined(joined)
+                .left(left)
+                .totalCount(sessionUserMap.size())
+                .build();
+    }
+
     /**
      * 활성 사용자 정보
      */
@@ -1,32 +1,31 @@
 package com.hoooon22.devzip.Service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hoooon22.devzip.Service.llm.GeminiClient;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class AiTagExtractorService {
 
-    @Value("${google.api.key:}")
-    private String googleApiKey;
+    private static final String CALLER = "tag-extractor";
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final GeminiClient geminiClient;
 
-    public AiTagExtractorService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    public AiTagExtractorService(GeminiClient geminiClient) {
+        this.geminiClient = geminiClient;
+    }
+
+    /**
+     * AI 태그 추출 사용 가능 여부 (false 면 extractTags 는 폴백 결과만 돌려준다)
+     */
+    public boolean isAiAvailable() {
+        return geminiClient.isConfigured();
     }
 
     /**
@@ -43,14 +42,12 @@ public class AiTagExtractorService {
      */
     public List<String> extractTags(String content, List<String> existingTags) {
         // API 키가 설정되지 않은 경우 기본 태그 추출 방식 사용
-        if (googleApiKey == null || googleApiKey.trim().isEmpty()) {
+        if (!geminiClient.isConfigured()) {
             log.warn("Google API key is not configured. Using fallback tag extraction.");
             return extractTagsFallback(content);
         }
 
         try {
-            String apiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + googleApiKey;
-
             // 프롬프트 작성 - 기존 태그 참조
             StringBuilder prompt = new StringBuilder();
             prompt.append("다음 텍스트에서 핵심 키워드를 3-5개 추출해주세요.\n\n");
@@ -73,36 +70,8 @@ public class AiTagExtractorService {
             prompt.append("4. 키워드만 출력하고 다른 설명 금지\n\n");
             prompt.append("키워드:");
 
-            // 요청 바디 생성
-            Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                    Map.of(
-                        "parts", List.of(
-                            Map.of("text", prompt.toString())
-                        )
-                    )
-                )
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                request,
-                String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return parseGeminiResponse(response.getBody());
-            } else {
-                log.error("Failed to call Gemini API. Status: {}", response.getStatusCode());
-                return extractTagsFallback(content);
-            }
+            // API 호출 (같은 텍스트·기존 태그 조합은 캐시된 응답 사용)
+            return parseTags(geminiClient.generate(CALLER, prompt.toString()));
 
         } catch (Exception e) {
             log.error("Error extracting tags with AI: {}", e.getMessage(), e);
@@ -111,41 +80,22 @@ public class AiTagExtractorService {
     }
 
     /**
-     * Gemini API 응답에서 태그 파싱
+     * Gemini 응답 텍스트에서 태그 파싱
      */
-    private List<String> parseGeminiResponse(String responseBody) {
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode candidates = root.path("candidates");
-
-            if (candidates.isArray() && candidates.size() > 0) {
-                JsonNode firstCandidate = candidates.get(0);
-                JsonNode content = firstCandidate.path("content");
-                JsonNode parts = content.path("parts");
-
-                if (parts.isArray() && parts.size() > 0) {
-                    String text = parts.get(0).path("text").asText();
-
-                    // 쉼표로 구분된 태그 추출
-                    return Arrays.stream(text.split("[,\n]"))
-                        .map(String::trim)
-                        .filter(tag -> !tag.isEmpty())
-                        .limit(5)
-                        .collect(Collectors.toList());
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error parsing Gemini response: {}", e.getMessage());
-        }
-
-        return new ArrayList<>();
+    private List<String> parseTags(String text) {
+        // 쉼표로 구분된 태그 추출
+        return Arrays.stream(text.split("[,\n]"))
+            .map(String::trim)
+            .filter(tag -> !tag.isEmpty())
+            .limit(5)
+            .collect(Collectors.toList());
     }
 
     /**
-     * AI API 실패 시 사용할 폴백 태그 추출 방법
+     * AI API 실패 시 사용할 폴백 태그 추출 방법 (AI 태그가 나오기 전 임시 태그로도 사용)
      * 간단한 키워드 추출 알고리즘
      */
-    private List<String> extractTagsFallback(String content) {
+    public List<String> extractTagsFallback(String content) {
         // 공백과 특수문자로 단어 분리
         String[] words = content.split("[\\s\\p{Punct}]+");
 
@@ -1,5 +1,6 @@
 package com.hoooon22.devzip.Service;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,10 +34,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseVerifiedClaims(jwt) : null;
+            if (claims != null) {
+                // 이후 AccessLogInterceptor 가 토큰을 다시 파싱하지 않도록 요청 속성에 남긴다
+                request.setAttribute(JwtUtils.CLAIMS_ATTRIBUTE, claims);
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = userDetailsService.loadCachedUserByUsername(username);
                 // 비활성화된 계정은 토큰이 유효해도 인증을 부여하지 않는다.
                 if (userDetails.isEnabled()) {
                     UsernamePasswordAuthenticationToken authentication =
@@ -1,34 +1,89 @@
 package com.hoooon22.devzip.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.hoooon22.devzip.Model.ChatMessage;
 import com.hoooon22.devzip.Model.ChatRoom;
 import com.hoooon22.devzip.Repository.ChatMessageRepository;
 
-import jakarta.transaction.Transactional;
-
 @Service
 public class ChatMessageService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String ID_BLOCK_NAME = "chat_message";
+
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatMessageWriter chatMessageWriter;
+    private final IdBlockAllocator idBlockAllocator;
+    private final int idBlockSize;
+
+    // 방별 최근 메시지 (입장 시 조회를 DB 없이 처리)
+    private final RecentMessageCache<ChatMessage> recentMessages;
+
+    // 메시지 ID 는 DB 저장 전에 서버가 부여한다 (id_blocks 에 영속적으로 예약한 블록에서 꺼냄, 재시작·다중 인스턴스 안전)
+    private long nextMessageId;
+    private long messageIdBlockEnd;
 
     @Autowired
-    public ChatMessageService(ChatMessageRepository chatMessageRepository) {
+    public ChatMessageService(ChatMessageRepository chatMessageRepository,
+                              ChatMessageWriter chatMessageWriter,
+                              IdBlockAllocator idBlockAllocator,
+                              @Value("${app.chat.id-block-size:100}") int idBlockSize,
+                              @Value("${app.chat.recent-messages-per-room:50}") int recentPerRoom,
+                              @Value("${app.chat.recent-rooms-max:1000}") long recentRoomsMax) {
         this.chatMessageRepository = chatMessageRepository;
+        this.chatMessageWriter = chatMessageWriter;
+        this.idBlockAllocator = idBlockAllocator;
+        this.idBlockSize = Math.max(1, idBlockSize);
+        this.recentMessages = new RecentMessageCache<>(recentPerRoom, recentRoomsMax, ChatMessage::getId);
     }
 
-    @Transactional
-    public ChatMessage saveMessage(ChatRoom room, String sender, String content, String color) {
+    /**
+     * ID 를 부여한 메시지를 만들어 저장 대기열에 넣고 바로 돌려준다 (DB 기록은 ChatMessageWriter 가 비동기로 처리)
+     */
+    public ChatMessage createMessage(ChatRoom room, String sender, String content, String color) {
         ChatMessage message = new ChatMessage(room, sender, content);
         message.setColor(color);
-        return chatMessageRepository.save(message);
+        message.setId(nextMessageId());
+        recentMessages.append(room.getId(), message);
+        chatMessageWriter.offer(message);
+        return message;
+    }
+
+    /**
+     * 다음 메시지 ID (현재 블록을 다 쓰면 새 블록을 예약한다)
+     */
+    private synchronized long nextMessageId() {
+        if (nextMessageId >= messageIdBlockEnd) {
+            nextMessageId = idBlockAllocator.reserve(ID_BLOCK_NAME, "chat_message", idBlockSize);
+            messageIdBlockEnd = nextMessageId + idBlockSize;
+        }
+        return nextMessageId++;
     }
 
-    public List<ChatMessage> getMessagesByRoomId(Long roomId) {
-        return chatMessageRepository.findByChatRoomId(roomId);
+    /**
+     * beforeId 보다 오래된 메시지 중 최근 limit 건 (ID 오름차순, beforeId 가 없으면 가장 최근부터)
+     */
+    public List<ChatMessage> getMessagesByRoomId(Long roomId, Long beforeId, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<ChatMessage> cached = recentMessages.recent(roomId, beforeId, size,
+                () -> chatMessageRepository.findRecent(roomId, PageRequest.of(0, recentMessages.getCapacity())));
+        if (cached != null) {
+            return cached;
+        }
+        List<ChatMessage> messages = new ArrayList<>(beforeId != null
+                ? chatMessageRepository.findBefore(roomId, beforeId, PageRequest.of(0, size))
+                : chatMessageRepository.findRecent(roomId, PageRequest.of(0, size)));
+        Collections.reverse(messages);
+        return messages;
     }
 }
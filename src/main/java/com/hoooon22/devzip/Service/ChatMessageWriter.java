@@ -0,0 +1,217 @@
+package com.hoooon22.devzip.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hoooon22.devzip.Model.ChatMessage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 채팅 메시지 write-behind 저장
+ *
+ * ChatController 는 ID 를 붙인 메시지를 바로 브로드캐스트하고 여기에 넘기기만 한다.
+ * - 전용 writer 스레드가 batchSize 건 또는 flushInterval 마다 다중 행 INSERT 로 기록한다.
+ * - 배치가 실패하면 한 건씩 다시 시도하고, 그래도 실패한 메시지는 status=FAILED 로
+ *   같은 토픽(/topic/chat/{roomId})에 다시 보내 클라이언트가 저장되지 않았음을 표시하게 한다.
+ * - 큐가 가득 차면 기다리지 않고 곧바로 실패로 처리한다.
+ * - 종료 시 남은 메시지를 모두 flush 한다.
+ */
+@Component
+@Slf4j
+public class ChatMessageWriter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO chat_message (id, chat_room_id, sender, content, sent_at, color) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?,?)";
+    private static final int COLUMN_COUNT = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<ChatMessage> queue;
+
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer writeLatency;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ChatMessageWriter(
+            JdbcTemplate jdbcTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.chat.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.chat.batch-size:100}") int batchSize,
+            @Value("${app.chat.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+
+        Gauge.builder("chat.message.queue.depth", queue, BlockingQueue::size)
+                .description("저장 대기 중인 채팅 메시지 수")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("chat.message.flushed")
+                .description("DB에 기록한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("chat.message.failed")
+                .description("저장에 실패해 FAILED 로 표시한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.writeLatency = Timer.builder("chat.message.write.latency")
+                .description("배치 INSERT 소요 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "Chat-Message-Writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("채팅 메시지 writer 시작: capacity={}, batchSize={}, flushInterval={}ms",
+                queue.remainingCapacity(), batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // writer가 시간 내에 끝나지 못했더라도 남은 메시지는 최대한 기록한다
+        List<ChatMessage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("채팅 메시지 writer 종료");
+    }
+
+    /**
+     * 저장 대기열에 넣는다. 가득 차 있으면 바로 실패로 표시한다 (호출 스레드는 기다리지 않음).
+     */
+    public void offer(ChatMessage message) {
+        if (!queue.offer(message)) {
+            log.warn("채팅 메시지 저장 대기열 초과: id={}", message.getId());
+            markFailed(message);
+        }
+    }
+
+    private void runWriter() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 크기 또는 시간 중 먼저 도달하는 조건으로 배치를 마감한다
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0 || !running) {
+                        break;
+                    }
+                    ChatMessage next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("채팅 메시지 writer 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ChatMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            insert(batch);
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("채팅 메시지 배치 저장 실패, 한 건씩 재시도: {} 건", batch.size(), e);
+            // 한 건의 문제(삭제된 방 등)로 배치 전체가 유실되지 않도록 개별 저장
+            for (ChatMessage message : batch) {
+                try {
+                    insert(List.of(message));
+                    flushedCounter.increment();
+                } catch (Exception single) {
+                    log.error("채팅 메시지 저장 실패: id={}, roomId={}",
+                            message.getId(), message.getChatRoom().getId(), single);
+                    markFailed(message);
+                }
+            }
+        } finally {
+            writeLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void insert(List<ChatMessage> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 1));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMN_COUNT];
+        int i = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            if (row > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+
+            ChatMessage m = batch.get(row);
+            args[i++] = m.getId();
+            args[i++] = m.getChatRoom().getId();
+            args[i++] = m.getSender();
+            args[i++] = m.getContent();
+            args[i++] = Timestamp.valueOf(m.getSentAt());
+            args[i++] = m.getColor();
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private void markFailed(ChatMessage message) {
+        failedCounter.increment();
+        message.setStatus(ChatMessage.STATUS_FAILED);
+        try {
+            messagingTemplate.convertAndSend("/topic/chat/" + message.getChatRoom().getId(), message);
+        } catch (Exception e) {
+            log.warn("채팅 메시지 실패 알림 전송 실패: id={}", message.getId(), e);
+        }
+    }
+}
@@ -3,25 +3,49 @@ package com.hoooon22.devzip.Service;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hoooon22.devzip.Model.ChatRoom;
 import com.hoooon22.devzip.Repository.ChatRoomRepository;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class ChatRoomService {
     
     private final ChatRoomRepository chatRoomRepository;
 
+    // keyword -> 채팅방 (채팅방은 만들어진 뒤 keyword 가 바뀌지 않으므로 만료 없이 크기로만 제한)
+    private final Cache<String, ChatRoom> roomsByKeyword;
+
     @Autowired
-    public ChatRoomService(ChatRoomRepository chatRoomRepository) {
+    public ChatRoomService(ChatRoomRepository chatRoomRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.chat.room-cache-max-size:10000}") long roomCacheMaxSize) {
         this.chatRoomRepository = chatRoomRepository;
+        this.roomsByKeyword = Caffeine.newBuilder()
+                .maximumSize(roomCacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roomsByKeyword, "chat.rooms");
     }
 
-    @Transactional
+    /**
+     * keyword 로 채팅방 조회, 없으면 생성 (메시지마다 호출되므로 캐시에서 먼저 찾는다)
+     */
     public ChatRoom getOrCreateChatRoom(String keyword) {
+        return roomsByKeyword.get(keyword, this::findOrCreate);
+    }
+    
+    public Optional<ChatRoom> getChatRoomById(Long id) {
+        return chatRoomRepository.findById(id);
+    }
+
+    private ChatRoom findOrCreate(String keyword) {
         Optional<ChatRoom> chatRoom = chatRoomRepository.findByKeyword(keyword);
         if (chatRoom.isPresent()) {
             return chatRoom.get();
@@ -29,8 +53,4 @@ public class ChatRoomService {
         ChatRoom newRoom = new ChatRoom(keyword);
         return chatRoomRepository.save(newRoom);
     }
-    
-    public Optional<ChatRoom> getChatRoomById(Long id) {
-        return chatRoomRepository.findById(id);
-    }
 }
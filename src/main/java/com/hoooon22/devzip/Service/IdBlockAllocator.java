@@ -0,0 +1,70 @@
+package com.hoooon22.devzip.Service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * id_blocks 테이블 기반 ID 블록 예약 (hi-lo)
+ *
+ * - 예약은 별도 트랜잭션에서 UPDATE(행 잠금) 후 커밋하므로, 예약된 블록은 프로세스가 죽어도 다시 나가지 않는다.
+ * - 여러 인스턴스가 동시에 예약해도 행 잠금으로 순서가 정해져 블록이 겹치지 않는다.
+ * - 행이 없으면(처음 사용) 대상 테이블의 현재 MAX(id) 다음 값으로 만든다.
+ * - 쓰지 못한 블록의 나머지는 버려지므로 ID 에 빈 구간이 생길 수 있다.
+ */
+@Component
+@Slf4j
+public class IdBlockAllocator {
+
+    private static final String ADVANCE = "UPDATE id_blocks SET next_value = next_value + ? WHERE name = ?";
+    private static final String CURRENT = "SELECT next_value FROM id_blocks WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * size 개의 연속된 ID 를 예약한다
+     *
+     * @param name      블록 이름
+     * @param seedTable 처음 사용 시 시작값을 정할 테이블 (id 컬럼의 MAX + 1)
+     * @return 예약된 첫 ID (예약 범위는 [반환값, 반환값 + size))
+     */
+    public long reserve(String name, String seedTable, int size) {
+        for (int attempt = 0; ; attempt++) {
+            Long end = transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update(ADVANCE, size, name) == 0) {
+                    return null;
+                }
+                return jdbcTemplate.queryForObject(CURRENT, Long.class, name);
+            });
+            if (end != null) {
+                return end - size;
+            }
+            if (attempt > 0) {
+                throw new IllegalStateException("ID 블록을 예약할 수 없습니다: " + name);
+            }
+            seed(name, seedTable);
+        }
+    }
+
+    private void seed(String name, String seedTable) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "INSERT INTO id_blocks (name, next_value) SELECT ?, COALESCE(MAX(id), 0) + 1 FROM " + seedTable, name));
+            log.info("ID 블록 시작값 생성: {} (기준 테이블 {})", name, seedTable);
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 먼저 만들었다
+        }
+    }
+}
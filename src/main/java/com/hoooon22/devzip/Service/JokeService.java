@@ -2,39 +2,33 @@ package com.hoooon22.devzip.Service;
 
 import com.hoooon22.devzip.Model.JokeResponse;
 import com.hoooon22.devzip.Model.TranslatedJoke;
-import com.hoooon22.devzip.tip.dto.GeminiRequest;
-import com.hoooon22.devzip.tip.dto.GeminiResponse;
+import com.hoooon22.devzip.Service.llm.GeminiClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
-import java.util.Collections;
-import java.util.List;
 
 @Service
 public class JokeService {
 
     private static final Logger logger = LoggerFactory.getLogger(JokeService.class);
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    private static final String CALLER = "joke-translation";
 
     private final RestTemplate restTemplate;
-
-    @Value("${google.api.key:}")
-    private String googleApiKey;
+    private final GeminiClient geminiClient;
 
     // 일일 농담 캐싱 필드
     private TranslatedJoke cachedDailyJoke;
     private LocalDate lastGeneratedDate;
 
     @Autowired
-    public JokeService(RestTemplate restTemplate) {
+    public JokeService(RestTemplate restTemplate, GeminiClient geminiClient) {
         this.restTemplate = restTemplate;
+        this.geminiClient = geminiClient;
     }
 
     /**
@@ -108,48 +102,26 @@ public class JokeService {
      * Gemini API를 사용하여 영어 텍스트를 한국어로 번역
      */
     private String translateToKorean(String englishText) {
-        if (!StringUtils.hasText(googleApiKey)) {
+        if (!geminiClient.isConfigured()) {
             logger.warn("Google API key is not configured. Returning original text.");
             return englishText;
         }
 
-        String geminiUrlWithKey = GEMINI_API_URL + "?key=" + googleApiKey;
-
-        // Gemini API 요청 바디 구성 (TipService와 동일한 DTO 사용)
+        // 같은 문장의 번역은 캐시된 응답을 재사용한다
         String prompt = "Translate the following joke into natural Korean. Output ONLY the translated text. Do not include any internal thoughts, explanations, or [THOUGHT] blocks. Just the translation:\n\n"
                 + englishText;
-        GeminiRequest.Part part = new GeminiRequest.Part(prompt);
-        GeminiRequest.Content content = new GeminiRequest.Content(Collections.singletonList(part));
-        GeminiRequest request = new GeminiRequest(Collections.singletonList(content));
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<GeminiRequest> entity = new HttpEntity<>(request, headers);
 
         // 잠깐의 네트워크 오류를 흡수하기 위해 2회까지 재시도
         for (int attempt = 1; attempt <= 2; attempt++) {
             try {
-                ResponseEntity<GeminiResponse> response = restTemplate.exchange(
-                        geminiUrlWithKey,
-                        HttpMethod.POST,
-                        entity,
-                        GeminiResponse.class);
-
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    String translatedText = extractTextFromGeminiResponse(response.getBody());
-                    if (StringUtils.hasText(translatedText)) {
-                        // [THOUGHT] 블록이 포함된 경우 제거
-                        String cleanedText = translatedText.replaceAll("\\[THOUGHT\\][\\s\\S]*?(\n\n|\n|$)", "").trim();
-                        // 만약 제거 후에도 [THOUGHT]가 남아있거나 빈 문자열이면 원문 반환 고려 (여기선 빈 문자열 체크만)
-                        if (StringUtils.hasText(cleanedText)) {
-                            return cleanedText;
-                        }
-                    }
-                    logger.warn("Gemini translation attempt {} returned empty or invalid text", attempt);
-                } else {
-                    logger.warn("Gemini translation attempt {} failed with status {}", attempt,
-                            response.getStatusCode());
+                String translatedText = geminiClient.generate(CALLER, prompt);
+                // [THOUGHT] 블록이 포함된 경우 제거
+                String cleanedText = translatedText.replaceAll("\\[THOUGHT\\][\\s\\S]*?(\n\n|\n|$)", "").trim();
+                // 만약 제거 후에도 [THOUGHT]가 남아있거나 빈 문자열이면 원문 반환 고려 (여기선 빈 문자열 체크만)
+                if (StringUtils.hasText(cleanedText)) {
+                    return cleanedText;
                 }
+                logger.warn("Gemini translation attempt {} returned empty or invalid text", attempt);
             } catch (Exception e) {
                 logger.warn("Gemini translation attempt {} failed: {}", attempt, e.getMessage());
             }
@@ -159,25 +131,6 @@ public class JokeService {
         return englishText;
     }
 
-    /**
-     * Gemini API 응답에서 번역 텍스트 추출
-     */
-    private String extractTextFromGeminiResponse(GeminiResponse response) {
-        List<GeminiResponse.Candidate> candidates = response.getCandidates();
-        if (candidates == null || candidates.isEmpty()) {
-            return null;
-        }
-
-        GeminiResponse.Candidate candidate = candidates.get(0);
-        if (candidate.getContent() == null ||
-                candidate.getContent().getParts() == null ||
-                candidate.getContent().getParts().isEmpty()) {
-            return null;
-        }
-
-        return candidate.getContent().getParts().get(0).getText();
-    }
-
     /**
      * 에러 발생 시 반환할 기본 농담
      */
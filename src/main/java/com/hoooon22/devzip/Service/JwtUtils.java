@@ -1,28 +1,78 @@
 package com.hoooon22.devzip.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * JWT 발급/검증
+ *
+ * 검증된 Claims 는 토큰의 SHA-256 해시를 키로 캐시한다 (원본 토큰은 보관하지 않음).
+ * AuthTokenFilter, StompHandler, AccessLogInterceptor, 컨트롤러가 같은 토큰을 여러 번 확인해도
+ * 서명 검증은 TTL(app.jwt.cache.ttl-seconds) 구간마다 한 번만 일어난다.
+ * 캐시 항목은 TTL 과 토큰 만료 시각 중 이른 쪽에 제거되며, 유효하지 않은 토큰은 캐시하지 않는다.
+ */
 @Component
 public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+
+    /**
+     * 검증된 Claims 를 담는 요청 속성 이름 (AuthTokenFilter 가 설정, AccessLogInterceptor 가 재사용)
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtUtils.class.getName() + ".CLAIMS";
     
     @Value("${app.jwtSecret}")
     private String jwtSecret;
     
     @Value("${app.jwtExpirationInMs:86400000}")
     private int jwtExpirationMs;
+
+    @Value("${app.jwt.cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    @Value("${app.jwt.cache.ttl-seconds:300}")
+    private long claimsCacheTtlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ClaimsExpiry(TimeUnit.SECONDS.toNanos(claimsCacheTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwt.claims");
+    }
     
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     public String generateJwtToken(String username, String role) {
@@ -36,30 +86,24 @@ public class JwtUtils {
     }
     
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return verify(token).getSubject();
     }
     
     public String getRoleFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role", String.class);
+        return verify(token).get("role", String.class);
     }
     
     public boolean validateJwtToken(String authToken) {
+        return parseVerifiedClaims(authToken) != null;
+    }
+
+    /**
+     * 서명을 한 번만 검증하고 Claims 를 반환 (유효하지 않으면 null)
+     * validate + getUsername + getRole 처럼 같은 토큰을 여러 번 파싱하지 않도록 이 메서드를 사용한다.
+     */
+    public Claims parseVerifiedClaims(String authToken) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            return verify(authToken);
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -69,6 +113,64 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * 캐시에 있으면 그대로, 없으면 서명을 검증한 뒤 캐시에 담는다 (유효하지 않으면 JwtException)
+     */
+    private Claims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        String key = hash(token);
+        Claims claims = verifiedClaims.getIfPresent(key);
+        if (claims != null) {
+            return claims;
+        }
+        claims = parser.parseSignedClaims(token).getPayload();
+        verifiedClaims.put(key, claims);
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 캐시 TTL 과 토큰 만료 시각 중 이른 쪽에 항목을 제거
+     */
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+        private final long ttlNanos;
+
+        ClaimsExpiry(long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,76 +1,113 @@
 package com.hoooon22.devzip.Service;
 
 import com.hoooon22.devzip.Model.musicbox.MusicGridCell;
+import com.hoooon22.devzip.Model.musicbox.MusicRoom;
 import com.hoooon22.devzip.Repository.MusicGridCellRepository;
+import com.hoooon22.devzip.Repository.MusicRoomRepository;
+import com.hoooon22.devzip.Service.musicbox.MusicBoxBroadcaster;
+import com.hoooon22.devzip.Service.musicbox.MusicGrid;
 import com.hoooon22.devzip.dto.musicbox.GridCellMessage;
+import com.hoooon22.devzip.dto.musicbox.GridDiffMessage;
 import com.hoooon22.devzip.dto.musicbox.GridStateResponse;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * 뮤직박스 비즈니스 로직 서비스
+ *
+ * 방(room)마다 독립된 메모리 그리드(MusicGrid)와 토픽을 가진다.
+ * - 그리드 상태의 원본은 메모리이며, 토글과 조회는 DB 를 거치지 않는다.
+ * - 방은 POST /rooms/{roomId} 로만 만들어진다. 조회·토글은 music_rooms 에 있는 방만 메모리에 올리며,
+ *   없는 방이면 NoSuchElementException 을 던진다 (기본 방은 항상 있는 것으로 본다).
+ * - 메모리에 동시에 올릴 수 있는 방은 max-live-rooms 개, 저장된 방은 max-rooms 개까지이며, 넘으면 IllegalStateException 을 던진다.
+ * - 기본 방은 프론트엔드가 16x8 로 고정되어 있어 크기를 바꿀 수 없다.
+ * - idle-minutes 동안 접근이 없는 방은 저장 후 메모리에서 내린다. 저장에 실패하면 내리지 않고 다음 주기에 다시 시도한다.
+ *   토글·클리어는 방의 읽기 잠금 안에서, 정리는 쓰기 잠금 안에서 하므로 마지막 저장 이후 내려간 그리드에 쓰이는 변경은 없다.
+ *   이미 내려간 방에 도착한 토글은 DB 에서 다시 올린 방에 적용된다.
+ * - 방 적재/정리/크기 변경은 방 ID 로 고른 락 스트라이프에서만 직렬화되므로 서로 다른 방은 경합하지 않는다.
+ * - DB 는 write-behind 플러시가 주기적으로(app.musicbox.flush-interval-ms) 바뀐 방의 최종 상태만 한 행씩 반영한다.
+ * - 변경 사항은 MusicBoxBroadcaster 가 짧은 주기로 묶어 diff 프레임으로 방 토픽에 보낸다.
+ *   기본 방(default)은 기존 클라이언트와의 호환을 위해 /topic/musicbox/updates 를 쓴다.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MusicBoxService {
 
-    private final MusicGridCellRepository repository;
+    public static final String DEFAULT_ROOM = "default";
 
-    // 그리드 크기 상수
+    // 그리드 크기 상수 (방을 만들 때 크기를 지정하지 않으면 사용)
     private static final int GRID_WIDTH = 16;
     private static final int GRID_HEIGHT = 8;
+    private static final int MAX_GRID_SIZE = 64;
+
+    private static final Pattern ROOM_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final int LOCK_STRIPES = 64;
+
+    private final MusicRoomRepository roomRepository;
+    private final MusicGridCellRepository legacyCellRepository;
+    private final MusicBoxBroadcaster broadcaster;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long idleNanos;
+    private final int maxLiveRooms;
+    private final int maxRooms;
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+
+    public MusicBoxService(MusicRoomRepository roomRepository,
+                           MusicGridCellRepository legacyCellRepository,
+                           MusicBoxBroadcaster broadcaster,
+                           SimpMessagingTemplate messagingTemplate,
+                           @Value("${app.musicbox.room-idle-minutes:10}") long idleMinutes,
+                           @Value("${app.musicbox.max-live-rooms:100}") int maxLiveRooms,
+                           @Value("${app.musicbox.max-rooms:1000}") int maxRooms) {
+        this.roomRepository = roomRepository;
+        this.legacyCellRepository = legacyCellRepository;
+        this.broadcaster = broadcaster;
+        this.messagingTemplate = messagingTemplate;
+        this.idleNanos = TimeUnit.MINUTES.toNanos(Math.max(1, idleMinutes));
+        this.maxLiveRooms = Math.max(1, maxLiveRooms);
+        this.maxRooms = Math.max(1, maxRooms);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * 방의 브로드캐스트 토픽
+     */
+    public static String updatesDestination(String roomId) {
+        return DEFAULT_ROOM.equals(roomId) ? "/topic/musicbox/updates" : "/topic/musicbox/" + roomId + "/updates";
+    }
 
     /**
      * 셀 상태 토글 (활성화/비활성화)
      */
-    @Transactional
-    public GridCellMessage toggleCell(GridCellMessage message) {
-        log.info("Toggling cell at ({}, {}) by user: {}",
-                 message.getX(), message.getY(), message.getUsername());
-
-        // 좌표 유효성 검증
-        validateCoordinates(message.getX(), message.getY());
-
-        // 기존 셀 찾기
-        Optional<MusicGridCell> existingCell = repository.findByXAndY(message.getX(), message.getY());
-
-        boolean newActiveState;
-
-        if (existingCell.isPresent()) {
-            // 기존 셀이 있으면 토글
-            MusicGridCell cell = existingCell.get();
-            newActiveState = !cell.getActive();
-
-            if (newActiveState) {
-                // 활성화: DB에 저장
-                cell.setActive(true);
-                cell.setModifiedBy(message.getUsername());
-                repository.save(cell);
-                log.info("Cell activated and saved: ({}, {})", message.getX(), message.getY());
-            } else {
-                // 비활성화: DB에서 삭제 (불필요한 데이터 방지)
-                repository.delete(cell);
-                log.info("Cell deactivated and deleted: ({}, {})", message.getX(), message.getY());
-            }
-        } else {
-            // 새 셀: 활성화 상태로 저장
-            MusicGridCell newCell = MusicGridCell.builder()
-                    .x(message.getX())
-                    .y(message.getY())
-                    .active(true)
-                    .modifiedBy(message.getUsername())
-                    .build();
-            repository.save(newCell);
-            newActiveState = true;
-            log.info("New cell created and saved: ({}, {})", message.getX(), message.getY());
-        }
+    public GridCellMessage toggleCell(String roomId, GridCellMessage message) {
+        log.debug("Toggling cell at ({}, {}) in room {} by user: {}",
+                 message.getX(), message.getY(), roomId, message.getUsername());
+
+        boolean newActiveState = modify(roomId, grid -> {
+            // 좌표 유효성 검증
+            validateCoordinates(grid, message.getX(), message.getY());
+            return grid.toggle(message.getX(), message.getY(), message.getUsername());
+        });
+        broadcaster.recordToggle();
 
         // 응답 메시지 구성
         return GridCellMessage.builder()
@@ -83,63 +120,353 @@ public class MusicBoxService {
     }
 
     /**
-     * 전체 그리드 상태 조회
+     * 전체 그리드 상태 조회 (메모리 스냅샷, 방이 이미 올라와 있으면 DB 조회 없음)
      */
-    @Transactional(readOnly = true)
-    public GridStateResponse getGridState() {
-        log.info("Fetching current grid state");
+    public GridStateResponse getGridState(String roomId) {
+        MusicGrid grid = room(roomId).grid;
 
-        List<MusicGridCell> activeCells = repository.findByActiveTrue();
+        // 순번을 먼저 읽어야 스냅샷 이후의 변경이 다음 프레임에 반드시 포함된다
+        long seq = broadcaster.currentSeq(updatesDestination(roomId));
+        long[] snapshot = grid.snapshot();
 
-        List<GridStateResponse.CellInfo> cellInfos = activeCells.stream()
-                .map(cell -> GridStateResponse.CellInfo.builder()
-                        .x(cell.getX())
-                        .y(cell.getY())
-                        .active(cell.getActive())
-                        .build())
-                .collect(Collectors.toList());
+        List<GridStateResponse.CellInfo> cellInfos = new ArrayList<>();
+        for (int index = 0; index < grid.cellCount(); index++) {
+            if (MusicGrid.isSet(snapshot, index)) {
+                cellInfos.add(GridStateResponse.CellInfo.builder()
+                        .x(index % grid.getWidth())
+                        .y(index / grid.getWidth())
+                        .active(true)
+                        .build());
+            }
+        }
 
         return GridStateResponse.builder()
                 .activeCells(cellInfos)
-                .gridWidth(GRID_WIDTH)
-                .gridHeight(GRID_HEIGHT)
+                .gridWidth(grid.getWidth())
+                .gridHeight(grid.getHeight())
+                .seq(seq)
                 .build();
     }
 
+    /**
+     * since 이후의 diff 프레임 (보관 범위를 벗어났으면 null)
+     */
+    public List<GridDiffMessage> getFramesSince(String roomId, long since) {
+        room(roomId);
+        return broadcaster.framesSince(updatesDestination(roomId), since);
+    }
+
     /**
      * 전체 그리드 클리어
      */
-    @Transactional
-    public void clearGrid() {
-        log.info("Clearing all grid cells");
-        repository.deleteAll();
+    public void clearGrid(String roomId) {
+        log.info("Clearing all grid cells in room {}", roomId);
+        modify(roomId, grid -> {
+            grid.clear();
+            return null;
+        });
+    }
+
+    /**
+     * 지정한 크기로 방 생성 (이미 있으면 기존 방을 그대로 반환)
+     */
+    public GridStateResponse createRoom(String roomId, Integer width, Integer height) {
+        int w = width != null ? width : GRID_WIDTH;
+        int h = height != null ? height : GRID_HEIGHT;
+        validateSize(w, h);
+        validateRoomId(roomId);
+
+        synchronized (stripe(roomId)) {
+            if (!rooms.containsKey(roomId) && !roomRepository.existsById(roomId)) {
+                // 스트라이프가 다른 방끼리 동시에 만들면 상한을 조금 넘을 수 있다
+                if (roomRepository.count() >= maxRooms) {
+                    throw new IllegalStateException(
+                            String.format("Too many music rooms (max %d)", maxRooms));
+                }
+                checkCapacity(roomId);
+                MusicGrid grid = new MusicGrid(w, h);
+                roomRepository.save(toEntity(roomId, grid, grid.snapshot()));
+                activate(roomId, grid);
+                log.info("Created music room {} ({}x{})", roomId, w, h);
+            }
+        }
+        return getGridState(roomId);
+    }
+
+    /**
+     * 방 그리드 크기 변경 (겹치는 영역의 셀은 유지)
+     *
+     * 새 그리드로 교체한 뒤 SYNC 메시지를 보내 클라이언트가 스냅샷을 다시 받게 한다.
+     * 교체 직전에 이전 그리드에 들어온 토글은 반영되지 않을 수 있다.
+     */
+    public GridStateResponse resizeRoom(String roomId, int width, int height) {
+        if (DEFAULT_ROOM.equals(roomId)) {
+            throw new IllegalArgumentException("The default room cannot be resized");
+        }
+        validateSize(width, height);
+        synchronized (stripe(roomId)) {
+            Room room = room(roomId);
+            room.lock.writeLock().lock();
+            try {
+                MusicGrid previous = room.grid;
+                MusicGrid resized = new MusicGrid(width, height);
+                resized.copyFrom(previous);
+
+                synchronized (room) {
+                    room.grid = resized;
+                    persist(roomId, resized);
+                }
+                // 순번은 이어지고 보관 프레임만 비워진다 (클라이언트는 SYNC 를 받고 스냅샷을 다시 받는다)
+                broadcaster.register(updatesDestination(roomId), resized);
+                log.info("Resized music room {} to {}x{}", roomId, width, height);
+            } finally {
+                room.lock.writeLock().unlock();
+            }
+        }
+        messagingTemplate.convertAndSend(updatesDestination(roomId), GridCellMessage.builder()
+                .type(GridCellMessage.MessageType.SYNC)
+                .username("SYSTEM")
+                .build());
+        return getGridState(roomId);
+    }
+
+    /**
+     * 특정 X 좌표의 활성화된 셀들 조회 (재생 로직용)
+     */
+    public List<Integer> getActiveNotesAtPosition(String roomId, Integer x) {
+        MusicGrid grid = room(roomId).grid;
+        List<Integer> notes = new ArrayList<>();
+        if (x == null || x < 0 || x >= grid.getWidth()) {
+            return notes;
+        }
+        for (int y = 0; y < grid.getHeight(); y++) {
+            if (grid.isActive(x, y)) {
+                notes.add(y);
+            }
+        }
+        return notes;
+    }
+
+    /**
+     * 바뀐 방의 최종 상태를 DB 에 반영 (방마다 한 행, 여러 번 토글돼도 한 번만 기록)
+     */
+    @Scheduled(fixedDelayString = "${app.musicbox.flush-interval-ms:1000}")
+    public void flushDirtyRooms() {
+        rooms.forEach(this::flush);
+    }
+
+    /**
+     * 유휴 방 정리: 저장에 성공한 방만 메모리와 브로드캐스트 대상에서 내린다
+     */
+    @Scheduled(fixedDelayString = "${app.musicbox.eviction-interval-ms:60000}")
+    public void evictIdleRooms() {
+        long now = System.nanoTime();
+        rooms.forEach((roomId, room) -> {
+            if (now - room.lastAccessNanos < idleNanos) {
+                return;
+            }
+            synchronized (stripe(roomId)) {
+                if (rooms.get(roomId) != room) {
+                    return;
+                }
+                room.lock.writeLock().lock();
+                try {
+                    // 잠금을 기다리는 사이 접근이 있었으면 남긴다
+                    if (System.nanoTime() - room.lastAccessNanos < idleNanos) {
+                        return;
+                    }
+                    // 쓰기 잠금 안이므로 이 저장 이후 그리드에 들어오는 변경은 없다
+                    if (!flush(roomId, room)) {
+                        return;
+                    }
+                    room.evicted = true;
+                    rooms.remove(roomId, room);
+                    broadcaster.unregister(updatesDestination(roomId), room.grid);
+                    log.info("Evicted idle music room {}", roomId);
+                } finally {
+                    room.lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirtyRooms();
+    }
+
+    /**
+     * 방 조회 (메모리에 없으면 DB 에서 적재, 저장된 적 없는 방이면 NoSuchElementException)
+     */
+    private Room room(String roomId) {
+        Room room = rooms.get(roomId);
+        if (room == null) {
+            validateRoomId(roomId);
+            synchronized (stripe(roomId)) {
+                room = rooms.get(roomId);
+                if (room == null) {
+                    MusicGrid grid = load(roomId);
+                    checkCapacity(roomId);
+                    room = activate(roomId, grid);
+                }
+            }
+        }
+        room.lastAccessNanos = System.nanoTime();
+        return room;
+    }
+
+    /**
+     * 방 그리드 변경 (읽기 잠금 안에서 실행, 이미 내려간 방이면 DB 에서 다시 올린 방으로 재시도)
+     */
+    private <T> T modify(String roomId, Function<MusicGrid, T> action) {
+        while (true) {
+            Room room = room(roomId);
+            room.lock.readLock().lock();
+            try {
+                if (!room.evicted) {
+                    return action.apply(room.grid);
+                }
+            } finally {
+                room.lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 새로 올릴 방이 live 방 상한을 넘지 않는지 확인 (기본 방은 제외)
+     * 호출자가 방의 락 스트라이프를 잡은 상태에서 호출하며, 스트라이프가 다른 방끼리는 상한을 잠깐 넘을 수 있다.
+     */
+    private void checkCapacity(String roomId) {
+        if (!DEFAULT_ROOM.equals(roomId) && rooms.size() >= maxLiveRooms) {
+            throw new IllegalStateException(
+                    String.format("Too many active music rooms (max %d)", maxLiveRooms));
+        }
+    }
+
+    private Room activate(String roomId, MusicGrid grid) {
+        Room room = new Room(grid);
+        broadcaster.register(updatesDestination(roomId), grid);
+        rooms.put(roomId, room);
+        return room;
+    }
+
+    private MusicGrid load(String roomId) {
+        MusicRoom stored = roomRepository.findById(roomId).orElse(null);
+        if (stored != null) {
+            MusicGrid grid = new MusicGrid(stored.getWidth(), stored.getHeight());
+            grid.loadBytes(stored.getCells());
+            return grid;
+        }
+
+        if (!DEFAULT_ROOM.equals(roomId)) {
+            throw new NoSuchElementException("Music room not found: " + roomId);
+        }
+
+        // 기본 방: 방 단위 저장 이전의 셀 단위 테이블(music_grid_cells)에서 한 번 옮겨 온다
+        MusicGrid grid = new MusicGrid(GRID_WIDTH, GRID_HEIGHT);
+        int migrated = 0;
+        for (MusicGridCell cell : legacyCellRepository.findByActiveTrue()) {
+            if (grid.isValid(cell.getX(), cell.getY())) {
+                grid.load(cell.getX(), cell.getY());
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            roomRepository.save(toEntity(roomId, grid, grid.snapshot()));
+            log.info("Migrated {} legacy music grid cells into room {}", migrated, roomId);
+        }
+        return grid;
+    }
+
+    /**
+     * 바뀐 셀이 있으면 저장 (실패하면 dirty 비트를 되돌리고 false)
+     * 주기 플러시·유휴 정리·크기 변경이 같은 방을 동시에 저장하지 않도록 방 단위로 직렬화한다.
+     */
+    private boolean flush(String roomId, Room room) {
+        synchronized (room) {
+            if (room.evicted) {
+                return true;
+            }
+            MusicGrid grid = room.grid;
+            long[] dirty = grid.drainDirty();
+            boolean any = false;
+            for (long word : dirty) {
+                any |= word != 0;
+            }
+            if (!any) {
+                return true;
+            }
+            try {
+                persist(roomId, grid);
+                return true;
+            } catch (Exception e) {
+                grid.restoreDirty(dirty);
+                log.error("Failed to flush music room {}, will retry", roomId, e);
+                return false;
+            }
+        }
+    }
+
+    private void persist(String roomId, MusicGrid grid) {
+        roomRepository.save(toEntity(roomId, grid, grid.snapshot()));
+    }
+
+    private MusicRoom toEntity(String roomId, MusicGrid grid, long[] snapshot) {
+        return MusicRoom.builder()
+                .roomId(roomId)
+                .width(grid.getWidth())
+                .height(grid.getHeight())
+                .cells(MusicGrid.toBytes(snapshot))
+                .modifiedBy(grid.getLastModifiedBy())
+                .build();
+    }
+
+    private Object stripe(String roomId) {
+        return stripes[(roomId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    private void validateRoomId(String roomId) {
+        if (roomId == null || !ROOM_ID_PATTERN.matcher(roomId).matches()) {
+            throw new IllegalArgumentException("Room id must match " + ROOM_ID_PATTERN.pattern());
+        }
+    }
+
+    private void validateSize(int width, int height) {
+        if (width < 1 || width > MAX_GRID_SIZE || height < 1 || height > MAX_GRID_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Grid size must be between 1x1 and %dx%d", MAX_GRID_SIZE, MAX_GRID_SIZE));
+        }
     }
 
     /**
      * 좌표 유효성 검증
      */
-    private void validateCoordinates(Integer x, Integer y) {
+    private void validateCoordinates(MusicGrid grid, Integer x, Integer y) {
         if (x == null || y == null) {
             throw new IllegalArgumentException("Coordinates cannot be null");
         }
-        if (x < 0 || x >= GRID_WIDTH) {
+        if (x < 0 || x >= grid.getWidth()) {
             throw new IllegalArgumentException(
-                    String.format("X coordinate must be between 0 and %d", GRID_WIDTH - 1));
+                    String.format("X coordinate must be between 0 and %d", grid.getWidth() - 1));
         }
-        if (y < 0 || y >= GRID_HEIGHT) {
+        if (y < 0 || y >= grid.getHeight()) {
             throw new IllegalArgumentException(
-                    String.format("Y coordinate must be between 0 and %d", GRID_HEIGHT - 1));
+                    String.format("Y coordinate must be between 0 and %d", grid.getHeight() - 1));
         }
     }
 
     /**
-     * 특정 X 좌표의 활성화된 셀들 조회 (재생 로직용)
+     * 메모리에 올라와 있는 방
      */
-    @Transactional(readOnly = true)
-    public List<Integer> getActiveNotesAtPosition(Integer x) {
-        return repository.findByX(x).stream()
-                .filter(MusicGridCell::getActive)
-                .map(MusicGridCell::getY)
-                .collect(Collectors.toList());
+    private static final class Room {
+        // 토글·클리어(읽기)와 크기 변경·유휴 정리(쓰기) 사이의 순서
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile MusicGrid grid;
+        private volatile long lastAccessNanos = System.nanoTime();
+        private volatile boolean evicted;
+
+        Room(MusicGrid grid) {
+            this.grid = grid;
+        }
     }
 }
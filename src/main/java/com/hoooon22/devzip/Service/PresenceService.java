@@ -1,10 +1,17 @@
 package com.hoooon22.devzip.Service;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -12,9 +19,15 @@ import lombok.RequiredArgsConstructor;
 /**
  * 실시간 접속자(presence) 집계 서비스.
  * 클라이언트가 주기적으로 보내는 하트비트를 인메모리에 보관하고,
- * TTL이 지난 항목을 걷어낸 스냅샷(전체 인원 + 페이지별 인원)을 돌려줍니다.
- * 스냅샷 구성이 바뀌면 /topic/presence 구독자 전원에게 즉시 푸시합니다.
+ * 스냅샷(전체 인원 + 페이지별 인원)을 돌려줍니다.
  * 서버 재시작 시 사라져도 무방한 휘발성 데이터라 별도 저장소를 두지 않습니다.
+ *
+ * 하트비트 한 번의 비용은 접속자 수와 무관한 O(1)입니다.
+ * - 페이지별 인원은 LongAdder 카운터를 이동 시에만 증감합니다.
+ * - 만료는 마지막 하트비트 시각을 BUCKET_MS 단위 버킷으로 묶어 두고,
+ *   주기 작업이 TTL이 지난 버킷만 꺼내 처리하므로 O(만료 건수)입니다.
+ * - /topic/presence 방송과 스냅샷 재구성은 하트비트마다가 아니라
+ *   주기 작업(기본 1초)에서 바뀐 경우에만 한 번 합니다.
  */
 @Service
 @RequiredArgsConstructor
@@ -22,33 +35,141 @@ public class PresenceService {
 
     // 하트비트 주기(30초) 2회 유실까지는 접속 중으로 간주
     private static final long TTL_MS = 75_000L;
+    // 만료 버킷 폭 — 만료는 최대 이만큼 늦어질 수 있다
+    private static final long BUCKET_MS = 5_000L;
     // 비인증 공개 엔드포인트이므로 인메모리 맵 크기에 보호 상한을 둔다
     private static final int MAX_CLIENTS = 10_000;
 
     private final SimpMessagingTemplate messagingTemplate;
-    private final ConcurrentHashMap<String, Beat> beats = new ConcurrentHashMap<>();
-    private volatile Snapshot lastBroadcast;
+    private final ConcurrentHashMap<String, Client> clients = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> pageCounts = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<String>> expiryBuckets = new ConcurrentSkipListMap<>();
+    // 카운터 증감(공유)과 0이 된 페이지 카운터 정리(배타)가 겹치지 않게 한다
+    private final ReadWriteLock pageCountLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private volatile Snapshot lastBroadcast = new Snapshot(0, Map.of());
 
+    /**
+     * 하트비트 기록. 반환값은 직전 방송 시점의 스냅샷이며, 이번 하트비트는 다음 방송에 반영됩니다.
+     */
     public Snapshot heartbeat(String clientId, String page) {
         long now = System.currentTimeMillis();
-        beats.entrySet().removeIf(e -> now - e.getValue().lastSeen() > TTL_MS);
-        if (beats.size() < MAX_CLIENTS || beats.containsKey(clientId)) {
-            beats.put(clientId, new Beat(page, now));
+        long bucket = now / BUCKET_MS;
+        while (true) {
+            Client client = clients.get(clientId);
+            if (client == null) {
+                if (clients.size() >= MAX_CLIENTS) {
+                    return lastBroadcast;
+                }
+                Client created = new Client();
+                client = clients.putIfAbsent(clientId, created);
+                if (client == null) {
+                    client = created;
+                }
+            }
+            synchronized (client) {
+                if (client.removed) {
+                    // 만료 처리와 엇갈린 경우 새 항목으로 다시 등록
+                    continue;
+                }
+                if (!page.equals(client.page)) {
+                    movePage(client.page, page);
+                    client.page = page;
+                    changed.set(true);
+                }
+                if (client.bucket != bucket) {
+                    if (client.bucket >= 0) {
+                        Set<String> previous = expiryBuckets.get(client.bucket);
+                        if (previous != null) {
+                            previous.remove(clientId);
+                        }
+                    }
+                    expiryBuckets.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(clientId);
+                    client.bucket = bucket;
+                }
+            }
+            return lastBroadcast;
         }
-        Map<String, Long> pages = new TreeMap<>();
-        for (Beat beat : beats.values()) {
-            pages.merge(beat.page(), 1L, Long::sum);
+    }
+
+    /**
+     * 만료 처리 후 스냅샷이 바뀌었으면 /topic/presence 로 방송
+     */
+    @Scheduled(fixedRateString = "${app.presence.broadcast-interval-ms:1000}")
+    public void expireAndBroadcast() {
+        expire(System.currentTimeMillis());
+        if (!changed.getAndSet(false)) {
+            return;
         }
-        Snapshot snapshot = new Snapshot(beats.size(), pages);
-        // 인원·페이지 구성이 바뀐 경우에만 방송 — 변화 없는 하트비트는 조용히 지나간다.
+        Snapshot snapshot = snapshot();
+        // 인원·페이지 구성이 바뀐 경우에만 방송 — 변화 없는 주기는 조용히 지나간다.
         if (!snapshot.equals(lastBroadcast)) {
             lastBroadcast = snapshot;
             messagingTemplate.convertAndSend("/topic/presence", snapshot);
         }
-        return snapshot;
     }
 
-    private record Beat(String page, long lastSeen) {}
+    /**
+     * 마지막 하트비트가 모두 TTL을 넘긴 버킷만 꺼내 정리한다.
+     */
+    private void expire(long now) {
+        long lastExpiredBucket = (now - TTL_MS) / BUCKET_MS - 1;
+        Map.Entry<Long, Set<String>> entry;
+        while ((entry = expiryBuckets.firstEntry()) != null && entry.getKey() <= lastExpiredBucket) {
+            expiryBuckets.remove(entry.getKey());
+            for (String clientId : entry.getValue()) {
+                Client client = clients.get(clientId);
+                if (client == null) {
+                    continue;
+                }
+                synchronized (client) {
+                    // 그 사이 하트비트가 와서 다른 버킷으로 옮겨 간 항목은 건너뛴다
+                    if (client.removed || client.bucket != entry.getKey()) {
+                        continue;
+                    }
+                    client.removed = true;
+                    clients.remove(clientId, client);
+                    movePage(client.page, null);
+                    changed.set(true);
+                }
+            }
+        }
+    }
+
+    private Snapshot snapshot() {
+        Map<String, Long> pages = new TreeMap<>();
+        pageCountLock.writeLock().lock();
+        try {
+            pageCounts.entrySet().removeIf(e -> e.getValue().sum() <= 0);
+            pageCounts.forEach((page, count) -> pages.put(page, count.sum()));
+        } finally {
+            pageCountLock.writeLock().unlock();
+        }
+        return new Snapshot(clients.size(), pages);
+    }
+
+    private void movePage(String from, String to) {
+        pageCountLock.readLock().lock();
+        try {
+            if (from != null) {
+                pageCounts.get(from).decrement();
+            }
+            if (to != null) {
+                pageCounts.computeIfAbsent(to, p -> new LongAdder()).increment();
+            }
+        } finally {
+            pageCountLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 접속 중인 클라이언트 (필드는 인스턴스 락 아래에서만 변경)
+     */
+    private static final class Client {
+        private String page;
+        private long bucket = -1;
+        private boolean removed;
+    }
 
     public record Snapshot(int total, Map<String, Long> pages) {}
 }
@@ -0,0 +1,104 @@
+package com.hoooon22.devzip.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 채팅방별 최근 메시지 링 (ID 오름차순, 방마다 최대 capacity 건)
+ *
+ * 방 입장 시 최근 메시지 조회를 DB 없이 처리하기 위한 캐시다.
+ * - 새 메시지는 append() 로 들어오며, 처음 본 방이면 불완전한 링으로 만든다.
+ * - 불완전한 링은 다음 조회 때 DB 의 최근 capacity 건과 합쳐 완전한 링이 된다.
+ *   (write-behind 로 아직 DB 에 없는 메시지도 링에는 남아 있으므로 합쳐야 빠짐이 없다)
+ * - 같은 ID 는 한 번만 들어가므로 저장 직후 append 와 DB 조회가 겹쳐도 중복되지 않는다.
+ * - 링을 가진 방 수는 maxRooms 로 제한한다 (오래 조회되지 않은 방부터 제거).
+ */
+public class RecentMessageCache<T> {
+
+    private final int capacity;
+    private final Function<T, Long> idOf;
+    private final Cache<Long, Ring<T>> rings;
+
+    public RecentMessageCache(int capacity, long maxRooms, Function<T, Long> idOf) {
+        this.capacity = Math.max(1, capacity);
+        this.idOf = idOf;
+        this.rings = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .build();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 새 메시지 추가
+     */
+    public void append(Long roomId, T message) {
+        Ring<T> ring = rings.get(roomId, id -> new Ring<>());
+        synchronized (ring) {
+            ring.put(idOf.apply(message), message, capacity);
+        }
+    }
+
+    /**
+     * beforeId 보다 오래된 메시지 중 최근 limit 건 (ID 오름차순)
+     *
+     * 링만으로 답할 수 없으면 loadRecent(최근 capacity 건, 순서 무관)로 링을 채우거나
+     * null 을 반환해 호출자가 DB 에서 직접 읽게 한다.
+     */
+    public List<T> recent(Long roomId, Long beforeId, int limit, Supplier<Collection<T>> loadRecent) {
+        Ring<T> ring = rings.get(roomId, id -> new Ring<>());
+        synchronized (ring) {
+            if (!ring.complete) {
+                for (T message : loadRecent.get()) {
+                    ring.put(idOf.apply(message), message, capacity);
+                }
+                ring.complete = true;
+            }
+            NavigableMap<Long, T> candidates = beforeId != null ? ring.messages.headMap(beforeId, false) : ring.messages;
+            // 링이 방 전체 메시지를 담지 못할 만큼 차 있으면, 링 범위를 넘어가는 요청은 DB 에서 읽어야 한다
+            boolean ringHoldsAll = ring.messages.size() < capacity;
+            if (candidates.size() < limit && !ringHoldsAll) {
+                return null;
+            }
+            List<T> result = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (T message : candidates.descendingMap().values()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(message);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+
+    /**
+     * 방 삭제 시 링 제거
+     */
+    public void evict(Long roomId) {
+        rings.invalidate(roomId);
+    }
+
+    private static final class Ring<T> {
+        private final TreeMap<Long, T> messages = new TreeMap<>();
+        private boolean complete;
+
+        void put(Long id, T message, int capacity) {
+            messages.put(id, message);
+            while (messages.size() > capacity) {
+                messages.pollFirstEntry();
+            }
+        }
+    }
+}
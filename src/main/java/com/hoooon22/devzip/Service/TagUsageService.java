@@ -0,0 +1,152 @@
+package com.hoooon22.devzip.Service;
+
+import com.hoooon22.devzip.Model.TagUsage;
+import com.hoooon22.devzip.Model.Thought;
+import com.hoooon22.devzip.Repository.TagUsageRepository;
+import com.hoooon22.devzip.Repository.ThoughtRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 사용자·주제별 태그 사용 색인 관리
+ *
+ * 태그 추출 프롬프트에 넣을 기존 태그를 구하려고 사용자의 모든 생각(EAGER tags)을 읽던 방식을 대체한다.
+ * - 생각의 태그가 확정되거나(AI 추출·폴백) 확정 태그가 바뀌거나 지워질 때 tag_usage 의 횟수를 증감한다.
+ *   임시 태그(tagsPending)는 세지 않는다.
+ * - 새 (사용자, 주제, 태그) 행은 별도 트랜잭션에서 0 으로 만든 뒤 호출자 트랜잭션에서 원자적으로 증감한다.
+ *   동시에 만들어 중복 키가 나도 태그 적용 트랜잭션은 롤백되지 않는다.
+ * - 조회는 집계 쿼리 한 번으로 사용 횟수 상위 top-k 개만 가져와 프롬프트 크기를 제한한다.
+ * - 테이블이 비어 있으면 시작 시 기존 생각에서 한 번 구축한다.
+ */
+@Slf4j
+@Service
+public class TagUsageService {
+
+    private final TagUsageRepository tagUsageRepository;
+    private final ThoughtRepository thoughtRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final int topK;
+
+    public TagUsageService(
+            TagUsageRepository tagUsageRepository,
+            ThoughtRepository thoughtRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.thought.tags.top-k:50}") int topK) {
+        this.tagUsageRepository = tagUsageRepository;
+        this.thoughtRepository = thoughtRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.topK = Math.max(1, topK);
+    }
+
+    /**
+     * 많이 쓰인 기존 태그 상위 top-k 개
+     * @param topicId 주제 ID (null 이면 사용자의 모든 생각 기준)
+     */
+    @Transactional(readOnly = true)
+    public List<String> getTopTags(Long userId, Long topicId) {
+        PageRequest page = PageRequest.of(0, topK);
+        return topicId != null
+            ? tagUsageRepository.findTopTagsByTopic(userId, topicId, page)
+            : tagUsageRepository.findTopTagsByUser(userId, page);
+    }
+
+    /**
+     * 생각의 확정 태그를 색인에 더함 (임시 태그면 무시)
+     */
+    @Transactional
+    public void add(Thought thought) {
+        record(thought, 1);
+    }
+
+    /**
+     * 생각의 확정 태그를 색인에서 뺌 (태그 교체·삭제 전, 임시 태그면 무시)
+     */
+    @Transactional
+    public void remove(Thought thought) {
+        record(thought, -1);
+    }
+
+    /**
+     * 주제 삭제 시 색인 제거
+     */
+    @Transactional
+    public void removeTopic(Long topicId) {
+        tagUsageRepository.deleteByTopicId(topicId);
+    }
+
+    private void record(Thought thought, long delta) {
+        if (thought.isTagsPending() || thought.getUser() == null) {
+            return;
+        }
+        Long userId = thought.getUser().getId();
+        Long topicId = thought.getTopic() != null ? thought.getTopic().getId() : TagUsage.NO_TOPIC;
+        for (String tag : new LinkedHashSet<>(thought.getTags())) {
+            if (tag == null || tag.isBlank()) {
+                continue;
+            }
+            if (delta > 0) {
+                ensureRow(userId, topicId, tag);
+            }
+            tagUsageRepository.addUsage(userId, topicId, tag, delta);
+        }
+    }
+
+    /**
+     * 색인 행이 없으면 별도 트랜잭션에서 횟수 0 으로 만든다 (동시에 만들면 한쪽은 중복 키로 실패하고 이미 있는 행을 쓴다)
+     * 호출자 트랜잭션에서 없는 행을 UPDATE 하면 MySQL 이 갭 락을 잡아 새 트랜잭션의 INSERT 가 막히므로,
+     * 잠그지 않는 존재 확인을 먼저 한다.
+     */
+    private void ensureRow(Long userId, Long topicId, String tag) {
+        if (tagUsageRepository.existsByUserIdAndTopicIdAndTag(userId, topicId, tag)) {
+            return;
+        }
+        try {
+            newTransactionTemplate.executeWithoutResult(status ->
+                tagUsageRepository.saveAndFlush(new TagUsage(userId, topicId, tag, 0)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("태그 사용 색인 동시 생성 충돌, 기존 행 사용: user={}, topic={}, tag={}", userId, topicId, tag);
+        }
+    }
+
+    /**
+     * 색인이 비어 있으면 기존 생각의 확정 태그로 구축 (이 기능 이전 데이터)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (tagUsageRepository.count() > 0) {
+                    return;
+                }
+                List<TagUsage> rows = thoughtRepository.countConfirmedTagUsage().stream()
+                    .map(row -> new TagUsage(
+                        (Long) row[0],
+                        row[1] != null ? (Long) row[1] : TagUsage.NO_TOPIC,
+                        (String) row[2],
+                        ((Number) row[3]).longValue()))
+                    .toList();
+                tagUsageRepository.saveAll(rows);
+                if (!rows.isEmpty()) {
+                    log.info("태그 사용 색인 구축: {} 행", rows.size());
+                }
+            });
+        } catch (Exception e) {
+            log.error("태그 사용 색인 구축 실패", e);
+        }
+    }
+}
@@ -1,14 +1,12 @@
 package com.hoooon22.devzip.Service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hoooon22.devzip.Model.Thought;
 import com.hoooon22.devzip.dto.TopicMapResponse;
+import com.hoooon22.devzip.Service.embedding.ThoughtEmbeddingService;
+import com.hoooon22.devzip.Service.llm.GeminiClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,15 +15,18 @@ import java.util.stream.Collectors;
 @Service
 public class ThoughtClusteringService {
 
-    @Value("${google.api.key:}")
-    private String googleApiKey;
+    private static final String CALLER = "thought-clustering";
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final GeminiClient geminiClient;
+    private final ThoughtEmbeddingService embeddingService;
+    private final boolean localOnly;
 
-    public ThoughtClusteringService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    public ThoughtClusteringService(GeminiClient geminiClient,
+                                    ThoughtEmbeddingService embeddingService,
+                                    @Value("${app.thought.embedding.local-only:false}") boolean localOnly) {
+        this.geminiClient = geminiClient;
+        this.embeddingService = embeddingService;
+        this.localOnly = localOnly;
     }
 
     /**
@@ -41,17 +42,40 @@ public class ThoughtClusteringService {
             return List.of(createSingleCluster("cluster-0", thoughts));
         }
 
+        // 로컬 전용 모드이거나 API 키가 없으면 로컬 임베딩으로 클러스터링
+        if (localOnly || !geminiClient.isConfigured()) {
+            return clusterLocally(thoughts);
+        }
+
         try {
             // AI에게 클러스터링 요청
             String clusteringResult = requestClustering(thoughts);
+            if (clusteringResult.isBlank()) {
+                return clusterLocally(thoughts);
+            }
 
             // AI 응답을 파싱하여 클러스터 생성
             return parseClusteringResult(clusteringResult, thoughts);
         } catch (Exception e) {
-            log.error("AI 클러스터링 실패, 기본 전략 사용", e);
-            // AI 실패 시 태그 기반 클러스터링으로 폴백
+            log.error("AI 클러스터링 실패, 로컬 임베딩 클러스터링 사용", e);
+            return clusterLocally(thoughts);
+        }
+    }
+
+    /**
+     * 로컬 임베딩 기반 클러스터링 (폴백 전략, 네트워크 없음)
+     */
+    public List<TopicMapResponse.ThoughtCluster> clusterLocally(List<Thought> thoughts) {
+        // 유사도 행렬이 메모리 한도를 넘는 규모면 태그 기반으로 묶는다
+        if (!embeddingService.canProcessLocally(thoughts.size())) {
             return clusterByTags(thoughts);
         }
+        List<List<Thought>> groups = embeddingService.cluster(thoughts);
+        List<TopicMapResponse.ThoughtCluster> clusters = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            clusters.add(createSingleCluster("cluster-local-" + i, groups.get(i)));
+        }
+        return clusters;
     }
 
     /**
@@ -59,14 +83,12 @@ public class ThoughtClusteringService {
      */
     private String requestClustering(List<Thought> thoughts) {
         // API 키가 설정되지 않은 경우 빈 문자열 반환 (폴백 처리는 호출자가 담당)
-        if (googleApiKey == null || googleApiKey.trim().isEmpty()) {
+        if (!geminiClient.isConfigured()) {
             log.warn("Google API key is not configured for clustering.");
             return "";
         }
 
         try {
-            String apiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + googleApiKey;
-
             // 최적화된 프롬프트 작성
             StringBuilder prompt = new StringBuilder();
             prompt.append("생각들을 의미적 연관성으로 그룹화.\n\n");
@@ -93,36 +115,8 @@ public class ThoughtClusteringService {
             prompt.append("---\n");
             prompt.append("\n중요: 관련성 높은 생각들끼리 최대한 통합.");
 
-            // 요청 바디 생성
-            Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                    Map.of(
-                        "parts", List.of(
-                            Map.of("text", prompt.toString())
-                        )
-                    )
-                )
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                request,
-                String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return parseGeminiClusteringResponse(response.getBody());
-            } else {
-                log.error("Failed to call Gemini API for clustering. Status: {}", response.getStatusCode());
-                return "";
-            }
+            // API 호출 (같은 생각 목록이면 캐시된 응답 사용)
+            return geminiClient.generate(CALLER, prompt.toString());
 
         } catch (Exception e) {
             log.error("Error requesting clustering from AI: {}", e.getMessage(), e);
@@ -130,30 +124,6 @@ public class ThoughtClusteringService {
         }
     }
 
-    /**
-     * Gemini API 응답에서 클러스터링 결과 파싱
-     */
-    private String parseGeminiClusteringResponse(String responseBody) {
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode candidates = root.path("candidates");
-
-            if (candidates.isArray() && candidates.size() > 0) {
-                JsonNode firstCandidate = candidates.get(0);
-                JsonNode content = firstCandidate.path("content");
-                JsonNode parts = content.path("parts");
-
-                if (parts.isArray() && parts.size() > 0) {
-                    return parts.get(0).path("text").asText();
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error parsing Gemini clustering response: {}", e.getMessage());
-        }
-
-        return "";
-    }
-
     /**
      * AI 응답 파싱하여 클러스터 생성
      */
@@ -217,7 +187,7 @@ public class ThoughtClusteringService {
     }
 
     /**
-     * 태그 기반 클러스터링 (폴백 전략)
+     * 태그 기반 클러스터링 (로컬 처리 한도를 넘는 규모용)
      */
     private List<TopicMapResponse.ThoughtCluster> clusterByTags(List<Thought> thoughts) {
         Map<String, List<Thought>> tagClusters = new HashMap<>();
@@ -1,14 +1,12 @@
 package com.hoooon22.devzip.Service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hoooon22.devzip.Model.Thought;
 import com.hoooon22.devzip.dto.ThoughtHierarchyResponse;
+import com.hoooon22.devzip.Service.embedding.ThoughtEmbeddingService;
+import com.hoooon22.devzip.Service.llm.GeminiClient;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -17,15 +15,18 @@ import java.util.stream.Collectors;
 @Service
 public class ThoughtHierarchyService {
 
-    @Value("${google.api.key:}")
-    private String googleApiKey;
+    private static final String CALLER = "thought-hierarchy";
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final GeminiClient geminiClient;
+    private final ThoughtEmbeddingService embeddingService;
+    private final boolean localOnly;
 
-    public ThoughtHierarchyService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    public ThoughtHierarchyService(GeminiClient geminiClient,
+                                   ThoughtEmbeddingService embeddingService,
+                                   @Value("${app.thought.embedding.local-only:false}") boolean localOnly) {
+        this.geminiClient = geminiClient;
+        this.embeddingService = embeddingService;
+        this.localOnly = localOnly;
     }
 
     /**
@@ -43,6 +44,11 @@ public class ThoughtHierarchyService {
             );
         }
 
+        // 로컬 전용 모드이거나 API 키가 없으면 로컬 임베딩으로 계층 구조 생성
+        if (localOnly || !geminiClient.isConfigured()) {
+            return buildHierarchyLocally(thoughts);
+        }
+
         try {
             log.info("========================================");
             log.info("🔍 AI 계층 구조 분석 시작");
@@ -59,6 +65,9 @@ public class ThoughtHierarchyService {
             log.info("🤖 AI 원본 응답:");
             log.info("{}", hierarchyResult);
             log.info("========================================");
+            if (hierarchyResult.isBlank()) {
+                return buildHierarchyLocally(thoughts);
+            }
 
             // AI 응답을 파싱하여 계층 구조 생성
             ThoughtHierarchyResponse response = parseHierarchyResult(hierarchyResult, thoughts);
@@ -74,9 +83,8 @@ public class ThoughtHierarchyService {
 
             return response;
         } catch (Exception e) {
-            log.error("❌ AI 계층 구조 생성 실패, 기본 전략 사용", e);
-            // AI 실패 시 태그 기반 계층 구조로 폴백
-            return buildHierarchyByTags(thoughts);
+            log.error("❌ AI 계층 구조 생성 실패, 로컬 임베딩 계층 구조 사용", e);
+            return buildHierarchyLocally(thoughts);
         }
     }
 
@@ -84,19 +92,12 @@ public class ThoughtHierarchyService {
      * AI에게 계층 구조 생성 요청
      */
     private String requestHierarchyStructure(List<Thought> thoughts) {
-        if (googleApiKey == null || googleApiKey.trim().isEmpty()) {
+        if (!geminiClient.isConfigured()) {
             log.error("❌ Google API 키가 설정되지 않음! application.properties에 google.api.key를 추가하세요.");
-            log.error("   현재 값: googleApiKey={}", googleApiKey);
             return "";
         }
 
-        log.info("🔑 Google API 키 확인: {}...{}",
-            googleApiKey.substring(0, Math.min(10, googleApiKey.length())),
-            googleApiKey.length() > 10 ? "****" : "");
-
         try {
-            String apiUrl = "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent?key=" + googleApiKey;
-
             // 최적화된 프롬프트 작성
             StringBuilder prompt = new StringBuilder();
             prompt.append("생각들을 마인드맵 계층 구조로 분류.\n\n");
@@ -131,36 +132,8 @@ public class ThoughtHierarchyService {
             prompt.append("- 레벨2의 PARENT는 레벨1 중 하나\n");
             prompt.append("- 연관성을 깊이 분석하여 자연스러운 계층 형성");
 
-            // 요청 바디 생성
-            Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                    Map.of(
-                        "parts", List.of(
-                            Map.of("text", prompt.toString())
-                        )
-                    )
-                )
-            );
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                request,
-                String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                return parseGeminiHierarchyResponse(response.getBody());
-            } else {
-                log.error("Failed to call Gemini API for hierarchy. Status: {}", response.getStatusCode());
-                return "";
-            }
+            // API 호출 (같은 생각 목록이면 캐시된 응답 사용)
+            return geminiClient.generate(CALLER, prompt.toString());
 
         } catch (Exception e) {
             log.error("Error requesting hierarchy from AI: {}", e.getMessage(), e);
@@ -168,30 +141,6 @@ public class ThoughtHierarchyService {
         }
     }
 
-    /**
-     * Gemini API 응답에서 계층 구조 결과 파싱
-     */
-    private String parseGeminiHierarchyResponse(String responseBody) {
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode candidates = root.path("candidates");
-
-            if (candidates.isArray() && candidates.size() > 0) {
-                JsonNode firstCandidate = candidates.get(0);
-                JsonNode content = firstCandidate.path("content");
-                JsonNode parts = content.path("parts");
-
-                if (parts.isArray() && parts.size() > 0) {
-                    return parts.get(0).path("text").asText();
-                }
-            }
-        } catch (Exception e) {
-            log.error("Error parsing Gemini hierarchy response: {}", e.getMessage());
-        }
-
-        return "";
-    }
-
     /**
      * AI 응답 파싱하여 계층 구조 생성
      */
@@ -311,7 +260,50 @@ public class ThoughtHierarchyService {
     }
 
     /**
-     * 태그 기반 계층 구조 (폴백 전략)
+     * 로컬 임베딩 기반 계층 구조 (폴백 전략, 네트워크 없음)
+     * 최대 신장 트리의 루트(다른 생각들과 평균적으로 가장 가까운 생각)를 레벨0으로, 트리 깊이를 레벨로 쓴다.
+     */
+    public ThoughtHierarchyResponse buildHierarchyLocally(List<Thought> thoughts) {
+        // 유사도 행렬이 메모리 한도를 넘는 규모면 태그 기반으로 만든다
+        if (!embeddingService.canProcessLocally(thoughts.size())) {
+            return buildHierarchyByTags(thoughts);
+        }
+        int[] parent = embeddingService.spanningTree(thoughts);
+
+        List<ThoughtHierarchyResponse.HierarchyNode> nodes = new ArrayList<>(thoughts.size());
+        List<List<Integer>> children = new ArrayList<>(thoughts.size());
+        int root = -1;
+        for (int i = 0; i < thoughts.size(); i++) {
+            ThoughtHierarchyResponse.HierarchyNode node =
+                ThoughtHierarchyResponse.HierarchyNode.fromThought(thoughts.get(i), 0);
+            node.setParentIndex(parent[i]);
+            nodes.add(node);
+            children.add(new ArrayList<>());
+        }
+        for (int i = 0; i < parent.length; i++) {
+            if (parent[i] < 0) {
+                root = i;
+            } else {
+                children.get(parent[i]).add(i);
+            }
+        }
+
+        // 루트에서 너비 우선으로 내려가며 레벨과 children 을 채운다
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (int v : children.get(u)) {
+                nodes.get(v).setLevel(nodes.get(u).getLevel() + 1);
+                nodes.get(u).addChild(nodes.get(v));
+                queue.add(v);
+            }
+        }
+        return new ThoughtHierarchyResponse(new ArrayList<>(List.of(nodes.get(root))));
+    }
+
+    /**
+     * 태그 기반 계층 구조 (로컬 처리 한도를 넘는 규모용)
      */
     private ThoughtHierarchyResponse buildHierarchyByTags(List<Thought> thoughts) {
         Map<String, List<Thought>> tagGroups = new HashMap<>();
@@ -7,6 +7,7 @@ import com.hoooon22.devzip.Model.Topic;
 import com.hoooon22.devzip.Model.User;
 import com.hoooon22.devzip.Repository.ThoughtRepository;
 import com.hoooon22.devzip.Repository.TopicRepository;
+import com.hoooon22.devzip.Service.embedding.ThoughtEmbeddingService;
 import com.hoooon22.devzip.dto.ThoughtMapResponse;
 import com.hoooon22.devzip.dto.TopicMapResponse;
 import com.hoooon22.devzip.dto.ThoughtHierarchyResponse;
@@ -25,35 +26,32 @@ public class ThoughtService {
 
     private final ThoughtRepository thoughtRepository;
     private final TopicRepository topicRepository;
-    private final AiTagExtractorService aiTagExtractorService;
-    private final ThoughtClusteringService clusteringService;
+    private final ThoughtTagService thoughtTagService;
+    private final TagUsageService tagUsageService;
     private final ThoughtHierarchyService hierarchyService;
+    private final TopicClusterService topicClusterService;
+    private final ThoughtEmbeddingService embeddingService;
 
     /**
-     * 새로운 생각 저장 (AI 태그 자동 추출)
+     * 새로운 생각 저장 (임시 태그로 즉시 저장, AI 태그는 커밋 뒤 비동기 추출)
      */
     @Transactional
     public Thought createThought(User user, String content) {
         log.info("Creating new thought for user {} with content: {}", user.getUsername(), content);
 
-        // 기존 태그 수집 (사용자의 모든 생각에서)
-        List<String> existingTags = getExistingTagsForUser(user, null);
-        log.info("Existing tags for context: {}", existingTags);
-
-        // AI를 사용하여 태그 추출 (기존 태그 참조)
-        List<String> tags = aiTagExtractorService.extractTags(content, existingTags);
-        log.info("Extracted tags: {}", tags);
-
-        // Thought 엔티티 생성 및 저장
-        Thought thought = new Thought(user, content, tags);
+        // Thought 엔티티 생성 및 저장 (AI 태그는 ThoughtTagService 가 나중에 반영)
+        Thought thought = new Thought(user, content);
+        thoughtTagService.applyProvisionalTags(thought);
         Thought savedThought = thoughtRepository.save(thought);
+        embeddingService.store(savedThought);
+        thoughtTagService.requestExtractionAfterCommit(savedThought);
 
         log.info("Thought saved with id: {}", savedThought.getId());
         return savedThought;
     }
 
     /**
-     * 새로운 생각 저장 (주제 포함, AI 태그 자동 추출)
+     * 새로운 생각 저장 (주제 포함, AI 태그는 커밋 뒤 비동기 추출)
      */
     @Transactional
     public Thought createThoughtWithTopic(User user, Long topicId, String content) {
@@ -69,17 +67,15 @@ public class ThoughtService {
             throw new TraceBoardException(ErrorCode.INSUFFICIENT_PERMISSIONS, "해당 주제에 접근할 수 없습니다");
         }
 
-        // 기존 태그 수집 (같은 주제의 생각들에서)
-        List<String> existingTags = getExistingTagsForUser(user, topicId);
-        log.info("Existing tags for topic {} context: {}", topicId, existingTags);
-
-        // AI를 사용하여 태그 추출 (기존 태그 참조)
-        List<String> tags = aiTagExtractorService.extractTags(content, existingTags);
-        log.info("Extracted tags: {}", tags);
-
-        // Topic과 함께 생각 생성
-        Thought thought = new Thought(user, topic, content, tags);
+        // Topic과 함께 생각 생성 (임시 태그)
+        Thought thought = new Thought(user, topic, content);
+        thoughtTagService.applyProvisionalTags(thought);
         Thought savedThought = thoughtRepository.save(thought);
+        embeddingService.store(savedThought);
+
+        // 주제 맵 클러스터에 이 생각만 배정 (AI 태그가 확정되면 다시 배정)
+        topicClusterService.assign(savedThought);
+        thoughtTagService.requestExtractionAfterCommit(savedThought);
 
         log.info("Thought saved with id: {} and topic: {}", savedThought.getId(), topicId);
         return savedThought;
@@ -166,14 +162,12 @@ public class ThoughtService {
         }
 
         // 주제에 속한 생각들 조회
-        List<Thought> thoughts = thoughtRepository.findByUserOrderByCreatedAtDesc(user).stream()
-            .filter(thought -> thought.getTopic() != null && thought.getTopic().getId().equals(topicId))
-            .collect(Collectors.toList());
+        List<Thought> thoughts = thoughtRepository.findByUserAndTopicOrderByCreatedAtDesc(user, topic);
 
-        // AI 클러스터링 적용
-        List<TopicMapResponse.ThoughtCluster> clusters = clusteringService.clusterThoughts(thoughts);
+        // 저장된 클러스터 배정 사용 (AI 클러스터링은 변경이 누적될 때 백그라운드에서 실행)
+        TopicClusterService.TopicClusters clusters = topicClusterService.getClusters(topicId, thoughts);
 
-        return TopicMapResponse.from(topic, clusters);
+        return TopicMapResponse.from(topic, clusters.clusters(), clusters.version());
     }
 
     /**
@@ -211,8 +205,12 @@ public class ThoughtService {
      */
     @Transactional
     public boolean deleteThought(Long id) {
-        if (thoughtRepository.existsById(id)) {
-            thoughtRepository.deleteById(id);
+        Optional<Thought> thoughtOpt = thoughtRepository.findById(id);
+        if (thoughtOpt.isPresent()) {
+            topicClusterService.remove(id);
+            embeddingService.remove(id);
+            tagUsageService.remove(thoughtOpt.get());
+            thoughtRepository.delete(thoughtOpt.get());
             log.info("Thought deleted with id: {}", id);
             return true;
         }
@@ -230,15 +228,15 @@ public class ThoughtService {
             Thought thought = thoughtOpt.get();
             thought.setContent(newContent);
 
-            // 기존 태그 수집 (같은 주제 또는 전체에서)
-            Long topicId = thought.getTopic() != null ? thought.getTopic().getId() : null;
-            List<String> existingTags = getExistingTagsForUser(thought.getUser(), topicId);
-
-            // 내용이 변경되면 태그도 다시 추출 (기존 태그 참조)
-            List<String> newTags = aiTagExtractorService.extractTags(newContent, existingTags);
-            thought.setTags(newTags);
+            // 내용이 변경되면 태그도 다시 추출 (커밋 뒤 비동기, 그동안은 임시 태그)
+            thoughtTagService.applyProvisionalTags(thought);
 
             Thought updatedThought = thoughtRepository.save(thought);
+            embeddingService.store(updatedThought);
+
+            // 내용이 바뀌었으므로 이 생각만 다시 배정
+            topicClusterService.assign(updatedThought);
+            thoughtTagService.requestExtractionAfterCommit(updatedThought);
             log.info("Thought updated with id: {}", id);
             return Optional.of(updatedThought);
         }
@@ -306,30 +304,4 @@ public class ThoughtService {
 
         return response;
     }
-
-    /**
-     * 기존 태그 수집 (사용자의 모든 생각 또는 특정 주제의 생각들에서)
-     * @param user 사용자
-     * @param topicId 주제 ID (null이면 모든 생각에서 태그 수집)
-     * @return 중복 제거된 기존 태그 목록
-     */
-    private List<String> getExistingTagsForUser(User user, Long topicId) {
-        List<Thought> thoughts;
-
-        if (topicId != null) {
-            // 특정 주제의 생각들에서 태그 수집
-            thoughts = thoughtRepository.findByUserOrderByCreatedAtDesc(user).stream()
-                .filter(thought -> thought.getTopic() != null && thought.getTopic().getId().equals(topicId))
-                .collect(Collectors.toList());
-        } else {
-            // 모든 생각에서 태그 수집
-            thoughts = thoughtRepository.findByUserOrderByCreatedAtDesc(user);
-        }
-
-        // 모든 태그를 수집하고 중복 제거
-        return thoughts.stream()
-            .flatMap(thought -> thought.getTags().stream())
-            .distinct()
-            .collect(Collectors.toList());
-    }
 }
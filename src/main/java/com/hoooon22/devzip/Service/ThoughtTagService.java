@@ -0,0 +1,212 @@
+package com.hoooon22.devzip.Service;
+
+import com.hoooon22.devzip.Config.TraceBoardConfig;
+import com.hoooon22.devzip.Model.Thought;
+import com.hoooon22.devzip.Repository.ThoughtRepository;
+import com.hoooon22.devzip.Service.embedding.ThoughtEmbeddingService;
+import com.hoooon22.devzip.dto.ThoughtTagsMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 생각 태그의 비동기 AI 추출
+ *
+ * 생성·수정 트랜잭션이 Gemini 응답을 기다리며 DB 커넥션을 잡고 있지 않도록 나눈다.
+ * - 저장 시에는 폴백 키워드를 임시 태그로 붙이고 tagsPending 을 켠다 (요청은 수 ms 안에 끝난다).
+ * - 커밋 뒤 전용 풀에서 기존 태그(TagUsageService 상위 top-k)를 읽고, AI 추출은 트랜잭션 밖에서 한다.
+ * - 결과는 별도 트랜잭션에서 반영하고 임베딩·클러스터 배정을 갱신한 뒤 소유자에게 /user/topic/thoughts 로 알린다.
+ *   WebSocket 을 쓰지 않는 클라이언트는 GET /api/thoughts/{id} 의 tagsPending 으로 확인할 수 있다.
+ * - 그 사이 내용이 다시 수정되었으면 결과를 버린다 (수정 요청이 따로 추출을 예약한다).
+ * - 큐가 가득 찼거나 재시작으로 잃은 작업은 주기 작업이 tagsPending 인 생각을 찾아 다시 예약한다.
+ */
+@Slf4j
+@Service
+public class ThoughtTagService {
+
+    public static final String UPDATES_DESTINATION = "/topic/thoughts";
+
+    private final ThoughtRepository thoughtRepository;
+    private final AiTagExtractorService aiTagExtractorService;
+    private final ThoughtEmbeddingService embeddingService;
+    private final TopicClusterService topicClusterService;
+    private final TagUsageService tagUsageService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    // 대기 중이거나 실행 중인 추출 수 (주기 재시도가 같은 생각을 중복 예약하지 않도록)
+    private final ConcurrentHashMap<Long, Integer> queued = new ConcurrentHashMap<>();
+
+    public ThoughtTagService(
+            ThoughtRepository thoughtRepository,
+            AiTagExtractorService aiTagExtractorService,
+            ThoughtEmbeddingService embeddingService,
+            TopicClusterService topicClusterService,
+            TagUsageService tagUsageService,
+            SimpMessagingTemplate messagingTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("thoughtTagExecutor") ThreadPoolTaskExecutor executor) {
+        this.thoughtRepository = thoughtRepository;
+        this.aiTagExtractorService = aiTagExtractorService;
+        this.embeddingService = embeddingService;
+        this.topicClusterService = topicClusterService;
+        this.tagUsageService = tagUsageService;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.executor = executor;
+    }
+
+    /**
+     * 저장 전 임시 태그 설정 (AI 를 쓸 수 없으면 폴백 태그가 곧 최종 태그)
+     * 호출자 트랜잭션 안에서 호출한다 (태그 사용 색인도 함께 갱신).
+     */
+    public void applyProvisionalTags(Thought thought) {
+        // 수정이면 이전 확정 태그를 색인에서 뺀다
+        if (thought.getId() != null) {
+            tagUsageService.remove(thought);
+        }
+        thought.setTags(new ArrayList<>(aiTagExtractorService.extractTagsFallback(thought.getContent())));
+        thought.setTagsPending(aiTagExtractorService.isAiAvailable());
+        tagUsageService.add(thought);
+    }
+
+    /**
+     * 저장된 생각의 AI 태그 추출 예약 (호출자 트랜잭션이 커밋된 뒤 실행)
+     */
+    public void requestExtractionAfterCommit(Thought thought) {
+        if (!thought.isTagsPending() || thought.getId() == null) {
+            return;
+        }
+        Long thoughtId = thought.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestExtraction(thoughtId);
+            return;
+        }
+        // 추출 작업이 방금 저장한 내용을 볼 수 있도록 커밋 뒤에 예약한다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestExtraction(thoughtId);
+            }
+        });
+    }
+
+    /**
+     * 임시 태그로 남은 생각 재예약 (큐 거절·재시작으로 잃은 작업 복구)
+     */
+    @Scheduled(fixedDelayString = "${app.thought.tags.retry-interval-ms:300000}",
+               initialDelayString = "${app.thought.tags.retry-interval-ms:300000}",
+               scheduler = TraceBoardConfig.BATCH_SCHEDULER)
+    public void retryPending() {
+        List<Long> pending = thoughtRepository.findTop50ByTagsPendingTrueOrderByIdAsc().stream()
+            .map(Thought::getId)
+            .filter(id -> !queued.containsKey(id))
+            .collect(Collectors.toList());
+        if (!pending.isEmpty()) {
+            log.info("임시 태그로 남은 생각 {} 개의 AI 태그 추출 재예약", pending.size());
+            pending.forEach(this::requestExtraction);
+        }
+    }
+
+    private void requestExtraction(Long thoughtId) {
+        queued.merge(thoughtId, 1, Integer::sum);
+        try {
+            executor.execute(() -> {
+                try {
+                    extract(thoughtId);
+                } finally {
+                    release(thoughtId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            release(thoughtId);
+            log.warn("태그 추출 대기열이 가득 차 생각 {} 는 임시 태그로 두고 나중에 다시 시도", thoughtId);
+        }
+    }
+
+    private void release(Long thoughtId) {
+        queued.computeIfPresent(thoughtId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * AI 태그 추출 (전용 풀에서 실행, LLM 호출은 트랜잭션 밖에서)
+     */
+    private void extract(Long thoughtId) {
+        try {
+            ExtractionInput input = readOnlyTransactionTemplate.execute(status -> thoughtRepository.findById(thoughtId)
+                .filter(Thought::isTagsPending)
+                .map(thought -> new ExtractionInput(thought.getContent(), tagUsageService.getTopTags(
+                    thought.getUser().getId(), thought.getTopic() != null ? thought.getTopic().getId() : null)))
+                .orElse(null));
+            if (input == null) {
+                return;
+            }
+
+            long startNanos = System.nanoTime();
+            List<String> tags = aiTagExtractorService.extractTags(input.content(), input.existingTags());
+
+            Applied applied = transactionTemplate.execute(status -> apply(thoughtId, input.content(), tags));
+            if (applied == null) {
+                log.debug("생각 {} 이 추출 도중 수정·삭제되어 태그 결과를 버림", thoughtId);
+                return;
+            }
+            log.info("생각 {} AI 태그 확정: {} ({} ms)", thoughtId, tags, (System.nanoTime() - startNanos) / 1_000_000);
+            notifyOwner(applied);
+        } catch (Exception e) {
+            log.error("생각 {} AI 태그 추출 실패", thoughtId, e);
+        }
+    }
+
+    private Applied apply(Long thoughtId, String content, List<String> tags) {
+        Thought thought = thoughtRepository.findById(thoughtId).orElse(null);
+        if (thought == null || !thought.isTagsPending() || !thought.getContent().equals(content)) {
+            return null;
+        }
+        thought.setTags(new ArrayList<>(tags));
+        thought.setTagsPending(false);
+        Thought saved = thoughtRepository.save(thought);
+        tagUsageService.add(saved);
+
+        // 태그가 바뀌었으므로 임베딩과 클러스터 배정도 갱신한다
+        embeddingService.store(saved);
+        topicClusterService.assign(saved);
+
+        Long topicId = saved.getTopic() != null ? saved.getTopic().getId() : null;
+        return new Applied(saved.getUser().getUsername(), ThoughtTagsMessage.builder()
+            .thoughtId(thoughtId)
+            .topicId(topicId)
+            .tags(saved.getTags())
+            .build());
+    }
+
+    private void notifyOwner(Applied applied) {
+        try {
+            messagingTemplate.convertAndSendToUser(applied.username(), UPDATES_DESTINATION, applied.message());
+        } catch (Exception e) {
+            log.warn("생각 {} 태그 알림 전송 실패: {}", applied.message().getThoughtId(), e.getMessage());
+        }
+    }
+
+    private record ExtractionInput(String content, List<String> existingTags) {
+    }
+
+    private record Applied(String username, ThoughtTagsMessage message) {
+    }
+}
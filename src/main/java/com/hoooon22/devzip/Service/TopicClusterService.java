@@ -0,0 +1,335 @@
+package com.hoooon22.devzip.Service;
+
+import com.hoooon22.devzip.Model.Thought;
+import com.hoooon22.devzip.Model.ThoughtClusterAssignment;
+import com.hoooon22.devzip.Model.TopicClusterState;
+import com.hoooon22.devzip.Repository.ThoughtClusterAssignmentRepository;
+import com.hoooon22.devzip.Repository.ThoughtRepository;
+import com.hoooon22.devzip.Repository.TopicClusterStateRepository;
+import com.hoooon22.devzip.Service.embedding.ThoughtEmbeddingService;
+import com.hoooon22.devzip.dto.TopicMapResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주제 중심 맵의 클러스터 배정 관리
+ *
+ * 맵 조회 때마다 주제의 모든 생각을 LLM 으로 다시 묶던 방식을 대체한다.
+ * - 배정(ThoughtClusterAssignment)과 주제별 상태(TopicClusterState)를 DB 에 저장하고, 조회는 이를 읽기만 한다.
+ * - 생각이 추가·수정되면 그 생각만 평균 임베딩 유사도가 가장 높은 클러스터에 배정한다 (네트워크 없음).
+ * - 개별 배정이 누적되어 drift 가 임계값을 넘으면 전용 풀에서 전체 재클러스터링을 돌린다.
+ *   배정이 없는 기존 생각이 조회되면 같은 방식으로 재클러스터링을 예약한다.
+ * - 상태의 version·driftCount 는 원자적 UPDATE 로만 바꿔 동시 배정과 재클러스터링 반영 사이에 변경분을 잃지 않는다.
+ */
+@Slf4j
+@Service
+public class TopicClusterService {
+
+    private final ThoughtRepository thoughtRepository;
+    private final ThoughtClusterAssignmentRepository assignmentRepository;
+    private final TopicClusterStateRepository stateRepository;
+    private final ThoughtClusteringService clusteringService;
+    private final ThoughtEmbeddingService embeddingService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final double driftRatio;
+    private final int minDrift;
+    private final double assignThreshold;
+
+    // 재클러스터링이 진행 중이거나 대기 중인 주제 (같은 주제는 한 번만 돌린다)
+    private final Set<Long> reclustering = ConcurrentHashMap.newKeySet();
+
+    public TopicClusterService(
+            ThoughtRepository thoughtRepository,
+            ThoughtClusterAssignmentRepository assignmentRepository,
+            TopicClusterStateRepository stateRepository,
+            ThoughtClusteringService clusteringService,
+            ThoughtEmbeddingService embeddingService,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("thoughtClusterExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${app.thought.cluster.drift-ratio:0.3}") double driftRatio,
+            @Value("${app.thought.cluster.min-drift:3}") int minDrift,
+            @Value("${app.thought.cluster.assign-threshold:0.15}") double assignThreshold) {
+        this.thoughtRepository = thoughtRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.stateRepository = stateRepository;
+        this.clusteringService = clusteringService;
+        this.embeddingService = embeddingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = executor;
+        this.driftRatio = driftRatio;
+        this.minDrift = Math.max(1, minDrift);
+        this.assignThreshold = assignThreshold;
+    }
+
+    /**
+     * 저장된 생각 하나를 가장 가까운 클러스터에 배정 (생성·수정 직후, 호출자 트랜잭션 안에서)
+     */
+    @Transactional
+    public void assign(Thought thought) {
+        if (thought.getTopic() == null || thought.getId() == null) {
+            return;
+        }
+        Long topicId = thought.getTopic().getId();
+
+        Map<Long, String> clusterOf = new HashMap<>();
+        ThoughtClusterAssignment own = null;
+        for (ThoughtClusterAssignment a : assignmentRepository.findByTopicId(topicId)) {
+            if (a.getThoughtId().equals(thought.getId())) {
+                own = a;
+            } else {
+                clusterOf.put(a.getThoughtId(), a.getClusterId());
+            }
+        }
+        List<Thought> members = thoughtRepository.findAllById(clusterOf.keySet());
+
+        String clusterId = nearestCluster(thought, members, clusterOf);
+        ThoughtClusterAssignment assignment = own != null ? own
+            : new ThoughtClusterAssignment(thought.getId(), topicId, clusterId);
+        assignment.setClusterId(clusterId);
+        assignment.setAssignedAt(LocalDateTime.now());
+        assignmentRepository.save(assignment);
+
+        recordChange(topicId);
+        log.debug("생각 {} 을 주제 {} 의 클러스터 {} 에 배정", thought.getId(), topicId, clusterId);
+    }
+
+    /**
+     * 삭제되는 생각의 배정 제거
+     */
+    @Transactional
+    public void remove(Long thoughtId) {
+        assignmentRepository.findById(thoughtId).ifPresent(assignment -> {
+            assignmentRepository.delete(assignment);
+            recordChange(assignment.getTopicId());
+        });
+    }
+
+    /**
+     * 주제 삭제 시 배정과 상태 제거
+     */
+    @Transactional
+    public void removeTopic(Long topicId) {
+        assignmentRepository.deleteByTopicId(topicId);
+        stateRepository.findById(topicId).ifPresent(stateRepository::delete);
+    }
+
+    /**
+     * 저장된 배정으로 클러스터 구성 (LLM 호출 없음)
+     *
+     * @param thoughts 주제에 속한 생각들 (표시 순서)
+     */
+    @Transactional(readOnly = true)
+    public TopicClusters getClusters(Long topicId, List<Thought> thoughts) {
+        Map<Long, String> clusterOf = assignmentRepository.findByTopicId(topicId).stream()
+            .collect(Collectors.toMap(ThoughtClusterAssignment::getThoughtId, ThoughtClusterAssignment::getClusterId));
+        long version = stateRepository.findById(topicId).map(TopicClusterState::getVersion).orElse(0L);
+
+        Map<String, List<Thought>> groups = new LinkedHashMap<>();
+        List<Thought> unassigned = new ArrayList<>();
+        for (Thought thought : thoughts) {
+            String clusterId = clusterOf.get(thought.getId());
+            if (clusterId == null) {
+                unassigned.add(thought);
+            } else {
+                groups.computeIfAbsent(clusterId, k -> new ArrayList<>()).add(thought);
+            }
+        }
+
+        List<TopicMapResponse.ThoughtCluster> clusters = new ArrayList<>();
+        groups.forEach((clusterId, members) -> clusters.add(toCluster(clusterId, members)));
+        // 아직 배정되지 않은 생각(이 기능 이전에 저장된 생각)은 임시로 개별 표시하고 재클러스터링을 예약한다
+        for (Thought thought : unassigned) {
+            clusters.add(toCluster("cluster-pending-" + thought.getId(), List.of(thought)));
+        }
+        if (!unassigned.isEmpty()) {
+            requestRecluster(topicId);
+        }
+        return new TopicClusters(version, clusters);
+    }
+
+    private void recordChange(Long topicId) {
+        ensureState(topicId);
+        stateRepository.recordChange(topicId);
+
+        boolean needsRecluster = stateRepository.findDrift(topicId)
+            .map(drift -> drift.needsRecluster(driftRatio, minDrift))
+            .orElse(false);
+        if (needsRecluster) {
+            requestReclusterAfterCommit(topicId);
+        }
+    }
+
+    /**
+     * 상태 행이 없으면 별도 트랜잭션에서 만든다 (동시에 만들면 한쪽은 중복 키로 실패하고 이미 있는 행을 쓴다)
+     * 호출자 트랜잭션에서 없는 행을 UPDATE 하면 MySQL 이 갭 락을 잡아 새 트랜잭션의 INSERT 가 막히므로,
+     * 잠그지 않는 존재 확인을 먼저 한다.
+     */
+    private void ensureState(Long topicId) {
+        if (stateRepository.existsById(topicId)) {
+            return;
+        }
+        try {
+            newTransactionTemplate.executeWithoutResult(status ->
+                stateRepository.saveAndFlush(new TopicClusterState(topicId)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("주제 {} 클러스터 상태 동시 생성 충돌, 기존 행 사용", topicId);
+        }
+    }
+
+    private void requestReclusterAfterCommit(Long topicId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestRecluster(topicId);
+            return;
+        }
+        // 재클러스터링이 방금 저장한 생각을 볼 수 있도록 커밋 뒤에 예약한다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestRecluster(topicId);
+            }
+        });
+    }
+
+    private void requestRecluster(Long topicId) {
+        if (!reclustering.add(topicId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    recluster(topicId);
+                } finally {
+                    reclustering.remove(topicId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            reclustering.remove(topicId);
+            log.warn("주제 {} 재클러스터링 대기열이 가득 차 다음 변경 때 다시 시도", topicId);
+        }
+    }
+
+    /**
+     * 주제 전체 재클러스터링 (전용 풀에서 실행, LLM 호출은 트랜잭션 밖에서)
+     */
+    private void recluster(Long topicId) {
+        try {
+            long startVersion = stateRepository.findById(topicId).map(TopicClusterState::getVersion).orElse(0L);
+            List<Thought> snapshot = thoughtRepository.findByTopicIdOrderByCreatedAtDesc(topicId);
+            if (snapshot.isEmpty()) {
+                return;
+            }
+
+            long startNanos = System.nanoTime();
+            List<TopicMapResponse.ThoughtCluster> clusters = clusteringService.clusterThoughts(snapshot);
+
+            ensureState(topicId);
+            transactionTemplate.executeWithoutResult(status -> apply(topicId, startVersion, snapshot.size(), clusters));
+            log.info("주제 {} 재클러스터링 완료: 생각 {} 개, 클러스터 {} 개, {} ms",
+                topicId, snapshot.size(), clusters.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (Exception e) {
+            log.error("주제 {} 재클러스터링 실패", topicId, e);
+        }
+    }
+
+    private void apply(Long topicId, long startVersion, int baseSize, List<TopicMapResponse.ThoughtCluster> clusters) {
+        // 상태 행을 먼저 갱신해 잠근다: 재클러스터링 도중 개별 배정·삭제된 변경분은 drift 로 남고,
+        // 이 트랜잭션이 끝날 때까지 새 개별 배정은 기다렸다가 새 버전 위에 더해진다
+        if (stateRepository.markReclustered(topicId, startVersion, baseSize, LocalDateTime.now()) == 0) {
+            return;
+        }
+        // 이전 결과의 클러스터 ID 와 섞이지 않도록 새 버전을 접두사로 붙인다
+        long version = stateRepository.findDrift(topicId)
+            .map(TopicClusterStateRepository.Drift::getVersion)
+            .orElseThrow();
+
+        // 재클러스터링 중 삭제된 생각은 다시 배정하지 않는다
+        Set<Long> existing = thoughtRepository.findByTopicIdOrderByCreatedAtDesc(topicId).stream()
+            .map(Thought::getId)
+            .collect(Collectors.toSet());
+        Map<Long, ThoughtClusterAssignment> current = assignmentRepository.findByTopicId(topicId).stream()
+            .collect(Collectors.toMap(ThoughtClusterAssignment::getThoughtId, Function.identity()));
+
+        List<ThoughtClusterAssignment> toSave = new ArrayList<>();
+        for (TopicMapResponse.ThoughtCluster cluster : clusters) {
+            String clusterId = "v" + version + "-" + cluster.getClusterId();
+            for (TopicMapResponse.ThoughtNode node : cluster.getThoughts()) {
+                if (!existing.contains(node.getId())) {
+                    continue;
+                }
+                ThoughtClusterAssignment assignment = current.get(node.getId());
+                if (assignment == null) {
+                    assignment = new ThoughtClusterAssignment(node.getId(), topicId, clusterId);
+                } else {
+                    assignment.setClusterId(clusterId);
+                    assignment.setAssignedAt(LocalDateTime.now());
+                }
+                toSave.add(assignment);
+            }
+        }
+        assignmentRepository.saveAll(toSave);
+    }
+
+    /**
+     * 멤버들과의 평균 유사도가 가장 높은 클러스터 (임계값 미만이면 새 클러스터)
+     */
+    private String nearestCluster(Thought thought, List<Thought> members, Map<Long, String> clusterOf) {
+        float[] vector = embeddingService.embed(thought);
+        float[][] memberVectors = embeddingService.vectorsFor(members);
+
+        Map<String, List<float[]>> vectorsByCluster = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            vectorsByCluster.computeIfAbsent(clusterOf.get(members.get(i).getId()), k -> new ArrayList<>())
+                .add(memberVectors[i]);
+        }
+
+        String best = null;
+        double bestScore = assignThreshold;
+        for (Map.Entry<String, List<float[]>> entry : vectorsByCluster.entrySet()) {
+            double score = ThoughtEmbeddingService.averageSimilarity(vector, entry.getValue());
+            if (score >= bestScore) {
+                bestScore = score;
+                best = entry.getKey();
+            }
+        }
+        return best != null ? best : "cluster-t" + thought.getId();
+    }
+
+    private static TopicMapResponse.ThoughtCluster toCluster(String clusterId, List<Thought> thoughts) {
+        return TopicMapResponse.ThoughtCluster.builder()
+            .clusterId(clusterId)
+            .thoughts(thoughts.stream()
+                .map(thought -> TopicMapResponse.ThoughtNode.builder()
+                    .id(thought.getId())
+                    .content(thought.getContent())
+                    .tags(thought.getTags())
+                    .build())
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    /**
+     * 주제의 클러스터 구성과 배정 버전
+     */
+    public record TopicClusters(long version, List<TopicMapResponse.ThoughtCluster> clusters) {}
+}
@@ -4,7 +4,9 @@ import com.hoooon22.devzip.Exception.ErrorCode;
 import com.hoooon22.devzip.Exception.TraceBoardException;
 import com.hoooon22.devzip.Model.Topic;
 import com.hoooon22.devzip.Model.User;
+import com.hoooon22.devzip.Model.Thought;
 import com.hoooon22.devzip.Repository.TopicRepository;
+import com.hoooon22.devzip.Service.embedding.ThoughtEmbeddingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +21,9 @@ import java.util.Optional;
 public class TopicService {
 
     private final TopicRepository topicRepository;
+    private final TopicClusterService topicClusterService;
+    private final ThoughtEmbeddingService embeddingService;
+    private final TagUsageService tagUsageService;
 
     /**
      * 새로운 주제 생성
@@ -116,6 +121,9 @@ public class TopicService {
         int thoughtCount = topic.getThoughts().size();
 
         // CASCADE 설정으로 인해 주제 삭제 시 연관된 생각들도 함께 삭제됨
+        topicClusterService.removeTopic(id);
+        tagUsageService.removeTopic(id);
+        embeddingService.removeAll(topic.getThoughts().stream().map(Thought::getId).toList());
         topicRepository.delete(topic);
         log.info("주제 삭제 성공: ID={}, 삭제된 생각 수={}", id, thoughtCount);
 
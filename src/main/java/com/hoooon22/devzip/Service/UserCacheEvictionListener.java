@@ -0,0 +1,39 @@
+package com.hoooon22.devzip.Service;
+
+import com.hoooon22.devzip.Model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * User 엔티티 변경 시 UserDetails 캐시 무효화
+ * (Hibernate 가 Spring 빈으로 생성하므로 의존성 주입을 사용할 수 있다)
+ *
+ * 플러시 시점에 한 번 비우고, 커밋 전에 다른 요청이 변경 전 상태를 다시 캐시했을 수 있으므로 커밋 후 한 번 더 비운다.
+ */
+@Component
+public class UserCacheEvictionListener {
+
+    @Autowired
+    @Lazy
+    private UserDetailsServiceImpl userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String username = user.getUsername();
+        userDetailsService.evictUser(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsService.evictUser(username);
+                }
+            });
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.hoooon22.devzip.Service;
 
 import com.hoooon22.devzip.Model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hoooon22.devzip.Repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,15 +16,36 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * 사용자 조회 서비스
+ *
+ * 로그인(DaoAuthenticationProvider)은 항상 DB 에서 읽는다.
+ * JWT 요청 인증(AuthTokenFilter, StompHandler)은 loadCachedUserByUsername 으로 짧은 TTL 캐시를 거쳐
+ * 요청마다 DB 를 조회하지 않는다. User 가 변경/삭제되면 UserCacheEvictionListener 가 해당 항목을 제거한다.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     
     @Autowired
     UserRepository userRepository;
+
+    private final Cache<String, UserDetails> userCache;
+
+    public UserDetailsServiceImpl(MeterRegistry meterRegistry,
+                                  @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.security.user-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "security.users");
+    }
     
     @Override
     @Transactional
@@ -29,6 +55,28 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         return UserPrincipal.create(user);
     }
+
+    /**
+     * 토큰 인증용 사용자 조회 (짧은 TTL 캐시 사용)
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userCache.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails userDetails = loadUserByUsername(username);
+        userCache.put(username, userDetails);
+        return userDetails;
+    }
+
+    /**
+     * 사용자 비활성화·권한 변경 시 캐시 항목 제거
+     */
+    public void evictUser(String username) {
+        if (username != null) {
+            userCache.invalidate(username);
+        }
+    }
     
     public static class UserPrincipal implements UserDetails {
         private Long id;
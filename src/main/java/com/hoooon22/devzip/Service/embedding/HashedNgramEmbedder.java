@@ -0,0 +1,86 @@
+package com.hoooon22.devzip.Service.embedding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 해시 n-gram 임베딩 (네트워크·사전 없이 결정적으로 계산)
+ *
+ * - 특징: 단어 unigram, 단어 내부 문자 2·3-gram(한글 조사·어미 변화 흡수), 태그
+ * - 각 특징을 해시로 차원에 배정하고 부호도 해시로 정해 충돌 편향을 줄인다 (feature hashing)
+ * - 빈도는 1 + log(tf) 로 완화하고 마지막에 L2 정규화하므로 내적이 곧 코사인 유사도다
+ */
+public class HashedNgramEmbedder {
+
+    private static final float WORD_WEIGHT = 1.0f;
+    private static final float NGRAM_WEIGHT = 0.5f;
+    private static final float TAG_WEIGHT = 2.0f;
+
+    private final int dimensions;
+
+    public HashedNgramEmbedder(int dimensions) {
+        this.dimensions = Math.max(16, dimensions);
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public float[] embed(String content, List<String> tags) {
+        Map<String, Float> features = new HashMap<>();
+        if (content != null) {
+            for (String word : content.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                addWord(features, word, WORD_WEIGHT);
+            }
+        }
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag == null || tag.isBlank()) {
+                    continue;
+                }
+                String normalized = tag.trim().toLowerCase(Locale.ROOT);
+                features.merge("t:" + normalized, TAG_WEIGHT, Float::sum);
+                for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+                    addWord(features, word, WORD_WEIGHT);
+                }
+            }
+        }
+
+        float[] vector = new float[dimensions];
+        features.forEach((feature, tf) -> {
+            int hash = mix(feature.hashCode());
+            int index = Math.floorMod(hash, dimensions);
+            float sign = (hash & 0x80000000) == 0 ? 1f : -1f;
+            vector[index] += sign * (float) (1 + Math.log(tf));
+        });
+        Vectors.normalize(vector);
+        return vector;
+    }
+
+    private static void addWord(Map<String, Float> features, String word, float weight) {
+        if (word.isEmpty()) {
+            return;
+        }
+        features.merge("w:" + word, weight, Float::sum);
+        String bounded = "<" + word + ">";
+        for (int n = 2; n <= 3; n++) {
+            for (int i = 0; i + n <= bounded.length(); i++) {
+                features.merge("g:" + bounded.substring(i, i + n), NGRAM_WEIGHT, Float::sum);
+            }
+        }
+    }
+
+    /**
+     * String.hashCode 의 하위 비트 편향을 줄이는 믹싱 (murmur3 fmix32)
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
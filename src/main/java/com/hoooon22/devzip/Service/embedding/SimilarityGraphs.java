@@ -0,0 +1,177 @@
+package com.hoooon22.devzip.Service.embedding;
+
+import java.util.Arrays;
+
+/**
+ * 유사도 행렬 기반 클러스터링·트리 알고리즘
+ *
+ * - averageLinkage: 평균 연결 병합 클러스터링 (NN-chain, O(n²) 시간·메모리)
+ * - maximumSpanningTree: 유사도 합이 가장 큰 노드(medoid)를 루트로 하는 최대 신장 트리 (Prim, O(n²))
+ */
+public final class SimilarityGraphs {
+
+    private SimilarityGraphs() {
+    }
+
+    /**
+     * 평균 연결 병합 클러스터링
+     *
+     * NN-chain 으로 전체 병합 순서를 구한 뒤 유사도가 threshold 이상인 병합만 적용한다.
+     * 평균 연결은 병합 유사도가 위로 갈수록 단조 감소하므로 이 절단은 병합을 순서대로 멈춘 결과와 같다.
+     *
+     * @param sim       대칭 유사도 행렬 (호출 후 내용이 바뀐다)
+     * @param threshold 병합할 최소 평균 유사도
+     * @return 원소별 클러스터 번호 (0부터, 처음 나타난 순서)
+     */
+    public static int[] averageLinkage(float[][] sim, double threshold) {
+        int n = sim.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int[] size = new int[n];
+        Arrays.fill(size, 1);
+        boolean[] active = new boolean[n];
+        Arrays.fill(active, true);
+
+        int[] mergeA = new int[n - 1];
+        int[] mergeB = new int[n - 1];
+        float[] mergeSim = new float[n - 1];
+        int merges = 0;
+
+        int[] chain = new int[n];
+        int chainLength = 0;
+        int nextStart = 0;
+        while (merges < n - 1) {
+            if (chainLength == 0) {
+                while (!active[nextStart]) {
+                    nextStart++;
+                }
+                chain[chainLength++] = nextStart;
+            }
+            int a = chain[chainLength - 1];
+            int previous = chainLength > 1 ? chain[chainLength - 2] : -1;
+
+            // a 의 최근접 이웃 (동률이면 체인의 직전 원소를 우선해 순환을 막는다)
+            int best = -1;
+            float bestSim = Float.NEGATIVE_INFINITY;
+            for (int k = 0; k < n; k++) {
+                if (k == a || !active[k]) {
+                    continue;
+                }
+                float s = sim[a][k];
+                if (s > bestSim || (s == bestSim && k == previous)) {
+                    bestSim = s;
+                    best = k;
+                }
+            }
+
+            if (best != previous) {
+                chain[chainLength++] = best;
+                continue;
+            }
+
+            // 서로 최근접 이웃이면 병합 (b 를 a 로 합치고 Lance-Williams 식으로 평균 유사도 갱신)
+            int b = previous;
+            chainLength -= 2;
+            mergeA[merges] = a;
+            mergeB[merges] = b;
+            mergeSim[merges] = bestSim;
+            merges++;
+
+            int sizeA = size[a];
+            int sizeB = size[b];
+            for (int k = 0; k < n; k++) {
+                if (!active[k] || k == a || k == b) {
+                    continue;
+                }
+                float s = (sizeA * sim[a][k] + sizeB * sim[b][k]) / (sizeA + sizeB);
+                sim[a][k] = s;
+                sim[k][a] = s;
+            }
+            size[a] = sizeA + sizeB;
+            active[b] = false;
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        for (int m = 0; m < merges; m++) {
+            if (mergeSim[m] >= threshold) {
+                parent[find(parent, mergeB[m])] = find(parent, mergeA[m]);
+            }
+        }
+
+        int[] labels = new int[n];
+        int[] labelOfRoot = new int[n];
+        Arrays.fill(labelOfRoot, -1);
+        int nextLabel = 0;
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (labelOfRoot[root] < 0) {
+                labelOfRoot[root] = nextLabel++;
+            }
+            labels[i] = labelOfRoot[root];
+        }
+        return labels;
+    }
+
+    /**
+     * 최대 신장 트리
+     *
+     * @param sim 대칭 유사도 행렬
+     * @return 원소별 부모 번호 (루트는 -1)
+     */
+    public static int[] maximumSpanningTree(float[][] sim) {
+        int n = sim.length;
+        int[] parent = new int[n];
+        if (n == 0) {
+            return parent;
+        }
+
+        // 다른 생각들과 평균적으로 가장 가까운 생각을 중심(루트)으로 삼는다
+        int root = 0;
+        double bestSum = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int j = 0; j < n; j++) {
+                sum += sim[i][j];
+            }
+            if (sum > bestSum) {
+                bestSum = sum;
+                root = i;
+            }
+        }
+
+        boolean[] inTree = new boolean[n];
+        float[] key = new float[n];
+        Arrays.fill(key, Float.NEGATIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        key[root] = Float.POSITIVE_INFINITY;
+
+        for (int added = 0; added < n; added++) {
+            int u = -1;
+            for (int i = 0; i < n; i++) {
+                if (!inTree[i] && (u < 0 || key[i] > key[u])) {
+                    u = i;
+                }
+            }
+            inTree[u] = true;
+            for (int v = 0; v < n; v++) {
+                if (!inTree[v] && sim[u][v] > key[v]) {
+                    key[v] = sim[u][v];
+                    parent[v] = u;
+                }
+            }
+        }
+        return parent;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+}
@@ -0,0 +1,169 @@
+package com.hoooon22.devzip.Service.embedding;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hoooon22.devzip.Model.Thought;
+import com.hoooon22.devzip.Model.ThoughtEmbedding;
+import com.hoooon22.devzip.Repository.ThoughtEmbeddingRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 생각 임베딩 저장과 로컬 유사도 엔진
+ *
+ * 원격 LLM 없이 프로세스 안에서 클러스터링·계층 구조를 만든다 (수천 개 생각도 수십~수백 ms).
+ * - 생각이 저장·수정될 때 store() 로 벡터를 계산해 저장하고, 조회 시에는 한 번에 읽는다.
+ *   저장된 벡터가 없거나 차원 수가 설정과 다르면 그 자리에서 계산한다.
+ * - 결과는 입력과 설정만으로 결정되므로 테스트와 AI 실패 시 폴백으로 쓸 수 있다.
+ */
+@Service
+@Slf4j
+public class ThoughtEmbeddingService {
+
+    private final ThoughtEmbeddingRepository embeddingRepository;
+    private final HashedNgramEmbedder embedder;
+    private final double clusterThreshold;
+    private final int maxLocalSize;
+
+    public ThoughtEmbeddingService(
+            ThoughtEmbeddingRepository embeddingRepository,
+            @Value("${app.thought.embedding.dimensions:256}") int dimensions,
+            @Value("${app.thought.embedding.cluster-threshold:0.15}") double clusterThreshold,
+            @Value("${app.thought.embedding.max-local-size:3000}") int maxLocalSize) {
+        this.embeddingRepository = embeddingRepository;
+        this.embedder = new HashedNgramEmbedder(Math.min(dimensions, 2048));
+        this.clusterThreshold = clusterThreshold;
+        this.maxLocalSize = Math.max(2, maxLocalSize);
+    }
+
+    /**
+     * 생각의 벡터를 계산해 저장 (생성·수정 직후, 호출자 트랜잭션 안에서)
+     */
+    @Transactional
+    public float[] store(Thought thought) {
+        float[] vector = embed(thought);
+        if (thought.getId() != null) {
+            ThoughtEmbedding embedding = embeddingRepository.findById(thought.getId())
+                .orElseGet(ThoughtEmbedding::new);
+            embedding.setThoughtId(thought.getId());
+            embedding.setDimensions(vector.length);
+            embedding.setVector(Vectors.toBytes(vector));
+            embedding.setUpdatedAt(LocalDateTime.now());
+            embeddingRepository.save(embedding);
+        }
+        return vector;
+    }
+
+    @Transactional
+    public void remove(Long thoughtId) {
+        if (embeddingRepository.existsById(thoughtId)) {
+            embeddingRepository.deleteById(thoughtId);
+        }
+    }
+
+    @Transactional
+    public void removeAll(Collection<Long> thoughtIds) {
+        if (!thoughtIds.isEmpty()) {
+            embeddingRepository.deleteAllByIdInBatch(thoughtIds);
+        }
+    }
+
+    /**
+     * 생각 목록의 벡터 (입력 순서대로)
+     */
+    @Transactional(readOnly = true)
+    public float[][] vectorsFor(List<Thought> thoughts) {
+        List<Long> ids = thoughts.stream()
+            .map(Thought::getId)
+            .filter(id -> id != null)
+            .collect(Collectors.toList());
+        Map<Long, float[]> stored = new HashMap<>();
+        for (ThoughtEmbedding embedding : embeddingRepository.findAllById(ids)) {
+            if (embedding.getDimensions() == embedder.getDimensions()) {
+                stored.put(embedding.getThoughtId(), Vectors.fromBytes(embedding.getVector()));
+            }
+        }
+
+        float[][] vectors = new float[thoughts.size()][];
+        int computed = 0;
+        for (int i = 0; i < thoughts.size(); i++) {
+            Thought thought = thoughts.get(i);
+            float[] vector = thought.getId() != null ? stored.get(thought.getId()) : null;
+            if (vector == null) {
+                vector = embed(thought);
+                computed++;
+            }
+            vectors[i] = vector;
+        }
+        if (computed > 0) {
+            log.debug("저장된 임베딩이 없어 {} 개 생각의 벡터를 즉석 계산", computed);
+        }
+        return vectors;
+    }
+
+    public float[] embed(Thought thought) {
+        return embedder.embed(thought.getContent(), thought.getTags());
+    }
+
+    public boolean canProcessLocally(int size) {
+        return size <= maxLocalSize;
+    }
+
+    /**
+     * 평균 연결 병합 클러스터링 (유사도가 cluster-threshold 이상인 그룹끼리 병합)
+     *
+     * @return 클러스터별 생각 목록 (클러스터와 멤버 모두 입력 순서 유지)
+     */
+    public List<List<Thought>> cluster(List<Thought> thoughts) {
+        long startNanos = System.nanoTime();
+        float[][] sim = Vectors.similarityMatrix(vectorsFor(thoughts));
+        int[] labels = SimilarityGraphs.averageLinkage(sim, clusterThreshold);
+
+        List<List<Thought>> clusters = new ArrayList<>();
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == clusters.size()) {
+                clusters.add(new ArrayList<>());
+            }
+            clusters.get(labels[i]).add(thoughts.get(i));
+        }
+        log.debug("로컬 클러스터링: 생각 {} 개 → 클러스터 {} 개 ({} ms)",
+            thoughts.size(), clusters.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return clusters;
+    }
+
+    /**
+     * 최대 신장 트리 (유사도가 가장 높은 간선으로 모든 생각을 잇는다)
+     *
+     * @return 생각별 부모 인덱스 (루트는 -1)
+     */
+    public int[] spanningTree(List<Thought> thoughts) {
+        long startNanos = System.nanoTime();
+        int[] parent = SimilarityGraphs.maximumSpanningTree(Vectors.similarityMatrix(vectorsFor(thoughts)));
+        log.debug("로컬 계층 구조: 생각 {} 개 ({} ms)", thoughts.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return parent;
+    }
+
+    /**
+     * 기준 벡터와 생각 벡터들의 평균 유사도
+     */
+    public static double averageSimilarity(float[] vector, List<float[]> others) {
+        if (others.isEmpty()) {
+            return 0;
+        }
+        double sum = 0;
+        for (float[] other : others) {
+            sum += Vectors.dot(vector, other);
+        }
+        return sum / others.size();
+    }
+}
@@ -9,24 +9,82 @@ import com.hoooon22.devzip.Model.User;
 import com.hoooon22.devzip.Repository.livechat.LiveChatMessageRepository;
 import com.hoooon22.devzip.Repository.livechat.LiveChatRoomRepository;
 import com.hoooon22.devzip.Repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.hoooon22.devzip.Service.RecentMessageCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class LiveChatService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final LiveChatRoomRepository liveChatRoomRepository;
     private final LiveChatMessageRepository liveChatMessageRepository;
     private final UserRepository userRepository;
 
+    // 방별 최근 메시지 (입장 시 조회를 DB 없이 처리)
+    private final RecentMessageCache<LiveChatMessageResponse> recentMessages;
+
+    // 방 ID -> 방 정보 (메시지마다 방 존재 확인을 DB 없이 처리, 생성/삭제 시 갱신)
+    private final Cache<Long, LiveChatRoomResponse> roomCache;
+
+    public LiveChatService(LiveChatRoomRepository liveChatRoomRepository,
+                           LiveChatMessageRepository liveChatMessageRepository,
+                           UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.chat.recent-messages-per-room:50}") int recentPerRoom,
+                           @Value("${app.chat.recent-rooms-max:1000}") long recentRoomsMax) {
+        this.liveChatRoomRepository = liveChatRoomRepository;
+        this.liveChatMessageRepository = liveChatMessageRepository;
+        this.userRepository = userRepository;
+        this.recentMessages = new RecentMessageCache<>(recentPerRoom, recentRoomsMax, LiveChatMessageResponse::getId);
+        this.roomCache = Caffeine.newBuilder()
+                .maximumSize(recentRoomsMax)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roomCache, "livechat.rooms");
+    }
+
+    /**
+     * 방 정보 조회 (캐시 우선, 없는 방이면 null)
+     */
+    public LiveChatRoomResponse findRoom(Long roomId) {
+        return roomCache.get(roomId, id -> liveChatRoomRepository.findById(id)
+                .map(LiveChatRoomResponse::new)
+                .orElse(null));
+    }
+
+    /**
+     * 메시지 저장 (방 엔티티는 조회하지 않고 참조만 건다)
+     */
+    @Transactional
+    public LiveChatMessage saveMessage(Long roomId, String senderName, String message) {
+        LiveChatMessage chatMessage = new LiveChatMessage();
+        chatMessage.setLiveChatRoom(liveChatRoomRepository.getReferenceById(roomId));
+        chatMessage.setSenderName(senderName);
+        chatMessage.setMessage(message);
+        LiveChatMessage savedMessage = liveChatMessageRepository.save(chatMessage);
+        recentMessages.append(roomId, new LiveChatMessageResponse(savedMessage));
+        return savedMessage;
+    }
+
     public List<LiveChatRoomResponse> findAllRooms() {
         return liveChatRoomRepository.findAll().stream()
                 .map(LiveChatRoomResponse::new)
@@ -39,14 +97,33 @@ public class LiveChatService {
         liveChatRoom.setName(request.getName());
         liveChatRoom.setCreatorName(username); // Use username
         LiveChatRoom savedRoom = liveChatRoomRepository.save(liveChatRoom);
-        return new LiveChatRoomResponse(savedRoom);
+        LiveChatRoomResponse response = new LiveChatRoomResponse(savedRoom);
+        roomCache.put(savedRoom.getId(), response);
+        return response;
+    }
+
+    /**
+     * beforeId 보다 오래된 메시지 중 최근 limit 건 (ID 오름차순, beforeId 가 없으면 가장 최근부터)
+     */
+    public List<LiveChatMessageResponse> findMessagesByRoomId(Long roomId, Long beforeId, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<LiveChatMessageResponse> cached = recentMessages.recent(roomId, beforeId, size,
+                () -> toResponses(liveChatMessageRepository.findByLiveChatRoomIdOrderByIdDesc(
+                        roomId, PageRequest.of(0, recentMessages.getCapacity()))));
+        if (cached != null) {
+            return cached;
+        }
+        List<LiveChatMessageResponse> messages = toResponses(beforeId != null
+                ? liveChatMessageRepository.findByLiveChatRoomIdAndIdLessThanOrderByIdDesc(roomId, beforeId, PageRequest.of(0, size))
+                : liveChatMessageRepository.findByLiveChatRoomIdOrderByIdDesc(roomId, PageRequest.of(0, size)));
+        Collections.reverse(messages);
+        return messages;
     }
 
-    public List<LiveChatMessageResponse> findMessagesByRoomId(Long roomId) {
-        // You might want to add a check to see if the room exists first
-        return liveChatMessageRepository.findByLiveChatRoomId(roomId).stream()
+    private List<LiveChatMessageResponse> toResponses(List<LiveChatMessage> messages) {
+        return messages.stream()
                 .map(LiveChatMessageResponse::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
     @Transactional
@@ -59,11 +136,26 @@ public class LiveChatService {
         if (user.isPresent() && user.get().getRole() == User.Role.ADMIN) {
             // 관리자는 모든 채팅방 삭제 가능
             liveChatRoomRepository.delete(room);
+            evictRoom(roomId);
         } else if (room.getCreatorName().equals(username)) {
             // 일반 유저는 자신이 만든 채팅방만 삭제 가능
             liveChatRoomRepository.delete(room);
+            evictRoom(roomId);
         } else {
             throw new AccessDeniedException("채팅방을 삭제할 권한이 없습니다.");
         }
     }
+
+    private void evictRoom(Long roomId) {
+        roomCache.invalidate(roomId);
+        recentMessages.evict(roomId);
+        // 커밋 전에 다른 요청이 삭제 전 상태를 다시 캐시했을 수 있으므로 커밋 후 한 번 더 비운다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roomCache.invalidate(roomId);
+                recentMessages.evict(roomId);
+            }
+        });
+    }
 }
@@ -0,0 +1,194 @@
+package com.hoooon22.devzip.Service.llm;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gemini generateContent 공용 클라이언트
+ *
+ * AI 서비스들(태그 추출, 클러스터링, 계층 구조, 농담 번역, CS 팁)이 각자 만들던 요청을 한곳에서 처리하고
+ * 응답 텍스트를 LlmResponseCache 에 저장해 같은 입력의 재호출을 막는다.
+ * - 같은 키로 동시에 들어온 요청은 API 를 한 번만 호출하고 결과를 나눠 쓴다.
+ * - 호출자(caller)별로 캐시 적중/미스, 응답 시간, 오류 수를 기록한다.
+ * - app.llm.base-url 을 바꾸면 다른 엔드포인트(예: 로컬 스텁 /api/llm-stub)로 보낼 수 있다.
+ */
+@Component
+@Slf4j
+public class GeminiClient {
+
+    private final LlmResponseCache cache;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final RestTemplate restTemplate;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final String apiKey;
+    private final String baseUrl;
+    private final String model;
+
+    public GeminiClient(
+            LlmResponseCache cache,
+            MeterRegistry meterRegistry,
+            RestTemplateBuilder restTemplateBuilder,
+            @Value("${google.api.key:}") String apiKey,
+            @Value("${app.llm.base-url:https://generativelanguage.googleapis.com}") String baseUrl,
+            @Value("${app.llm.model:gemini-2.5-flash}") String model,
+            @Value("${app.llm.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${app.llm.read-timeout-ms:60000}") long readTimeoutMs) {
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = new ObjectMapper();
+        // 클러스터링·계층 구조 프롬프트는 응답이 길어 공용 RestTemplate(10초)보다 긴 읽기 타임아웃을 쓴다
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
+        this.apiKey = apiKey;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.model = model;
+    }
+
+    public boolean isConfigured() {
+        return StringUtils.hasText(apiKey);
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * 프롬프트에 대한 응답 텍스트 (캐시 우선)
+     */
+    public String generate(String caller, String prompt) {
+        return generate(caller, prompt, null);
+    }
+
+    /**
+     * 프롬프트에 대한 응답 텍스트 (캐시 우선)
+     *
+     * @param caller    메트릭 태그로 쓰는 호출자 이름
+     * @param prompt    프롬프트
+     * @param cacheScope 프롬프트가 같아도 응답을 나눠야 할 때 키에 더하는 값 (예: 날짜별 팁). null 이면 프롬프트만 쓴다.
+     * @throws IllegalStateException API 키가 없거나 응답에 텍스트가 없을 때
+     * @throws org.springframework.web.client.RestClientException API 호출 실패 시
+     */
+    public String generate(String caller, String prompt, String cacheScope) {
+        if (!isConfigured()) {
+            throw new IllegalStateException("Google API key is not configured");
+        }
+        String requestBody = toRequestBody(prompt);
+        String key = LlmResponseCache.key(model, cacheScope == null ? requestBody : cacheScope + "\n" + requestBody);
+
+        long startNanos = System.nanoTime();
+        LlmResponseCache.Lookup lookup = cache.get(key);
+        if (lookup.hit()) {
+            record(caller, lookup.tier().name().toLowerCase(), startNanos);
+            return lookup.value();
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            // 같은 요청이 이미 진행 중이면 그 결과를 기다린다
+            try {
+                String shared = existing.join();
+                record(caller, "shared", startNanos);
+                return shared;
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+
+        try {
+            String text = callApi(requestBody);
+            cache.put(key, text);
+            mine.complete(text);
+            record(caller, "miss", startNanos);
+            return text;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            meterRegistry.counter("llm.errors", "caller", caller).increment();
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String callApi(String requestBody) {
+        String url = baseUrl + "/v1beta/models/" + model + ":generateContent?key=" + apiKey;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<String> response = restTemplate.postForEntity(url, new HttpEntity<>(requestBody, headers), String.class);
+
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new IllegalStateException("Gemini API call failed. Status: " + response.getStatusCode());
+        }
+        String text = extractText(response.getBody());
+        if (!StringUtils.hasText(text)) {
+            throw new IllegalStateException("Empty text in Gemini API response");
+        }
+        return text;
+    }
+
+    private String toRequestBody(String prompt) {
+        Map<String, Object> body = Map.of(
+            "contents", List.of(
+                Map.of("parts", List.of(Map.of("text", prompt)))
+            )
+        );
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize Gemini request", e);
+        }
+    }
+
+    private String extractText(String responseBody) {
+        try {
+            JsonNode parts = objectMapper.readTree(responseBody).path("candidates").path(0).path("content").path("parts");
+            if (parts.isArray() && parts.size() > 0) {
+                return parts.get(0).path("text").asText(null);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing Gemini response: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void record(String caller, String result, long startNanos) {
+        meterRegistry.counter("llm.requests", "caller", caller, "result", result).increment();
+        Timer.builder("llm.latency")
+                .tag("caller", caller)
+                .tag("source", "miss".equals(result) ? "api" : "cache")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+}
@@ -0,0 +1,212 @@
+package com.hoooon22.devzip.Service.llm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import com.hoooon22.devzip.Config.TraceBoardConfig;
+
+/**
+ * LLM 응답 캐시 (내용 주소 방식)
+ *
+ * 키는 모델명과 요청 본문(프롬프트 + 입력)의 SHA-256 이므로 같은 입력이면 어느 서비스가 호출해도 같은 응답을 재사용한다.
+ * - 메모리 계층: 크기 제한 Caffeine 캐시 (TTL 동안 유지)
+ * - 디스크 계층: dir/키 앞 2자리/키 파일. 첫 줄에 만료 시각(epoch ms)을 적고 나머지가 응답 텍스트다.
+ *   재시작 후에도 남아 있으며 디스크에서 찾으면 메모리 계층으로 올린다.
+ * - 만료된 파일은 읽을 때 무시하고 주기적으로 삭제한다.
+ */
+@Component
+@Slf4j
+public class LlmResponseCache {
+
+    private final Cache<String, String> memory;
+    private final Path directory;
+    private final boolean diskEnabled;
+    private final long ttlMillis;
+
+    public LlmResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.llm.cache.memory-max-entries:1000}") long memoryMaxEntries,
+            @Value("${app.llm.cache.ttl-hours:24}") long ttlHours,
+            @Value("${app.llm.cache.disk-enabled:true}") boolean diskEnabled,
+            @Value("${app.llm.cache.dir:${java.io.tmpdir}/devzip-llm-cache}") String directory) {
+        this.ttlMillis = Duration.ofHours(Math.max(1, ttlHours)).toMillis();
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(memoryMaxEntries)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "llm.responses");
+        this.directory = Paths.get(directory);
+        this.diskEnabled = diskEnabled && prepareDirectory(this.directory);
+    }
+
+    private static boolean prepareDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return true;
+        } catch (IOException e) {
+            log.warn("LLM 응답 디스크 캐시 디렉터리를 만들 수 없어 메모리 캐시만 사용: {}", directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * 모델명과 요청 본문으로 캐시 키 생성
+     */
+    public static String key(String model, String requestBody) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(requestBody.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 메모리 → 디스크 순으로 조회
+     */
+    public Lookup get(String key) {
+        String cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return new Lookup(cached, Tier.MEMORY);
+        }
+        String fromDisk = readDisk(key);
+        if (fromDisk != null) {
+            memory.put(key, fromDisk);
+            return new Lookup(fromDisk, Tier.DISK);
+        }
+        return new Lookup(null, Tier.NONE);
+    }
+
+    public void put(String key, String value) {
+        memory.put(key, value);
+        writeDisk(key, value);
+    }
+
+    /**
+     * 만료된 디스크 항목 삭제 (매시 20분)
+     */
+    @Scheduled(cron = "0 20 * * * ?", scheduler = TraceBoardConfig.BATCH_SCHEDULER)
+    public void pruneExpired() {
+        if (!diskEnabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            // 쓰는 중인 임시 파일은 건드리지 않는다 (쓰기 실패 시 writeDisk 가 직접 지운다)
+            for (Path file : (Iterable<Path>) files
+                    .filter(f -> Files.isRegularFile(f) && !f.getFileName().toString().endsWith(".tmp"))::iterator) {
+                if (isExpired(file, now)) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("LLM 응답 디스크 캐시 정리 실패", e);
+        }
+        log.debug("만료된 LLM 응답 캐시 파일 정리: {} 건", deleted);
+    }
+
+    private boolean isExpired(Path file, long now) {
+        try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            return header == null || Long.parseLong(header.trim()) < now;
+        } catch (IOException | NumberFormatException e) {
+            // 읽을 수 없거나 형식이 깨진 파일은 정리 대상이다
+            return true;
+        }
+    }
+
+    private String readDisk(String key) {
+        if (!diskEnabled) {
+            return null;
+        }
+        Path file = pathOf(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            String stored = Files.readString(file, StandardCharsets.UTF_8);
+            int newline = stored.indexOf('\n');
+            if (newline < 0) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(stored.substring(0, newline).trim());
+            if (expiresAt < System.currentTimeMillis()) {
+                return null;
+            }
+            return stored.substring(newline + 1);
+        } catch (IOException | NumberFormatException e) {
+            log.debug("LLM 응답 디스크 캐시 읽기 실패: {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, String value) {
+        if (!diskEnabled) {
+            return;
+        }
+        Path file = pathOf(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            // 읽는 쪽이 절반만 쓰인 파일을 보지 않도록 임시 파일에 쓴 뒤 옮긴다
+            temp = Files.createTempFile(file.getParent(), key, ".tmp");
+            Files.writeString(temp, (System.currentTimeMillis() + ttlMillis) + "\n" + value, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("LLM 응답 디스크 캐시 쓰기 실패: {}", file, e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // 임시 파일 정리 실패는 캐시 동작에 영향이 없으므로 무시한다
+                }
+            }
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    public enum Tier {
+        MEMORY, DISK, NONE
+    }
+
+    public record Lookup(String value, Tier tier) {
+        public boolean hit() {
+            return value != null;
+        }
+    }
+}
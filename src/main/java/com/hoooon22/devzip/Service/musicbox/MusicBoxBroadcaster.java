@@ -0,0 +1,250 @@
+package com.hoooon22.devzip.Service.musicbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hoooon22.devzip.dto.musicbox.GridCellMessage;
+import com.hoooon22.devzip.dto.musicbox.GridDiffMessage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 뮤직박스 브로드캐스트 coalescer
+ *
+ * 토글마다 GridCellMessage 를 보내던 방식을 대체한다.
+ * - 전용 스레드가 tick-ms(기본 25ms) 마다 등록된 그리드의 unsent 비트를 가져가,
+ *   바뀐 셀이 있으면 비트마스크 diff 프레임(GridDiffMessage) 하나를 순번과 함께 보낸다.
+ * - 최근 retained-frames 개 프레임을 보관해, 순번이 빈 클라이언트가 누락분만 다시 받을 수 있게 한다.
+ *   보관 범위를 벗어나면 클라이언트는 순번이 포함된 전체 스냅샷을 받는다.
+ * - 순번은 그리드가 아니라 destination(방)마다 이어진다. 유휴 정리 후 다시 적재하거나 크기를 바꿔 그리드가
+ *   교체되어도 순번은 처음으로 돌아가지 않으며, 교체 시 보관 프레임만 비워 누락 복구는 스냅샷으로 하게 한다.
+ * - 지표: musicbox.broadcast.toggles(입력 토글 수, 기존 방식의 메시지 수), musicbox.broadcast.frames(실제 전송 수),
+ *   musicbox.broadcast.bytes(프레임 크기)
+ */
+@Component
+@Slf4j
+public class MusicBoxBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final long tickMs;
+    private final int retainedFrames;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    private final Counter toggleCounter;
+    private final Counter frameCounter;
+    private final DistributionSummary frameBytes;
+
+    private ScheduledExecutorService ticker;
+
+    public MusicBoxBroadcaster(SimpMessagingTemplate messagingTemplate,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.musicbox.broadcast-tick-ms:25}") long tickMs,
+                               @Value("${app.musicbox.retained-frames:256}") int retainedFrames) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.tickMs = Math.max(1, tickMs);
+        this.retainedFrames = Math.max(1, retainedFrames);
+
+        this.toggleCounter = Counter.builder("musicbox.broadcast.toggles")
+                .description("브로드캐스트 대상 셀 변경 수")
+                .register(meterRegistry);
+        this.frameCounter = Counter.builder("musicbox.broadcast.frames")
+                .description("전송한 diff 프레임 수")
+                .register(meterRegistry);
+        this.frameBytes = DistributionSummary.builder("musicbox.broadcast.bytes")
+                .description("diff 프레임 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "MusicBox-Broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdown();
+        }
+    }
+
+    /**
+     * 그리드의 변경을 destination 으로 브로드캐스트하도록 등록 (이미 있던 그리드는 교체하고 순번은 이어감)
+     */
+    public void register(String destination, MusicGrid grid) {
+        Channel channel = channels.computeIfAbsent(destination, Channel::new);
+        synchronized (channel) {
+            if (channel.grid != grid) {
+                channel.grid = grid;
+                // 이전 그리드의 프레임은 새 그리드에 이어 붙일 수 없다
+                channel.recent.clear();
+            }
+        }
+    }
+
+    /**
+     * 브로드캐스트 대상에서 제외 (순번은 다시 등록될 때를 위해 남김)
+     */
+    public void unregister(String destination, MusicGrid grid) {
+        Channel channel = channels.get(destination);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            if (channel.grid == grid) {
+                channel.grid = null;
+                channel.recent.clear();
+            }
+        }
+    }
+
+    /**
+     * 토글 한 건 기록 (지표용)
+     */
+    public void recordToggle() {
+        toggleCounter.increment();
+    }
+
+    /**
+     * 마지막으로 보낸 프레임 순번
+     */
+    public long currentSeq(String destination) {
+        Channel channel = channels.get(destination);
+        return channel != null ? channel.seq : 0L;
+    }
+
+    /**
+     * since 이후의 프레임 (보관 범위를 벗어났으면 null → 전체 스냅샷 필요)
+     */
+    public List<GridDiffMessage> framesSince(String destination, long since) {
+        Channel channel = channels.get(destination);
+        if (channel == null) {
+            return null;
+        }
+        synchronized (channel) {
+            if (since >= channel.seq) {
+                return List.of();
+            }
+            GridDiffMessage oldest = channel.recent.peekFirst();
+            if (oldest == null || oldest.getSeq() > since + 1) {
+                return null;
+            }
+            List<GridDiffMessage> frames = new ArrayList<>();
+            for (GridDiffMessage frame : channel.recent) {
+                if (frame.getSeq() > since) {
+                    frames.add(frame);
+                }
+            }
+            return frames;
+        }
+    }
+
+    /**
+     * 비트셋 → Base64 (long 단위 little-endian)
+     */
+    public static String encode(long[] bits) {
+        return Base64.getEncoder().encodeToString(MusicGrid.toBytes(bits));
+    }
+
+    private void tick() {
+        channels.forEach((destination, channel) -> {
+            MusicGrid grid = channel.grid;
+            if (grid == null) {
+                return;
+            }
+            try {
+                publish(grid, channel);
+            } catch (Exception e) {
+                log.error("Failed to broadcast music grid diff to {}", channel.destination, e);
+            }
+        });
+    }
+
+    private void publish(MusicGrid grid, Channel channel) throws Exception {
+        long[] changed = grid.drainUnsent();
+        if (changed == null) {
+            return;
+        }
+        long[] state = grid.snapshot();
+        long[] active = new long[changed.length];
+        int toggles = 0;
+        for (int word = 0; word < changed.length; word++) {
+            active[word] = state[word] & changed[word];
+            toggles += Long.bitCount(changed[word]);
+        }
+
+        GridDiffMessage frame;
+        synchronized (channel) {
+            if (channel.grid != grid) {
+                // 그 사이 교체된 그리드의 변경 (새 그리드 스냅샷에 이미 반영됨)
+                return;
+            }
+            frame = GridDiffMessage.builder()
+                    .type(GridCellMessage.MessageType.DIFF)
+                    .seq(channel.seq + 1)
+                    .gridWidth(grid.getWidth())
+                    .gridHeight(grid.getHeight())
+                    .changed(encode(changed))
+                    .active(encode(active))
+                    .toggles(toggles)
+                    .build();
+            channel.recent.addLast(frame);
+            while (channel.recent.size() > retainedFrames) {
+                channel.recent.removeFirst();
+            }
+            channel.seq = frame.getSeq();
+        }
+
+        byte[] payload = objectMapper.writeValueAsBytes(frame);
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(channel.destination, MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+
+        frameCounter.increment();
+        frameBytes.record(payload.length);
+    }
+
+    /**
+     * destination(방) 하나의 브로드캐스트 상태
+     */
+    private static final class Channel {
+        private final String destination;
+        private final Deque<GridDiffMessage> recent = new ArrayDeque<>();
+        private volatile MusicGrid grid;
+        private volatile long seq;
+
+        Channel(String destination) {
+            this.destination = destination;
+        }
+    }
+}
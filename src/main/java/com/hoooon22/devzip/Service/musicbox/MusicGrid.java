@@ -0,0 +1,229 @@
+package com.hoooon22.devzip.Service.musicbox;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 메모리 상의 뮤직 그리드 상태 (DB 보다 우선하는 원본)
+ *
+ * 셀 (x, y) 는 비트 인덱스 y * width + x 에 대응하며, 64칸마다 long 한 개를 쓴다 (16x8 그리드는 long 2개).
+ * - 토글은 해당 long 에 대한 CAS 로 락 없이 수행되며, 같은 셀에 대한 동시 토글도 순서대로 반영된다.
+ * - 상태가 바뀐 셀은 dirty 비트로 표시되고, write-behind 플러시가 drainDirty() 로 가져가 최종 상태만 저장한다.
+ * - 저장 형식은 long 단위 little-endian 바이트열이다 (toBytes / loadBytes).
+ * - 같은 셀은 unsent 비트로도 표시되며, MusicBoxBroadcaster 가 drainUnsent() 로 가져가 diff 프레임을 만든다.
+ */
+public final class MusicGrid {
+
+    private final int width;
+    private final int height;
+    private final AtomicLongArray cells;
+    private final AtomicLongArray dirty;
+    private final AtomicLongArray unsent;
+    private volatile String lastModifiedBy;
+
+    public MusicGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        int words = (width * height + 63) >>> 6;
+        this.cells = new AtomicLongArray(words);
+        this.dirty = new AtomicLongArray(words);
+        this.unsent = new AtomicLongArray(words);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 셀 상태를 뒤집고 새 상태를 반환
+     */
+    public boolean toggle(int x, int y, String username) {
+        int index = index(x, y);
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        long next;
+        do {
+            current = cells.get(word);
+            next = current ^ mask;
+        } while (!cells.compareAndSet(word, current, next));
+
+        lastModifiedBy = username;
+        markDirty(word, mask);
+        return (next & mask) != 0;
+    }
+
+    public boolean isActive(int x, int y) {
+        int index = index(x, y);
+        return (cells.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * 모든 셀을 끄고, 켜져 있던 셀은 dirty/unsent 로 표시
+     */
+    public void clear() {
+        for (int word = 0; word < cells.length(); word++) {
+            long previous = cells.getAndSet(word, 0L);
+            if (previous != 0) {
+                markDirty(word, previous);
+            }
+        }
+    }
+
+    /**
+     * 저장소에서 읽은 활성 셀 적재 (dirty 로 표시하지 않음)
+     */
+    public void load(int x, int y) {
+        int index = index(x, y);
+        cells.getAndUpdate(index >>> 6, value -> value | (1L << index));
+    }
+
+    /**
+     * 현재 상태 복사본 (word 단위로 일관됨)
+     */
+    public long[] snapshot() {
+        long[] copy = new long[cells.length()];
+        for (int word = 0; word < copy.length; word++) {
+            copy[word] = cells.get(word);
+        }
+        return copy;
+    }
+
+    /**
+     * 저장이 필요한 셀 비트를 가져가고 초기화
+     */
+    public long[] drainDirty() {
+        return drain(dirty);
+    }
+
+    /**
+     * 마지막 브로드캐스트 이후 바뀐 셀 비트를 가져가고 초기화 (바뀐 셀이 없으면 null)
+     */
+    public long[] drainUnsent() {
+        long[] drained = drain(unsent);
+        for (long word : drained) {
+            if (word != 0) {
+                return drained;
+            }
+        }
+        return null;
+    }
+
+    public int wordCount() {
+        return cells.length();
+    }
+
+    /**
+     * 저장에 실패한 셀 비트를 다시 dirty 로 표시
+     */
+    public void restoreDirty(long[] bits) {
+        for (int word = 0; word < bits.length; word++) {
+            long mask = bits[word];
+            if (mask != 0) {
+                dirty.getAndUpdate(word, value -> value | mask);
+            }
+        }
+    }
+
+    public String getLastModifiedBy() {
+        return lastModifiedBy;
+    }
+
+    /**
+     * 저장된 비트셋 적재 (크기가 같은 그리드에서 저장한 값이어야 하며, dirty 로 표시하지 않음)
+     */
+    public void loadBytes(byte[] bytes) {
+        long[] words = fromBytes(bytes, cells.length());
+        for (int word = 0; word < words.length; word++) {
+            cells.set(word, words[word]);
+        }
+    }
+
+    /**
+     * 다른 크기의 그리드에서 겹치는 영역의 셀을 복사 (크기 변경용, 복사된 셀은 dirty/unsent 로 표시)
+     */
+    public void copyFrom(MusicGrid source) {
+        long[] state = source.snapshot();
+        int copyWidth = Math.min(width, source.width);
+        int copyHeight = Math.min(height, source.height);
+        for (int y = 0; y < copyHeight; y++) {
+            for (int x = 0; x < copyWidth; x++) {
+                if (isSet(state, y * source.width + x)) {
+                    int index = index(x, y);
+                    int word = index >>> 6;
+                    long mask = 1L << index;
+                    cells.getAndUpdate(word, value -> value | mask);
+                    markDirty(word, mask);
+                }
+            }
+        }
+        lastModifiedBy = source.lastModifiedBy;
+    }
+
+    /**
+     * 비트셋 → long 단위 little-endian 바이트열
+     */
+    public static byte[] toBytes(long[] words) {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    private static long[] fromBytes(byte[] bytes, int wordCount) {
+        long[] words = new long[wordCount];
+        if (bytes == null) {
+            return words;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int word = 0; word < wordCount && buffer.remaining() >= Long.BYTES; word++) {
+            words[word] = buffer.getLong();
+        }
+        return words;
+    }
+
+    public int cellCount() {
+        return width * height;
+    }
+
+    public boolean isValid(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private int index(int x, int y) {
+        if (!isValid(x, y)) {
+            throw new IllegalArgumentException(
+                    String.format("Coordinates must be within 0..%d, 0..%d", width - 1, height - 1));
+        }
+        return y * width + x;
+    }
+
+    private void markDirty(int word, long mask) {
+        dirty.getAndUpdate(word, value -> value | mask);
+        unsent.getAndUpdate(word, value -> value | mask);
+    }
+
+    private static long[] drain(AtomicLongArray bits) {
+        long[] drained = new long[bits.length()];
+        for (int word = 0; word < drained.length; word++) {
+            drained[word] = bits.getAndSet(word, 0L);
+        }
+        return drained;
+    }
+
+    /**
+     * 비트셋에서 셀 상태 확인 (snapshot()/drainDirty() 결과용)
+     */
+    public static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
@@ -1,6 +1,8 @@
 package com.hoooon22.devzip.Service.traceboard;
 
+import com.hoooon22.devzip.Config.TraceBoardConfig;
 import com.hoooon22.devzip.Model.traceboard.AccessLog;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch.Source;
 import com.hoooon22.devzip.Repository.traceboard.AccessLogRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,9 @@ public class AccessLogService {
     @Autowired
     private AccessLogRepository accessLogRepository;
 
+    @Autowired
+    private VisitorSketchService visitorSketchService;
+
     /**
      * 접근 로그 저장
      */
@@ -109,7 +114,7 @@ public class AccessLogService {
      * 오래된 로그 자동 삭제 (매일 새벽 3시 실행)
      * 6개월 이상 된 로그 삭제 (개인정보 보호법 준수)
      */
-    @Scheduled(cron = "0 0 3 * * ?")
+    @Scheduled(cron = "0 0 3 * * ?", scheduler = TraceBoardConfig.BATCH_SCHEDULER)
     @Transactional
     public void deleteOldAccessLogs() {
         LocalDateTime cutoffDate = LocalDateTime.now().minusMonths(6);
@@ -135,16 +140,12 @@ public class AccessLogService {
         Map<String, Object> stats = new HashMap<>();
 
         // 전체 접근 횟수
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        Page<AccessLog> allLogs = accessLogRepository.findByAccessTimeBetween(startTime, endTime, pageable);
-        stats.put("totalAccesses", allLogs.getTotalElements());
+        stats.put("totalAccesses", accessLogRepository.countByAccessTimeBetween(startTime, endTime));
 
-        // 고유 방문자 수 (고유 IP 수)
-        List<Map<String, Object>> dailyVisitors = accessLogRepository.getDailyUniqueVisitors(startTime, endTime);
-        long totalUniqueVisitors = dailyVisitors.stream()
-            .mapToLong(m -> ((Number) m.get("uniqueVisitors")).longValue())
-            .sum();
-        stats.put("totalUniqueVisitors", totalUniqueVisitors);
+        // 고유 방문자 수 (고유 IP 수): 버킷별 HyperLogLog 스케치를 병합해 추정
+        // 일별 COUNT(DISTINCT) 합계와 달리 여러 날 방문한 IP를 한 번만 센다 (오차 약 1.6%)
+        stats.put("totalUniqueVisitors",
+            visitorSketchService.estimateUniqueVisitors(Source.ACCESS_LOG, startTime, endTime));
 
         // 에러 발생 횟수
         Page<AccessLog> errorLogs = accessLogRepository.findErrorLogs(
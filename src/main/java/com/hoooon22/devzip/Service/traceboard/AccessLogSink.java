@@ -0,0 +1,272 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hoooon22.devzip.Model.traceboard.AccessLog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 접근 로그 전용 writer
+ *
+ * AccessLogInterceptor 가 요청마다 CompletableFuture.runAsync(공용 ForkJoinPool) + 트랜잭션으로 저장하던 방식을 대체한다.
+ * - 요청 스레드는 고정 크기 큐에 넣기만 한다 (다중 생산자, 단일 소비자).
+ * - 큐가 가득 차면 가장 오래된 로그를 버리고 새 로그를 넣는다 (접근 로그는 최신 것이 더 유용하다).
+ * - 전용 writer 스레드가 GeoIP 국가 정보를 채운 뒤 batchSize 건 또는 flushInterval 마다 다중 행 INSERT 로 기록한다.
+ *   국가 정보는 캐시·로컬 DB 로만 채우고, 없으면 비워 둔 채 기록한 뒤 GeoIPService 전용 스레드의 원격 조회 결과로 UPDATE 한다.
+ *   (ip-api 가 느리거나 요청 제한에 걸려도 INSERT 가 밀리지 않는다)
+ *   (IDENTITY 키 전략에서는 hibernate.jdbc.batch_size 가 적용되지 않으므로 JDBC 로 직접 기록한다)
+ * - 요청에서 온 문자열은 컬럼 길이에 맞게 자르고, 그래도 배치가 실패하면 한 건씩 다시 기록해 문제가 있는 로그만 유실되게 한다.
+ * - 종료 시 남은 로그를 모두 flush 한다.
+ */
+@Component
+@Slf4j
+public class AccessLogSink {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO access_logs (ip_address, username, user_role, request_method, request_uri, query_string, " +
+            "http_status, user_agent, referer, session_id, response_time_ms, access_time, error_message, " +
+            "country_code, country_name, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+    private static final int COLUMN_COUNT = 17;
+    // utf8mb4 TEXT(65535 바이트)에 들어가는 글자 수
+    private static final int TEXT_LENGTH = 16_383;
+    private static final String UPDATE_COUNTRY =
+            "UPDATE access_logs SET country_code = ?, country_name = ? WHERE ip_address = ? AND country_code IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GeoIPService geoIPService;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<AccessLog> queue;
+
+    private final Counter enqueuedCounter;
+    private final Counter droppedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer writeLatency;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLogSink(
+            JdbcTemplate jdbcTemplate,
+            GeoIPService geoIPService,
+            MeterRegistry meterRegistry,
+            @Value("${app.access-log.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.access-log.batch-size:200}") int batchSize,
+            @Value("${app.access-log.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.geoIPService = geoIPService;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+
+        Gauge.builder("traceboard.access_log.queue.depth", queue, BlockingQueue::size)
+                .description("기록 대기 중인 접근 로그 수")
+                .register(meterRegistry);
+        this.enqueuedCounter = Counter.builder("traceboard.access_log.enqueued")
+                .description("큐에 넣은 접근 로그 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("traceboard.access_log.dropped")
+                .description("큐 초과로 버린 접근 로그 수")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("traceboard.access_log.flushed")
+                .description("DB에 기록한 접근 로그 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("traceboard.access_log.failed")
+                .description("DB 기록에 실패해 유실된 접근 로그 수")
+                .register(meterRegistry);
+        this.writeLatency = Timer.builder("traceboard.access_log.write.latency")
+                .description("배치 INSERT 소요 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "TraceBoard-AccessLog-Writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("접근 로그 writer 시작: capacity={}, batchSize={}, flushInterval={}ms",
+                queue.remainingCapacity(), batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // writer가 시간 내에 끝나지 못했더라도 남은 로그는 최대한 기록한다
+        List<AccessLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("접근 로그 writer 종료");
+    }
+
+    /**
+     * 접근 로그를 큐에 넣는다. 큐가 가득 차면 가장 오래된 로그를 버린다 (호출 스레드는 기다리지 않음).
+     */
+    public void offer(AccessLog accessLog) {
+        while (!queue.offer(accessLog)) {
+            if (queue.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+        enqueuedCounter.increment();
+    }
+
+    private void runWriter() {
+        List<AccessLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AccessLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 크기 또는 시간 중 먼저 도달하는 조건으로 배치를 마감한다
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0 || !running) {
+                        break;
+                    }
+                    AccessLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("접근 로그 writer 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AccessLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 국가 정보는 캐시·로컬 DB 로만 채운다 (원격 조회가 필요한 IP 는 기록 뒤 비동기로 채운다)
+        Set<String> unresolvedIps = new HashSet<>();
+        for (AccessLog accessLog : batch) {
+            if (accessLog.getCountryCode() == null) {
+                GeoIPService.GeoLocation geoLocation = geoIPService.findWithoutRemote(accessLog.getIpAddress());
+                if (geoLocation != null) {
+                    accessLog.setCountryCode(geoLocation.getCountryCode());
+                    accessLog.setCountryName(geoLocation.getCountryName());
+                } else {
+                    unresolvedIps.add(accessLog.getIpAddress());
+                }
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            insert(batch);
+            flushedCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.warn("접근 로그 배치 저장 실패, 한 건씩 재시도: {} 건", batch.size(), e);
+            // 잘못된 로그 한 건 때문에 배치 전체가 유실되지 않도록 개별 저장
+            for (AccessLog accessLog : batch) {
+                try {
+                    insert(List.of(accessLog));
+                    flushedCounter.increment();
+                } catch (Exception single) {
+                    failedCounter.increment();
+                    log.error("접근 로그 저장 실패, 유실: {} {} ({})",
+                            accessLog.getRequestMethod(), accessLog.getRequestUri(), single.getMessage());
+                }
+            }
+        } finally {
+            writeLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        // 기록된 뒤에 예약해야 조회 결과 UPDATE 가 이 배치의 행도 채운다
+        unresolvedIps.forEach(ip -> geoIPService.resolveAsync(ip, location -> fillCountry(ip, location)));
+    }
+
+    private void insert(List<AccessLog> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 1));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMN_COUNT];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int i = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            if (row > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+
+            // 요청에서 온 값은 AccessLog 의 컬럼 길이에 맞게 자른다
+            AccessLog a = batch.get(row);
+            args[i++] = truncate(a.getIpAddress(), 45);
+            args[i++] = truncate(a.getUsername(), 100);
+            args[i++] = truncate(a.getUserRole(), 20);
+            args[i++] = truncate(a.getRequestMethod(), 10);
+            args[i++] = truncate(a.getRequestUri(), 2048);
+            args[i++] = truncate(a.getQueryString(), 2048);
+            args[i++] = a.getHttpStatus();
+            args[i++] = truncate(a.getUserAgent(), TEXT_LENGTH);
+            args[i++] = truncate(a.getReferer(), 2048);
+            args[i++] = truncate(a.getSessionId(), 100);
+            args[i++] = a.getResponseTimeMs();
+            args[i++] = a.getAccessTime() != null ? Timestamp.valueOf(a.getAccessTime()) : now;
+            args[i++] = truncate(a.getErrorMessage(), TEXT_LENGTH);
+            args[i++] = truncate(a.getCountryCode(), 2);
+            args[i++] = truncate(a.getCountryName(), 100);
+            args[i++] = now;
+            args[i++] = now;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 국가 정보 없이 기록된 접근 로그에 원격 조회 결과 반영 (GeoIP 조회 스레드에서 실행)
+     */
+    private void fillCountry(String ipAddress, GeoIPService.GeoLocation location) {
+        try {
+            jdbcTemplate.update(UPDATE_COUNTRY, location.getCountryCode(), location.getCountryName(), ipAddress);
+        } catch (Exception e) {
+            log.warn("접근 로그 국가 정보 갱신 실패: {} ({})", ipAddress, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.hoooon22.devzip.Model.traceboard.EventLog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이벤트 로그 비동기 수집 버퍼
+ *
+ * POST /api/traceboard/event 요청마다 save() + 트랜잭션을 열던 방식을 대체한다.
+ * - 요청 스레드는 고정 크기 링 버퍼(ArrayBlockingQueue)에 넣기만 하고 바로 202를 돌려준다.
+ * - 전용 writer 스레드가 batchSize 만큼 모이거나 flushInterval 이 지나면
+ *   다중 행 INSERT 한 번으로 DB에 기록한다.
+ * - 클라이언트가 보낸 문자열은 컬럼 길이에 맞게 자르고, 그래도 배치가 실패하면 한 건씩 다시 기록해
+ *   문제가 있는 이벤트만 유실되게 한다.
+ * - 버퍼가 가득 차면 offer()가 false를 돌려주고, 컨트롤러는 429로 응답한다(backpressure).
+ * - 종료 시 남은 이벤트를 모두 flush 한 뒤 내려간다.
+ */
+@Component
+@Slf4j
+public class EventLogIngestBuffer {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO event_logs (event_type, user_id, session_id, path, referrer, event_data, " +
+            "device_type, browser, os, ip_address_hash, user_agent_encrypted, occurred_at, " +
+            "latitude, longitude, timestamp, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+    private static final int COLUMN_COUNT = 17;
+    // VARCHAR 기본 길이와 utf8mb4 TEXT(65535 바이트)에 들어가는 글자 수
+    private static final int VARCHAR_LENGTH = 255;
+    private static final int TEXT_LENGTH = 16_383;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean asyncEnabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<EventLog> queue;
+
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary flushSize;
+    private final Timer flushLatency;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public EventLogIngestBuffer(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.ingest.async-enabled:true}") boolean asyncEnabled,
+            @Value("${app.ingest.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${app.ingest.batch-size:200}") int batchSize,
+            @Value("${app.ingest.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.asyncEnabled = asyncEnabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+
+        Gauge.builder("traceboard.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("버퍼에 대기 중인 이벤트 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("traceboard.ingest.rejected")
+                .description("버퍼 초과로 거절된 이벤트 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("traceboard.ingest.failed")
+                .description("DB 기록에 실패해 유실된 이벤트 수")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("traceboard.ingest.flush.size")
+                .description("한 번에 기록한 이벤트 수")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("traceboard.ingest.flush.latency")
+                .description("배치 INSERT 소요 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            log.info("이벤트 로그 비동기 수집 비활성화 (동기 저장 모드)");
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "TraceBoard-Ingest-Writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("이벤트 로그 비동기 수집 시작: capacity={}, batchSize={}, flushInterval={}ms",
+                queue.remainingCapacity(), batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // writer가 시간 내에 끝나지 못했더라도 남은 이벤트는 최대한 기록한다
+        List<EventLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("이벤트 로그 비동기 수집 종료");
+    }
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
+
+    /**
+     * 이벤트를 버퍼에 넣는다. 버퍼가 가득 차면 기다리지 않고 false를 반환한다.
+     */
+    public boolean offer(EventLog eventLog) {
+        if (queue.offer(eventLog)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    private void runWriter() {
+        List<EventLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                EventLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // 크기 또는 시간 중 먼저 도달하는 조건으로 배치를 마감한다
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0 || !running) {
+                        break;
+                    }
+                    EventLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("이벤트 로그 writer 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<EventLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            insert(batch);
+            flushSize.record(batch.size());
+        } catch (Exception e) {
+            log.warn("이벤트 로그 배치 저장 실패, 한 건씩 재시도: {} 건", batch.size(), e);
+            // 잘못된 이벤트 한 건 때문에 배치 전체가 유실되지 않도록 개별 저장
+            int saved = 0;
+            for (EventLog eventLog : batch) {
+                try {
+                    insert(List.of(eventLog));
+                    saved++;
+                } catch (Exception single) {
+                    failedCounter.increment();
+                    log.error("이벤트 로그 저장 실패, 유실: type={}, path={} ({})",
+                            eventLog.getEventType(), eventLog.getPath(), single.getMessage());
+                }
+            }
+            flushSize.record(saved);
+        } finally {
+            flushLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void insert(List<EventLog> batch) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDER.length() + 1));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * COLUMN_COUNT];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int i = 0;
+        for (int row = 0; row < batch.size(); row++) {
+            if (row > 0) {
+                sql.append(',');
+            }
+            sql.append(ROW_PLACEHOLDER);
+
+            // 클라이언트가 보낸 값은 컬럼 길이에 맞게 자른다 (암호문·해시는 서버가 만든 값이라 자르지 않음)
+            EventLog e = batch.get(row);
+            args[i++] = e.getEventType() != null ? truncate(e.getEventType(), VARCHAR_LENGTH) : "page_view";
+            args[i++] = truncate(e.getUserId(), VARCHAR_LENGTH);
+            args[i++] = truncate(e.getSessionId(), VARCHAR_LENGTH);
+            args[i++] = truncate(e.getPath(), VARCHAR_LENGTH);
+            args[i++] = truncate(e.getReferrer(), VARCHAR_LENGTH);
+            args[i++] = truncate(e.getEventData(), TEXT_LENGTH);
+            args[i++] = truncate(e.getDeviceType(), VARCHAR_LENGTH);
+            args[i++] = truncate(e.getBrowser(), VARCHAR_LENGTH);
+            args[i++] = truncate(e.getOs(), VARCHAR_LENGTH);
+            args[i++] = e.getIpAddressHash();
+            args[i++] = e.getUserAgentEncrypted();
+            args[i++] = e.getOccurredAt() != null ? Timestamp.valueOf(e.getOccurredAt()) : now;
+            args[i++] = e.getLatitude();
+            args[i++] = e.getLongitude();
+            args[i++] = now;
+            args[i++] = now;
+            args[i++] = now;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -6,6 +6,7 @@ import com.hoooon22.devzip.Model.traceboard.dto.EventLogResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -54,9 +55,10 @@ public interface EventLogService {
     Map<String, Long> getPageViewCounts(LocalDateTime startDate, LocalDateTime endDate);
 
     /**
-     * 이벤트 데이터 CSV로 내보내기
+     * 이벤트 데이터 CSV로 내보내기 (커서로 읽으며 out 에 바로 기록, 건수 제한 없음)
+     * out 은 flush 만 하고 닫지 않는다.
      */
-    byte[] exportEventLogsToCSV(String eventType, LocalDateTime startDate, LocalDateTime endDate);
+    void exportEventLogsToCSV(String eventType, LocalDateTime startDate, LocalDateTime endDate, OutputStream out);
     
     /**
      * 대시보드용 데이터 조회 (기존 메서드 유지)
@@ -0,0 +1,270 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hoooon22.devzip.Config.TraceBoardConfig;
+import com.hoooon22.devzip.Model.traceboard.EventRollup;
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Dimension;
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+import com.hoooon22.devzip.Model.traceboard.RollupCheckpoint;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch.Source;
+import com.hoooon22.devzip.Repository.traceboard.EventLogRepository;
+import com.hoooon22.devzip.Repository.traceboard.EventLogRepository.RollupSource;
+import com.hoooon22.devzip.Repository.traceboard.EventRollupRepository;
+import com.hoooon22.devzip.Repository.traceboard.RollupCheckpointRepository;
+import com.hoooon22.devzip.Service.traceboard.RollupRange.Segment;
+import com.hoooon22.devzip.Service.traceboard.VisitorSketchService.SketchKey;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 이벤트 로그 사전 집계 서비스
+ *
+ * 집계: 스케줄러가 마지막 반영 ID 이후의 로그만 읽어 분/시/일 버킷과 고유 방문자 스케치를 증분 갱신한다.
+ *       (동기 저장과 비동기 배치 저장 어느 경로로 들어온 로그든 동일하게 반영된다)
+ * 조회: 요청 구간을 일 → 시 → 분 버킷 조합으로 분해(RollupRange)해 읽으므로 비용이 O(버킷)이다.
+ *       분 버킷은 보관 기간(기본 48시간)이 지나면 삭제되며, 그보다 오래된 구간의 경계는 시간 단위로 맞춘다.
+ */
+@Service
+@Slf4j
+public class EventRollupService {
+
+    private static final String CHECKPOINT_NAME = "event_rollup";
+    private static final int BATCH_SIZE = 5000;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private final EventLogRepository eventLogRepository;
+    private final EventRollupRepository rollupRepository;
+    private final RollupCheckpointRepository checkpointRepository;
+    private final VisitorSketchService visitorSketchService;
+    private final TransactionTemplate transactionTemplate;
+    private final long settleSeconds;
+    private final long minuteRetentionHours;
+
+    public EventRollupService(
+            EventLogRepository eventLogRepository,
+            EventRollupRepository rollupRepository,
+            RollupCheckpointRepository checkpointRepository,
+            VisitorSketchService visitorSketchService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.rollup.settle-seconds:10}") long settleSeconds,
+            @Value("${app.rollup.minute-retention-hours:48}") long minuteRetentionHours) {
+        this.eventLogRepository = eventLogRepository;
+        this.rollupRepository = rollupRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.visitorSketchService = visitorSketchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleSeconds = settleSeconds;
+        this.minuteRetentionHours = minuteRetentionHours;
+    }
+
+    /**
+     * 새로 쌓인 로그를 집계에 반영 (밀린 양이 많으면 한 번에 최대 MAX_BATCHES_PER_RUN 배치까지)
+     */
+    @Scheduled(fixedDelayString = "${app.rollup.interval-ms:15000}", initialDelayString = "${app.rollup.initial-delay-ms:10000}",
+               scheduler = TraceBoardConfig.BATCH_SCHEDULER)
+    public void rollupNewEvents() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                Integer processed = transactionTemplate.execute(status -> rollupNextBatch());
+                if (processed == null || processed < BATCH_SIZE) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("이벤트 로그 사전 집계 실패", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 분 단위 버킷 삭제 (매시 5분)
+     */
+    @Scheduled(cron = "0 5 * * * ?", scheduler = TraceBoardConfig.BATCH_SCHEDULER)
+    @Transactional
+    public void pruneMinuteBuckets() {
+        int deleted = rollupRepository.deleteOlderThan(Granularity.MINUTE, minuteFloor());
+        log.debug("분 단위 집계 버킷 정리: {} 건", deleted);
+    }
+
+    private int rollupNextBatch() {
+        RollupCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .orElseGet(() -> new RollupCheckpoint(CHECKPOINT_NAME, 0L));
+
+        // 커밋 순서가 ID 순서와 어긋나는 경우를 피하기 위해 기록 직후의 로그는 다음 주기로 미룬다
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleSeconds);
+        List<RollupSource> rows = eventLogRepository.findRollupSources(
+                checkpoint.getLastId(), settledBefore, PageRequest.of(0, BATCH_SIZE));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<BucketKey, Long> deltas = new HashMap<>();
+        Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+        for (RollupSource row : rows) {
+            LocalDateTime occurredAt = row.getOccurredAt();
+            if (occurredAt == null) {
+                continue;
+            }
+            visitorSketchService.addVisitor(sketches, occurredAt, visitorKey(row));
+            String eventType = normalizeEventType(row.getEventType());
+            boolean pageView = "pageview".equals(eventType);
+            for (Granularity granularity : Granularity.values()) {
+                LocalDateTime bucket = granularity.truncate(occurredAt);
+                increment(deltas, granularity, bucket, Dimension.TOTAL, EventRollup.ALL);
+                increment(deltas, granularity, bucket, Dimension.EVENT_TYPE, eventType);
+                if (pageView) {
+                    increment(deltas, granularity, bucket, Dimension.PAGE_VIEW_PATH, row.getPath());
+                }
+                increment(deltas, granularity, bucket, Dimension.DEVICE, row.getDeviceType());
+                increment(deltas, granularity, bucket, Dimension.BROWSER, row.getBrowser());
+                increment(deltas, granularity, bucket, Dimension.OS, row.getOs());
+            }
+        }
+        applyDeltas(deltas);
+        visitorSketchService.mergeSketches(Source.EVENT_LOG, sketches);
+
+        checkpoint.setLastId(rows.get(rows.size() - 1).getId());
+        checkpointRepository.save(checkpoint);
+        log.debug("이벤트 로그 {} 건 집계 반영 (lastId={})", rows.size(), checkpoint.getLastId());
+        return rows.size();
+    }
+
+    /**
+     * 방문자 식별 키: userId 가 있으면 userId, 없으면 IP 해시
+     * (userId와 IP 해시 문자열이 우연히 겹치는 것을 막기 위해 접두사를 붙인다)
+     */
+    private String visitorKey(RollupSource row) {
+        String userId = row.getUserId();
+        if (userId != null && !userId.isEmpty()) {
+            return "u:" + userId;
+        }
+        String ipHash = row.getIpAddressHash();
+        return ipHash != null ? "ip:" + ipHash : null;
+    }
+
+    private void increment(Map<BucketKey, Long> deltas, Granularity granularity, LocalDateTime bucket,
+                           Dimension dimension, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (value.length() > MAX_VALUE_LENGTH) {
+            value = value.substring(0, MAX_VALUE_LENGTH);
+        }
+        deltas.merge(new BucketKey(granularity, bucket, dimension, value), 1L, Long::sum);
+    }
+
+    private void applyDeltas(Map<BucketKey, Long> deltas) {
+        Map<Granularity, Set<LocalDateTime>> bucketsByGranularity = deltas.keySet().stream()
+                .collect(Collectors.groupingBy(BucketKey::granularity,
+                        Collectors.mapping(BucketKey::bucketStart, Collectors.toSet())));
+
+        Map<BucketKey, EventRollup> existing = new HashMap<>();
+        bucketsByGranularity.forEach((granularity, buckets) -> {
+            for (EventRollup rollup : rollupRepository.findByGranularityAndBucketStartIn(granularity, buckets)) {
+                existing.put(BucketKey.of(rollup), rollup);
+            }
+        });
+
+        List<EventRollup> toSave = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            EventRollup rollup = existing.get(key);
+            if (rollup == null) {
+                rollup = EventRollup.builder()
+                        .granularity(key.granularity())
+                        .bucketStart(key.bucketStart())
+                        .dimension(key.dimension())
+                        .dimensionValue(key.value())
+                        .build();
+            }
+            rollup.setEventCount(rollup.getEventCount() + delta);
+            toSave.add(rollup);
+        });
+        rollupRepository.saveAll(toSave);
+    }
+
+    /**
+     * 구간 [start, end] 의 차원별 이벤트 수 집계
+     */
+    @Transactional(readOnly = true)
+    public Summary summarize(LocalDateTime start, LocalDateTime end) {
+        Map<Dimension, Map<String, Long>> counts = new EnumMap<>(Dimension.class);
+        for (Segment segment : RollupRange.plan(start, end, minuteFloor(), true)) {
+            for (EventRollup rollup : rollupRepository.findInRange(segment.granularity(), segment.from(), segment.to())) {
+                counts.computeIfAbsent(rollup.getDimension(), d -> new HashMap<>())
+                        .merge(rollup.getDimensionValue(), rollup.getEventCount(), Long::sum);
+            }
+        }
+        return new Summary(counts);
+    }
+
+    /**
+     * 구간 [start, end] 의 시간대(0~23시)별 이벤트 수 집계
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, Long> countByHourOfDay(LocalDateTime start, LocalDateTime end) {
+        Map<Integer, Long> hourly = new HashMap<>();
+        // 일 단위 버킷은 시간대 정보가 없으므로 시/분 버킷만 사용한다
+        for (Segment segment : RollupRange.plan(start, end, minuteFloor(), false)) {
+            for (EventRollup rollup : rollupRepository.findInRange(
+                    segment.granularity(), Dimension.TOTAL, segment.from(), segment.to())) {
+                hourly.merge(rollup.getBucketStart().getHour(), rollup.getEventCount(), Long::sum);
+            }
+        }
+        return hourly;
+    }
+
+    private LocalDateTime minuteFloor() {
+        return RollupRange.minuteFloor(minuteRetentionHours);
+    }
+
+    /**
+     * 대시보드와 동일한 규칙으로 이벤트 타입 정규화 (소문자, 언더스코어 제거)
+     */
+    public static String normalizeEventType(String eventType) {
+        if (eventType == null) {
+            return "unknown";
+        }
+        return eventType.toLowerCase().replace("_", "");
+    }
+
+    private record BucketKey(Granularity granularity, LocalDateTime bucketStart, Dimension dimension, String value) {
+        static BucketKey of(EventRollup rollup) {
+            return new BucketKey(rollup.getGranularity(), rollup.getBucketStart(),
+                    rollup.getDimension(), rollup.getDimensionValue());
+        }
+    }
+
+    /**
+     * 차원별 집계 결과
+     */
+    public record Summary(Map<Dimension, Map<String, Long>> counts) {
+
+        public Map<String, Long> distribution(Dimension dimension) {
+            return counts.getOrDefault(dimension, Map.of());
+        }
+
+        public long count(Dimension dimension, String value) {
+            return distribution(dimension).getOrDefault(value, 0L);
+        }
+
+        public long total() {
+            return count(Dimension.TOTAL, EventRollup.ALL);
+        }
+    }
+}
@@ -1,34 +1,67 @@
 package com.hoooon22.devzip.Service.traceboard;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * GeoIP 서비스
  * IP 주소로부터 국가 정보를 조회하는 서비스
  *
- * 사용 API: ip-api.com (무료, 45 req/min 제한)
- * - 프로덕션 환경에서는 MaxMind GeoIP2 같은 로컬 DB 사용 권장
+ * 조회 백엔드(GeoLocationResolver)를 @Order 순서대로 시도한다.
+ * - LocalGeoLocationResolver: 로컬 IP 대역 DB (app.geoip.database-path, 네트워크 호출 없음)
+ * - IpApiGeoLocationResolver: ip-api.com (로컬 DB 에 없을 때의 보조 수단)
+ *
+ * 결과는 크기(app.geoip.cache-max-size)와 TTL(app.geoip.cache-ttl-hours)이 제한된 캐시에 담으며,
+ * 적중/미스/제거 지표는 Micrometer 의 cache.* 지표(cache=geoip)로 노출된다.
+ * 조회 실패는 이 캐시에 담지 않는다 (ip-api 실패는 IpApiGeoLocationResolver 의 짧은 음성 캐시가 막는다). 원격 조회가 있을 수 있으므로 요청 스레드에서 호출하지 않는다.
+ * 접근 로그 writer 는 findWithoutRemote 로 캐시·로컬 DB 만 보고, 없으면 resolveAsync 로 전용 스레드에서 원격 조회한다.
+ * 요청 제한·일시 장애(DeferredException)로 조회하지 못한 IP 는 대기열 뒤에 다시 넣고, MAX_REMOTE_ATTEMPTS 번까지 시도한다.
  */
 @Service
 @Slf4j
 public class GeoIPService {
 
-    private final RestTemplate restTemplate;
-    private final Map<String, GeoLocation> cache = new ConcurrentHashMap<>();
-
-    private static final String GEO_API_URL = "http://ip-api.com/json/";
-    private static final String FIELDS = "?fields=status,message,country,countryCode";
-
-    public GeoIPService() {
-        this.restTemplate = new RestTemplate();
+    private static final GeoLocation UNKNOWN = new GeoLocation("XX", "Unknown");
+    private static final int MAX_REMOTE_ATTEMPTS = 5;
+
+    private final List<GeoLocationResolver> resolvers;
+    private final Cache<String, GeoLocation> cache;
+    private final ThreadPoolTaskExecutor remoteExecutor;
+
+    // 원격 조회가 대기 중이거나 진행 중인 IP (같은 IP 는 한 번만 조회)
+    private final Set<String> remotePending = ConcurrentHashMap.newKeySet();
+
+    public GeoIPService(List<GeoLocationResolver> resolvers,
+                        MeterRegistry meterRegistry,
+                        @Qualifier("geoIpExecutor") ThreadPoolTaskExecutor remoteExecutor,
+                        @Value("${app.geoip.cache-max-size:10000}") long cacheMaxSize,
+                        @Value("${app.geoip.cache-ttl-hours:24}") long cacheTtlHours) {
+        this.resolvers = resolvers;
+        this.remoteExecutor = remoteExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofHours(cacheTtlHours))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "geoip");
     }
 
     /**
@@ -48,63 +81,106 @@ public class GeoIPService {
             return getDefaultLocation();
         }
 
-        // 캐시 확인
-        if (cache.containsKey(ipAddress)) {
-            return cache.get(ipAddress);
-        }
-
-        try {
-            String url = GEO_API_URL + ipAddress + FIELDS;
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+        // 같은 IP 에 대한 동시 조회는 한 번만 수행된다 (null 이면 캐시하지 않음)
+        GeoLocation location = cache.get(ipAddress, this::resolve);
+        return location != null ? location : getDefaultLocation();
+    }
 
-            if (response != null && "success".equals(response.get("status"))) {
-                String countryCode = (String) response.get("countryCode");
-                String countryName = (String) response.get("country");
+    /**
+     * 네트워크 호출 없이 조회 (사설 IP → 캐시 → 로컬 DB)
+     *
+     * @return 국가 정보, 원격 조회가 필요하면 null
+     */
+    public GeoLocation findWithoutRemote(String ipAddress) {
+        if (ipAddress == null || ipAddress.isEmpty() || isPrivateOrLocalIP(ipAddress)) {
+            return getDefaultLocation();
+        }
+        GeoLocation cached = cache.getIfPresent(ipAddress);
+        if (cached != null) {
+            return cached;
+        }
+        for (GeoLocationResolver resolver : resolvers) {
+            if (resolver.isRemote()) {
+                continue;
+            }
+            GeoLocation location = resolver.resolve(ipAddress);
+            if (location != null) {
+                cache.put(ipAddress, location);
+                return location;
+            }
+        }
+        return null;
+    }
 
-                GeoLocation location = new GeoLocation(countryCode, countryName);
+    /**
+     * 전용 스레드(geoIpExecutor)에서 조회하고 찾으면 콜백 실행 (같은 IP 의 조회가 이미 대기 중이면 무시)
+     */
+    public void resolveAsync(String ipAddress, Consumer<GeoLocation> onResolved) {
+        if (!remotePending.add(ipAddress)) {
+            return;
+        }
+        if (!submit(ipAddress, onResolved, 1)) {
+            remotePending.remove(ipAddress);
+        }
+    }
 
-                // 캐시에 저장 (메모리 누수 방지를 위해 최대 10,000개까지만)
-                if (cache.size() < 10000) {
-                    cache.put(ipAddress, location);
+    private boolean submit(String ipAddress, Consumer<GeoLocation> onResolved, int attempt) {
+        try {
+            remoteExecutor.execute(() -> {
+                boolean requeued = false;
+                try {
+                    GeoLocation location = cache.get(ipAddress, this::resolve);
+                    if (location != null) {
+                        onResolved.accept(location);
+                    }
+                } catch (GeoLocationResolver.DeferredException e) {
+                    if (attempt < MAX_REMOTE_ATTEMPTS) {
+                        log.debug("GeoIP 조회 연기 ({} 회): {} ({})", attempt, ipAddress, e.getMessage());
+                        requeued = submit(ipAddress, onResolved, attempt + 1);
+                    } else {
+                        log.warn("GeoIP 조회 {} 회 연기되어 국가 정보를 비워 둠: {} ({})", attempt, ipAddress, e.getMessage());
+                    }
+                } catch (Exception e) {
+                    log.warn("GeoIP 비동기 조회 실패: {} ({})", ipAddress, e.getMessage());
+                } finally {
+                    if (!requeued) {
+                        remotePending.remove(ipAddress);
+                    }
                 }
+            });
+            return true;
+        } catch (TaskRejectedException e) {
+            log.debug("GeoIP 조회 대기열이 가득 차 국가 정보를 비워 둠: {}", ipAddress);
+            return false;
+        }
+    }
 
+    private GeoLocation resolve(String ipAddress) {
+        for (GeoLocationResolver resolver : resolvers) {
+            GeoLocation location = resolver.resolve(ipAddress);
+            if (location != null) {
                 return location;
-            } else {
-                log.warn("GeoIP 조회 실패: {}, 응답: {}", ipAddress, response);
-                return getDefaultLocation();
             }
-
-        } catch (Exception e) {
-            log.error("GeoIP API 호출 중 오류 발생: {}", ipAddress, e);
-            return getDefaultLocation();
         }
+        return null;
     }
 
     /**
      * 사설 IP 또는 로컬 IP 여부 확인
      */
     private boolean isPrivateOrLocalIP(String ip) {
-        return ip.startsWith("127.") ||
-               ip.startsWith("192.168.") ||
-               ip.startsWith("10.") ||
-               ip.startsWith("172.16.") ||
-               ip.startsWith("172.17.") ||
-               ip.startsWith("172.18.") ||
-               ip.startsWith("172.19.") ||
-               ip.startsWith("172.20.") ||
-               ip.startsWith("172.21.") ||
-               ip.startsWith("172.22.") ||
-               ip.startsWith("172.23.") ||
-               ip.startsWith("172.24.") ||
-               ip.startsWith("172.25.") ||
-               ip.startsWith("172.26.") ||
-               ip.startsWith("172.27.") ||
-               ip.startsWith("172.28.") ||
-               ip.startsWith("172.29.") ||
-               ip.startsWith("172.30.") ||
-               ip.startsWith("172.31.") ||
-               ip.equals("0:0:0:0:0:0:0:1") ||
+        long value = LocalGeoLocationResolver.parseIpv4(ip);
+        if (value >= 0) {
+            int first = (int) (value >>> 24);
+            int second = (int) ((value >>> 16) & 0xFF);
+            return first == 127 ||
+                   first == 10 ||
+                   first == 0 ||
+                   (first == 192 && second == 168) ||
+                   (first == 172 && second >= 16 && second <= 31) ||
+                   (first == 169 && second == 254);
+        }
+        return ip.equals("0:0:0:0:0:0:0:1") ||
                ip.equals("::1");
     }
 
@@ -112,21 +188,21 @@ public class GeoIPService {
      * 기본 위치 정보 반환 (조회 실패 시)
      */
     private GeoLocation getDefaultLocation() {
-        return new GeoLocation("XX", "Unknown");
+        return new GeoLocation(UNKNOWN.getCountryCode(), UNKNOWN.getCountryName());
     }
 
     /**
      * 캐시 크기 조회 (모니터링용)
      */
-    public int getCacheSize() {
-        return cache.size();
+    public long getCacheSize() {
+        return cache.estimatedSize();
     }
 
     /**
      * 캐시 초기화 (관리용)
      */
     public void clearCache() {
-        cache.clear();
+        cache.invalidateAll();
         log.info("GeoIP 캐시 초기화 완료");
     }
 
@@ -0,0 +1,33 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import com.hoooon22.devzip.Service.traceboard.GeoIPService.GeoLocation;
+
+/**
+ * IP 주소 → 국가 정보 조회 백엔드
+ *
+ * GeoIPService 가 @Order 순서대로 시도하며, 처음으로 null 이 아닌 결과를 캐시에 담는다.
+ */
+public interface GeoLocationResolver {
+
+    /**
+     * @return 조회 결과, 이 백엔드로 알 수 없으면 null
+     * @throws DeferredException 요청 제한·일시 장애로 지금은 알 수 없음 (나중에 다시 조회해야 함)
+     */
+    GeoLocation resolve(String ipAddress);
+
+    /**
+     * 네트워크 호출로 조회하는지 여부 (true 면 GeoIPService 가 접근 로그 writer 스레드에서 호출하지 않는다)
+     */
+    default boolean isRemote() {
+        return false;
+    }
+
+    /**
+     * 일시적인 조회 실패 (요청 제한 429, 5xx, 타임아웃)
+     */
+    class DeferredException extends RuntimeException {
+        public DeferredException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hoooon22.devzip.Service.traceboard.GeoIPService.GeoLocation;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ip-api.com 기반 GeoIP 조회 (무료, 45 req/min 제한)
+ *
+ * 로컬 DB 로 찾지 못한 경우의 보조 수단이다. app.geoip.remote-enabled=false 로 끌 수 있다.
+ * - 호출 전에 토큰 버킷(분당 app.geoip.remote-requests-per-minute, 버스트 1)에서 허가를 기다린다.
+ *   버스트 없이 간격을 두므로 어느 60초 구간에서도 한도를 넘지 않는다. 기다리는 쪽은 GeoIPService 의 전용 스레드다.
+ * - 응답 헤더 X-Rl(남은 요청 수)이 0 이거나 429 를 받으면 X-Ttl 초 동안 호출을 멈춘다.
+ * - 429·5xx·타임아웃은 DeferredException 으로 알려 GeoIPService 가 다시 예약하게 하고 음성 캐시에 넣지 않는다.
+ * - 그 밖의 실패(사설·예약 대역 등 status=fail)는 null 을 반환하고, 짧은 음성 캐시(app.geoip.negative-ttl-minutes)에
+ *   기록해 같은 IP 를 곧바로 다시 묻지 않는다.
+ */
+@Component
+@Order(2)
+@Slf4j
+public class IpApiGeoLocationResolver implements GeoLocationResolver {
+
+    private static final String GEO_API_URL = "http://ip-api.com/json/";
+    private static final String FIELDS = "?fields=status,message,country,countryCode";
+    private static final long DEFAULT_PAUSE_SECONDS = 60;
+
+    private final RestTemplate restTemplate;
+    private final boolean enabled;
+    private final long permitIntervalNanos;
+
+    // 다음 호출을 허가할 시각 (System.nanoTime 기준, this 로 보호)
+    private long nextPermitNanos = System.nanoTime();
+
+    // 최근 조회에 실패한 IP (만료 전까지 원격 조회하지 않음)
+    private final Cache<String, Boolean> failedLookups;
+
+    public IpApiGeoLocationResolver(RestTemplate restTemplate,
+                                    @Value("${app.geoip.remote-enabled:true}") boolean enabled,
+                                    @Value("${app.geoip.negative-ttl-minutes:10}") long negativeTtlMinutes,
+                                    @Value("${app.geoip.remote-requests-per-minute:45}") int requestsPerMinute) {
+        this.restTemplate = restTemplate;
+        this.enabled = enabled;
+        this.permitIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+        this.failedLookups = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(Math.max(1, negativeTtlMinutes)))
+                .build();
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public GeoLocation resolve(String ipAddress) {
+        if (!enabled || failedLookups.getIfPresent(ipAddress) != null) {
+            return null;
+        }
+        acquirePermit();
+        try {
+            String url = GEO_API_URL + ipAddress + FIELDS;
+            @SuppressWarnings("rawtypes")
+            ResponseEntity<Map> entity = restTemplate.getForEntity(url, Map.class);
+            if ("0".equals(entity.getHeaders().getFirst("X-Rl"))) {
+                pause(entity.getHeaders());
+            }
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> response = entity.getBody();
+            if (response != null && "success".equals(response.get("status"))) {
+                String countryCode = (String) response.get("countryCode");
+                String countryName = (String) response.get("country");
+                return new GeoLocation(countryCode, countryName);
+            }
+            log.warn("GeoIP 조회 실패: {}, 응답: {}", ipAddress, response);
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                pause(e.getResponseHeaders());
+                throw new DeferredException("ip-api 요청 제한 (429)");
+            }
+            if (e.getStatusCode().is5xxServerError()) {
+                throw new DeferredException("ip-api 서버 오류 (" + e.getStatusCode().value() + ")");
+            }
+            log.warn("GeoIP API 호출 실패: {} ({})", ipAddress, e.getMessage());
+        } catch (ResourceAccessException e) {
+            // 타임아웃·연결 실패는 일시적이므로 스택 트레이스 없이 다시 예약하게 한다
+            throw new DeferredException("ip-api 호출 실패 (" + e.getMessage() + ")");
+        } catch (Exception e) {
+            log.warn("GeoIP API 호출 실패: {} ({})", ipAddress, e.getMessage());
+        }
+        failedLookups.put(ipAddress, Boolean.TRUE);
+        return null;
+    }
+
+    /**
+     * 다음 허가 시각까지 기다린다 (버스트 1 토큰 버킷)
+     */
+    private void acquirePermit() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long permitAt = Math.max(now, nextPermitNanos);
+            nextPermitNanos = permitAt + permitIntervalNanos;
+            waitNanos = permitAt - now;
+        }
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeferredException("ip-api 호출 대기 중 중단");
+        }
+    }
+
+    /**
+     * 요청 한도가 초기화될 때까지(X-Ttl 초, 없으면 60초) 호출을 멈춘다
+     */
+    private void pause(HttpHeaders headers) {
+        long seconds = DEFAULT_PAUSE_SECONDS;
+        String ttl = headers != null ? headers.getFirst("X-Ttl") : null;
+        if (ttl != null) {
+            try {
+                seconds = Math.max(1, Long.parseLong(ttl.trim()));
+            } catch (NumberFormatException ignored) {
+                // 기본값 사용
+            }
+        }
+        synchronized (this) {
+            nextPermitNanos = Math.max(nextPermitNanos, System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds));
+        }
+        log.warn("ip-api 요청 한도 도달, {} 초 동안 원격 조회 중지", seconds);
+    }
+}
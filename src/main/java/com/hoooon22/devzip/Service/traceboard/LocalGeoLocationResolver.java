@@ -0,0 +1,183 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.hoooon22.devzip.Service.traceboard.GeoIPService.GeoLocation;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 IP 대역 DB 기반 GeoIP 조회 (네트워크 호출 없음)
+ *
+ * CSV 형식: start_ip,end_ip,country_code[,country_name]
+ * - 대역 경계는 점 표기(DB-IP IP-to-Country Lite)와 10진수 정수(IP2Location LITE DB1 IPv4) 모두 받는다.
+ * - 기동 시 IPv4 대역을 시작 주소 순으로 정렬된 원시 배열(int[]/short[])에 적재하고 이진 탐색으로 조회한다.
+ * - IPv6 행은 건너뛰며, 국가 이름이 없으면 국가 코드로부터 영문 이름을 만든다.
+ * - app.geoip.database-path 가 비어 있으면 비활성화되어 항상 null 을 반환한다.
+ */
+@Component
+@Order(1)
+@Slf4j
+public class LocalGeoLocationResolver implements GeoLocationResolver {
+
+    private final String databasePath;
+
+    // 대역 시작/끝 (부호 없는 32비트를 int 에 담음) 과 국가 인덱스
+    private volatile int[] rangeStarts = new int[0];
+    private volatile int[] rangeEnds = new int[0];
+    private volatile short[] rangeCountries = new short[0];
+    private volatile GeoLocation[] countries = new GeoLocation[0];
+
+    public LocalGeoLocationResolver(@Value("${app.geoip.database-path:}") String databasePath) {
+        this.databasePath = databasePath;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (databasePath == null || databasePath.isBlank()) {
+            log.info("로컬 GeoIP DB 미설정 (app.geoip.database-path)");
+            return;
+        }
+        Path path = Path.of(databasePath);
+        List<long[]> ranges = new ArrayList<>();
+        Map<String, Short> countryIndex = new HashMap<>();
+        List<GeoLocation> countryList = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.replace("\"", "").split(",");
+                if (cols.length < 3) {
+                    continue;
+                }
+                long start = parseRangeBound(cols[0].trim());
+                long end = parseRangeBound(cols[1].trim());
+                String countryCode = cols[2].trim().toUpperCase(Locale.ROOT);
+                if (start < 0 || end < start || countryCode.length() != 2) {
+                    continue; // IPv6, 헤더 행 등
+                }
+                Short index = countryIndex.get(countryCode);
+                if (index == null) {
+                    String countryName = cols.length > 3 && !cols[3].isBlank()
+                            ? cols[3].trim()
+                            : new Locale("", countryCode).getDisplayCountry(Locale.ENGLISH);
+                    index = (short) countryList.size();
+                    countryIndex.put(countryCode, index);
+                    countryList.add(new GeoLocation(countryCode, countryName));
+                }
+                ranges.add(new long[]{start, end, index});
+            }
+        } catch (IOException e) {
+            log.error("로컬 GeoIP DB 로드 실패: {}", databasePath, e);
+            return;
+        }
+
+        ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+        int[] starts = new int[ranges.size()];
+        int[] ends = new int[ranges.size()];
+        short[] rangeCountryIdx = new short[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            long[] range = ranges.get(i);
+            starts[i] = (int) range[0];
+            ends[i] = (int) range[1];
+            rangeCountryIdx[i] = (short) range[2];
+        }
+        this.countries = countryList.toArray(new GeoLocation[0]);
+        this.rangeCountries = rangeCountryIdx;
+        this.rangeEnds = ends;
+        this.rangeStarts = starts;
+        log.info("로컬 GeoIP DB 로드 완료: {} 개 대역, {} 개 국가", starts.length, countryList.size());
+    }
+
+    public boolean isAvailable() {
+        return rangeStarts.length > 0;
+    }
+
+    @Override
+    public GeoLocation resolve(String ipAddress) {
+        int[] starts = rangeStarts;
+        if (starts.length == 0) {
+            return null;
+        }
+        long ip = parseIpv4(ipAddress);
+        if (ip < 0) {
+            return null;
+        }
+
+        // ip 이하인 마지막 시작 주소를 이진 탐색 (부호 없는 비교)
+        int lo = 0;
+        int hi = starts.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Integer.toUnsignedLong(starts[mid]) <= ip) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        if (found < 0 || Integer.toUnsignedLong(rangeEnds[found]) < ip) {
+            return null;
+        }
+        return countries[rangeCountries[found]];
+    }
+
+    /**
+     * CSV 대역 경계 (점 표기 또는 10진수 정수) → 부호 없는 32비트 값 (IPv4 범위가 아니면 -1)
+     */
+    static long parseRangeBound(String value) {
+        if (!value.isEmpty() && value.length() <= 10 && value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            long number = Long.parseLong(value);
+            return number <= 0xFFFFFFFFL ? number : -1;
+        }
+        return parseIpv4(value);
+    }
+
+    /**
+     * IPv4 점 표기 → 부호 없는 32비트 값 (IPv4 가 아니면 -1)
+     */
+    static long parseIpv4(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return -1;
+        }
+        long value = 0;
+        int octet = 0;
+        int digits = 0;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet * 10 + (c - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && digits > 0 && dots < 3) {
+                value = (value << 8) | octet;
+                octet = 0;
+                digits = 0;
+                dots++;
+            } else {
+                return -1;
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            return -1;
+        }
+        return (value << 8) | octet;
+    }
+}
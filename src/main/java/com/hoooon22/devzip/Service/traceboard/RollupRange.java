@@ -0,0 +1,78 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+
+/**
+ * 사전 집계 버킷 조회용 구간 분해 유틸리티
+ *
+ * 조회 구간을 가운데는 큰 단위(일/시), 양 끝은 작은 단위(분) 버킷 구간들로 나눈다.
+ * 분 버킷이 보관 기간을 지난 끝단은 시 단위로 넓힌다.
+ */
+final class RollupRange {
+
+    private RollupRange() {
+    }
+
+    /**
+     * 분 버킷이 온전히 남아 있음이 보장되는 가장 이른 시각
+     */
+    static LocalDateTime minuteFloor(long minuteRetentionHours) {
+        return LocalDateTime.now().minusHours(minuteRetentionHours).truncatedTo(ChronoUnit.HOURS).plusHours(1);
+    }
+
+    /**
+     * 구간 [start, end] 를 겹치지 않는 버킷 구간 [from, to) 목록으로 분해
+     *
+     * @param useDays false 이면 일 버킷을 쓰지 않는다 (시간대 정보가 필요한 경우)
+     */
+    static List<Segment> plan(LocalDateTime start, LocalDateTime end, LocalDateTime minuteFloor, boolean useDays) {
+        LocalDateTime from = Granularity.MINUTE.truncate(start);
+        LocalDateTime to = Granularity.MINUTE.truncate(end).plusMinutes(1); // end 포함
+        List<Segment> segments = new ArrayList<>();
+        if (!from.isBefore(to)) {
+            return segments;
+        }
+
+        LocalDateTime hourFrom = Granularity.HOUR.ceil(from);
+        LocalDateTime hourTo = Granularity.HOUR.truncate(to);
+
+        if (!hourFrom.isBefore(hourTo)) {
+            addEdge(segments, from, to, minuteFloor);
+            return segments;
+        }
+
+        addEdge(segments, from, hourFrom, minuteFloor);
+        LocalDateTime dayFrom = Granularity.DAY.ceil(hourFrom);
+        LocalDateTime dayTo = Granularity.DAY.truncate(hourTo);
+        if (useDays && dayFrom.isBefore(dayTo)) {
+            addSegment(segments, Granularity.HOUR, hourFrom, dayFrom);
+            addSegment(segments, Granularity.DAY, dayFrom, dayTo);
+            addSegment(segments, Granularity.HOUR, dayTo, hourTo);
+        } else {
+            addSegment(segments, Granularity.HOUR, hourFrom, hourTo);
+        }
+        addEdge(segments, hourTo, to, minuteFloor);
+        return segments;
+    }
+
+    private static void addEdge(List<Segment> segments, LocalDateTime from, LocalDateTime to, LocalDateTime minuteFloor) {
+        if (!from.isBefore(minuteFloor)) {
+            addSegment(segments, Granularity.MINUTE, from, to);
+        } else {
+            addSegment(segments, Granularity.HOUR, Granularity.HOUR.truncate(from), Granularity.HOUR.ceil(to));
+        }
+    }
+
+    private static void addSegment(List<Segment> segments, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            segments.add(new Segment(granularity, from, to));
+        }
+    }
+
+    record Segment(Granularity granularity, LocalDateTime from, LocalDateTime to) {}
+}
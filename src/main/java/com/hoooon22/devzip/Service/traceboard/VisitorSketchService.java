@@ -0,0 +1,191 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hoooon22.devzip.Config.TraceBoardConfig;
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+import com.hoooon22.devzip.Model.traceboard.RollupCheckpoint;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch.Source;
+import com.hoooon22.devzip.Repository.traceboard.AccessLogRepository;
+import com.hoooon22.devzip.Repository.traceboard.AccessLogRepository.SketchSource;
+import com.hoooon22.devzip.Repository.traceboard.RollupCheckpointRepository;
+import com.hoooon22.devzip.Repository.traceboard.VisitorSketchRepository;
+import com.hoooon22.devzip.Service.traceboard.RollupRange.Segment;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 고유 방문자 HyperLogLog 스케치 서비스
+ *
+ * - 이벤트 로그 스케치는 EventRollupService 가 집계 배치와 같은 트랜잭션에서 병합한다.
+ * - 접근 로그 스케치는 이 서비스의 스케줄러가 마지막 반영 ID 이후의 로그만 읽어 병합한다.
+ * - 조회는 구간을 버킷으로 분해해 스케치를 병합하므로 90일 구간도 수백 개 스케치(수 MB 이하)만 읽는다.
+ */
+@Service
+@Slf4j
+public class VisitorSketchService {
+
+    private static final String ACCESS_CHECKPOINT_NAME = "access_visitor_sketch";
+    private static final int BATCH_SIZE = 5000;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final VisitorSketchRepository sketchRepository;
+    private final AccessLogRepository accessLogRepository;
+    private final RollupCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long settleSeconds;
+    private final long minuteRetentionHours;
+
+    public VisitorSketchService(
+            VisitorSketchRepository sketchRepository,
+            AccessLogRepository accessLogRepository,
+            RollupCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.rollup.settle-seconds:10}") long settleSeconds,
+            @Value("${app.rollup.minute-retention-hours:48}") long minuteRetentionHours) {
+        this.sketchRepository = sketchRepository;
+        this.accessLogRepository = accessLogRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleSeconds = settleSeconds;
+        this.minuteRetentionHours = minuteRetentionHours;
+    }
+
+    /**
+     * 방문자를 분/시/일 버킷 스케치에 추가 (보관 기간이 지난 분 버킷은 건너뛴다)
+     */
+    public void addVisitor(Map<SketchKey, HyperLogLog> sketches, LocalDateTime time, String visitorKey) {
+        if (time == null || visitorKey == null) {
+            return;
+        }
+        LocalDateTime minuteFloor = RollupRange.minuteFloor(minuteRetentionHours);
+        for (Granularity granularity : Granularity.values()) {
+            LocalDateTime bucket = granularity.truncate(time);
+            if (granularity == Granularity.MINUTE && bucket.isBefore(minuteFloor)) {
+                continue;
+            }
+            sketches.computeIfAbsent(new SketchKey(granularity, bucket), k -> new HyperLogLog()).add(visitorKey);
+        }
+    }
+
+    /**
+     * 배치에서 만든 스케치를 저장된 버킷 스케치에 병합 (호출자 트랜잭션 안에서 실행)
+     */
+    public void mergeSketches(Source source, Map<SketchKey, HyperLogLog> sketches) {
+        if (sketches.isEmpty()) {
+            return;
+        }
+        Map<Granularity, Set<LocalDateTime>> bucketsByGranularity = sketches.keySet().stream()
+                .collect(Collectors.groupingBy(SketchKey::granularity,
+                        Collectors.mapping(SketchKey::bucketStart, Collectors.toSet())));
+
+        Map<SketchKey, VisitorSketch> existing = new HashMap<>();
+        bucketsByGranularity.forEach((granularity, buckets) -> {
+            for (VisitorSketch sketch : sketchRepository.findBySourceAndGranularityAndBucketStartIn(source, granularity, buckets)) {
+                existing.put(new SketchKey(sketch.getGranularity(), sketch.getBucketStart()), sketch);
+            }
+        });
+
+        List<VisitorSketch> toSave = new ArrayList<>(sketches.size());
+        sketches.forEach((key, delta) -> {
+            VisitorSketch stored = existing.get(key);
+            if (stored == null) {
+                stored = VisitorSketch.builder()
+                        .source(source)
+                        .granularity(key.granularity())
+                        .bucketStart(key.bucketStart())
+                        .build();
+            } else {
+                delta.merge(HyperLogLog.fromBytes(stored.getRegisters()));
+            }
+            stored.setRegisters(delta.toBytes());
+            toSave.add(stored);
+        });
+        sketchRepository.saveAll(toSave);
+    }
+
+    /**
+     * 구간 [start, end] 의 고유 방문자 수 추정
+     */
+    @Transactional(readOnly = true)
+    public long estimateUniqueVisitors(Source source, LocalDateTime start, LocalDateTime end) {
+        HyperLogLog merged = new HyperLogLog();
+        LocalDateTime minuteFloor = RollupRange.minuteFloor(minuteRetentionHours);
+        for (Segment segment : RollupRange.plan(start, end, minuteFloor, true)) {
+            for (VisitorSketch sketch : sketchRepository.findInRange(
+                    source, segment.granularity(), segment.from(), segment.to())) {
+                merged.merge(HyperLogLog.fromBytes(sketch.getRegisters()));
+            }
+        }
+        return merged.estimate();
+    }
+
+    /**
+     * 새로 쌓인 접근 로그를 스케치에 반영
+     */
+    @Scheduled(fixedDelayString = "${app.rollup.interval-ms:15000}", initialDelayString = "${app.rollup.initial-delay-ms:10000}",
+               scheduler = TraceBoardConfig.BATCH_SCHEDULER)
+    public void sketchNewAccessLogs() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                Integer processed = transactionTemplate.execute(status -> sketchNextAccessBatch());
+                if (processed == null || processed < BATCH_SIZE) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("접근 로그 방문자 스케치 반영 실패", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 분 단위 스케치 삭제 (매시 5분)
+     */
+    @Scheduled(cron = "0 5 * * * ?", scheduler = TraceBoardConfig.BATCH_SCHEDULER)
+    @Transactional
+    public void pruneMinuteSketches() {
+        int deleted = sketchRepository.deleteOlderThan(
+                Granularity.MINUTE, RollupRange.minuteFloor(minuteRetentionHours));
+        log.debug("분 단위 방문자 스케치 정리: {} 건", deleted);
+    }
+
+    private int sketchNextAccessBatch() {
+        RollupCheckpoint checkpoint = checkpointRepository.findById(ACCESS_CHECKPOINT_NAME)
+                .orElseGet(() -> new RollupCheckpoint(ACCESS_CHECKPOINT_NAME, 0L));
+
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleSeconds);
+        List<SketchSource> rows = accessLogRepository.findSketchSources(
+                checkpoint.getLastId(), settledBefore, PageRequest.of(0, BATCH_SIZE));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+        for (SketchSource row : rows) {
+            addVisitor(sketches, row.getAccessTime(), row.getIpAddress());
+        }
+        mergeSketches(Source.ACCESS_LOG, sketches);
+
+        checkpoint.setLastId(rows.get(rows.size() - 1).getId());
+        checkpointRepository.save(checkpoint);
+        log.debug("접근 로그 {} 건 방문자 스케치 반영 (lastId={})", rows.size(), checkpoint.getLastId());
+        return rows.size();
+    }
+
+    public record SketchKey(Granularity granularity, LocalDateTime bucketStart) {}
+}
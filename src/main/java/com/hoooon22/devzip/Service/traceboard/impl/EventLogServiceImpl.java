@@ -1,13 +1,16 @@
 package com.hoooon22.devzip.Service.traceboard.impl;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
@@ -19,14 +22,22 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.hoooon22.devzip.Exception.ErrorCode;
+import com.hoooon22.devzip.Exception.TraceBoardException;
 import com.hoooon22.devzip.Model.traceboard.EventLog;
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Dimension;
+import com.hoooon22.devzip.Model.traceboard.VisitorSketch.Source;
 import com.hoooon22.devzip.Model.traceboard.dto.EventLogRequest;
 import com.hoooon22.devzip.Model.traceboard.dto.EventLogResponse;
 import com.hoooon22.devzip.Repository.traceboard.EventLogRepository;
 import com.hoooon22.devzip.Repository.traceboard.ProjectRepository;
 import com.hoooon22.devzip.Security.DataEncryptionUtil;
 import com.hoooon22.devzip.Service.traceboard.EventLogService;
+import com.hoooon22.devzip.Service.traceboard.EventRollupService;
+import com.hoooon22.devzip.Service.traceboard.VisitorSketchService;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,6 +49,11 @@ public class EventLogServiceImpl implements EventLogService {
     private final EventLogRepository eventLogRepository;
     private final ProjectRepository projectRepository;
     private final DataEncryptionUtil encryptionUtil;
+    private final EventRollupService eventRollupService;
+    private final VisitorSketchService visitorSketchService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     @Transactional
@@ -115,10 +131,8 @@ public class EventLogServiceImpl implements EventLogService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Object> getDashboardData(LocalDateTime start, LocalDateTime end) {
-        // 대시보드 데이터 조회 시 제한: 50,000개 (통계 목적)
-        Pageable pageable = PageRequest.of(0, 50000, Sort.by(Sort.Direction.DESC, "occurredAt"));
-        Page<EventLog> logPage = eventLogRepository.findByOccurredAtBetween(start, end, pageable);
-        List<EventLog> logs = logPage.getContent();
+        // 분포·합계는 사전 집계(rollup) 버킷에서 읽는다 — 조회 비용이 이벤트 수가 아닌 버킷 수에 비례하고 건수 상한도 없다
+        EventRollupService.Summary summary = eventRollupService.summarize(start, end);
 
         // 이전 기간 데이터 조회 (비교용)
         long daysDiff = java.time.Duration.between(start, end).toDays();
@@ -126,29 +140,23 @@ public class EventLogServiceImpl implements EventLogService {
 
         LocalDateTime prevStart = start.minusDays(daysDiff);
         LocalDateTime prevEnd = start;
-        Page<EventLog> prevLogPage = eventLogRepository.findByOccurredAtBetween(prevStart, prevEnd, pageable);
-        List<EventLog> prevLogs = prevLogPage.getContent();
+        EventRollupService.Summary prevSummary = eventRollupService.summarize(prevStart, prevEnd);
 
         Map<String, Object> result = new HashMap<>();
 
         // 전체 이벤트 수
-        result.put("totalEvents", logs.size());
+        result.put("totalEvents", summary.total());
 
-        // 고유 방문자 수 계산: 로그별로 userId 우선, 없으면 IP 해시로 식별하여 중복 제거
-        long uniqueVisitors = countUniqueVisitors(logs);
-        long prevUniqueVisitors = countUniqueVisitors(prevLogs);
+        // 고유 방문자 수: userId 우선, 없으면 IP 해시로 식별한 버킷별 HyperLogLog 스케치를 병합해 추정 (오차 약 1.6%)
+        long uniqueVisitors = visitorSketchService.estimateUniqueVisitors(Source.EVENT_LOG, start, end);
+        long prevUniqueVisitors = visitorSketchService.estimateUniqueVisitors(Source.EVENT_LOG, prevStart, prevEnd);
 
         result.put("totalUsers", uniqueVisitors);
         result.put("uniqueVisitors", uniqueVisitors);
 
         // 총 페이지뷰 수
-        long totalPageViews = logs.stream()
-                .filter(log -> "pageview".equalsIgnoreCase(log.getEventType()) || "page_view".equalsIgnoreCase(log.getEventType()))
-                .count();
-
-        long prevTotalPageViews = prevLogs.stream()
-                .filter(log -> "pageview".equalsIgnoreCase(log.getEventType()) || "page_view".equalsIgnoreCase(log.getEventType()))
-                .count();
+        long totalPageViews = summary.count(Dimension.EVENT_TYPE, "pageview");
+        long prevTotalPageViews = prevSummary.count(Dimension.EVENT_TYPE, "pageview");
 
         result.put("totalPageViews", totalPageViews);
         result.put("pageViews", totalPageViews);
@@ -165,33 +173,17 @@ public class EventLogServiceImpl implements EventLogService {
         trends.put("pageViewsPerVisitor", calculatePercentageChange(prevPageViewsPerVisitor, pageViewsPerVisitor));
         result.put("trends", trends);
 
-        // 이벤트 타입별 분포
-        Map<String, Long> eventTypeDistribution = logs.stream()
-                .collect(Collectors.groupingBy(
-                    log -> {
-                        String type = log.getEventType();
-                        if (type == null) return "unknown";
-                        // 대소문자 통일 및 언더스코어 처리
-                        return type.toLowerCase().replace("_", "");
-                    },
-                    Collectors.counting()
-                ));
-        result.put("eventTypeDistribution", eventTypeDistribution);
+        // 이벤트 타입별 분포 (집계 시 소문자·언더스코어 제거로 정규화됨)
+        result.put("eventTypeDistribution", summary.distribution(Dimension.EVENT_TYPE));
 
         // 시간별 이벤트 분포
-        Map<String, Long> hourlyDistribution = logs.stream()
-                .collect(Collectors.groupingBy(log -> log.getOccurredAt().getHour() + "시", Collectors.counting()));
+        Map<String, Long> hourlyDistribution = new HashMap<>();
+        eventRollupService.countByHourOfDay(start, end)
+                .forEach((hour, count) -> hourlyDistribution.put(hour + "시", count));
         result.put("hourlyDistribution", hourlyDistribution);
 
         // 가장 많이 방문한 페이지
-        Map<String, Long> pageViewDistribution = logs.stream()
-                .filter(log -> {
-                    String type = log.getEventType();
-                    return type != null && (type.equalsIgnoreCase("pageview") || type.equalsIgnoreCase("page_view"));
-                })
-                .filter(log -> log.getPath() != null && !log.getPath().isEmpty())
-                .collect(Collectors.groupingBy(EventLog::getPath, Collectors.counting()));
-
+        Map<String, Long> pageViewDistribution = summary.distribution(Dimension.PAGE_VIEW_PATH);
         result.put("pageViewDistribution", pageViewDistribution);
 
         // 최다 방문 페이지 정보
@@ -211,9 +203,7 @@ public class EventLogServiceImpl implements EventLogService {
         result.put("mostVisitedPage", mostVisitedPage);
 
         // 기기 타입별 분포
-        Map<String, Long> deviceDistribution = logs.stream()
-                .filter(log -> log.getDeviceType() != null && !log.getDeviceType().isEmpty())
-                .collect(Collectors.groupingBy(EventLog::getDeviceType, Collectors.counting()));
+        Map<String, Long> deviceDistribution = summary.distribution(Dimension.DEVICE);
         result.put("deviceDistribution", deviceDistribution);
 
         // 모바일 사용자 비율 (기기 정보가 있는 이벤트 기준, 대소문자 무시)
@@ -226,46 +216,17 @@ public class EventLogServiceImpl implements EventLogService {
         result.put("mobilePercentage", Math.round(mobilePercentage * 10.0) / 10.0);
 
         // 브라우저별 분포
-        Map<String, Long> browserDistribution = logs.stream()
-                .filter(log -> log.getBrowser() != null && !log.getBrowser().isEmpty())
-                .collect(Collectors.groupingBy(EventLog::getBrowser, Collectors.counting()));
-        result.put("browserDistribution", browserDistribution);
+        result.put("browserDistribution", summary.distribution(Dimension.BROWSER));
 
         // OS별 분포
-        Map<String, Long> osDistribution = logs.stream()
-                .filter(log -> log.getOs() != null && !log.getOs().isEmpty())
-                .collect(Collectors.groupingBy(EventLog::getOs, Collectors.counting()));
-        result.put("osDistribution", osDistribution);
+        result.put("osDistribution", summary.distribution(Dimension.OS));
 
         // 최근 로그 추가 (최대 100개)
-        List<EventLog> recentLogs = logs.stream()
-                .limit(100)
-                .collect(Collectors.toList());
-        result.put("recentLogs", recentLogs);
+        result.put("recentLogs", eventLogRepository.findTop100ByOccurredAtBetweenOrderByOccurredAtDesc(start, end));
 
         return result;
     }
 
-    /**
-     * 고유 방문자 수 계산
-     * 로그마다 userId가 있으면 userId로, 없으면 IP 해시로 식별하여 중복 제거한다.
-     * (userId와 IP 해시 문자열이 우연히 겹치는 것을 막기 위해 접두사를 붙인다)
-     */
-    private long countUniqueVisitors(List<EventLog> logs) {
-        return logs.stream()
-                .map(log -> {
-                    String userId = log.getUserId();
-                    if (userId != null && !userId.isEmpty()) {
-                        return "u:" + userId;
-                    }
-                    String ipHash = log.getIpAddressHash();
-                    return ipHash != null ? "ip:" + ipHash : null;
-                })
-                .filter(java.util.Objects::nonNull)
-                .distinct()
-                .count();
-    }
-
     /**
      * 퍼센테지 변화율 계산
      * @param oldValue 이전 값
@@ -330,11 +291,6 @@ public class EventLogServiceImpl implements EventLogService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Long> getHourlyEventCounts(LocalDateTime startDate, LocalDateTime endDate) {
-        // 시간별 통계 조회 시 제한: 100,000개
-        Pageable pageable = PageRequest.of(0, 100000, Sort.by(Sort.Direction.DESC, "occurredAt"));
-        Page<EventLog> logPage = eventLogRepository.findByOccurredAtBetween(startDate, endDate, pageable);
-        List<EventLog> logs = logPage.getContent();
-        
         Map<String, Long> hourlyData = new HashMap<>();
         
         // 모든 시간대를 초기화 (0으로)
@@ -342,11 +298,9 @@ public class EventLogServiceImpl implements EventLogService {
             hourlyData.put(String.format("%02d:00", hour), 0L);
         }
         
-        // 실제 데이터로 업데이트
-        logs.forEach(log -> {
-            String hourKey = String.format("%02d:00", log.getOccurredAt().getHour());
-            hourlyData.put(hourKey, hourlyData.getOrDefault(hourKey, 0L) + 1);
-        });
+        // 사전 집계 버킷으로 업데이트
+        eventRollupService.countByHourOfDay(startDate, endDate)
+                .forEach((hour, count) -> hourlyData.put(String.format("%02d:00", hour), count));
         
         return hourlyData;
     }
@@ -354,73 +308,56 @@ public class EventLogServiceImpl implements EventLogService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, Long> getPageViewCounts(LocalDateTime startDate, LocalDateTime endDate) {
-        // 페이지뷰 통계 조회 시 제한: 50,000개
-        // SDK는 'pageView'(카멜케이스)를 전송하므로 대소문자/언더스코어 표기를 모두 허용한다.
-        Pageable pageable = PageRequest.of(0, 50000, Sort.by(Sort.Direction.DESC, "occurredAt"));
-        Page<EventLog> logPage = eventLogRepository.findByOccurredAtBetween(startDate, endDate, pageable);
-        List<EventLog> logs = logPage.getContent();
-
-        return logs.stream()
-                .filter(log -> {
-                    String type = log.getEventType();
-                    return type != null && (type.equalsIgnoreCase("pageview") || type.equalsIgnoreCase("page_view"));
-                })
-                .filter(log -> log.getPath() != null && !log.getPath().isEmpty())
-                .collect(Collectors.groupingBy(EventLog::getPath, Collectors.counting()));
+        // SDK는 'pageView'(카멜케이스)를 전송하므로 집계 시 대소문자/언더스코어 표기를 모두 'pageview'로 정규화한다.
+        return eventRollupService.summarize(startDate, endDate).distribution(Dimension.PAGE_VIEW_PATH);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] exportEventLogsToCSV(String eventType, LocalDateTime startDate, LocalDateTime endDate) {
-        try {
-            // CSV 내보내기 시 제한: 100,000개 (메모리 보호)
-            Pageable pageable = PageRequest.of(0, 100000);
-            Page<EventLog> logPage;
-            
-            if (eventType != null && !eventType.isEmpty()) {
-                logPage = eventLogRepository.findByEventTypeAndOccurredAtBetween(eventType, startDate, endDate, pageable);
-            } else {
-                logPage = eventLogRepository.findByOccurredAtBetween(startDate, endDate, pageable);
-            }
-            
-            List<EventLog> logs = logPage.getContent();
-            
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
+    public void exportEventLogsToCSV(String eventType, LocalDateTime startDate, LocalDateTime endDate, OutputStream out) {
+        String typeFilter = (eventType != null && !eventType.isEmpty()) ? eventType : null;
+        long rows = 0;
+
+        try (Stream<EventLog> logs = eventLogRepository.streamForExport(typeFilter, startDate, endDate)) {
             CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 
                     CSVFormat.DEFAULT.withHeader(
                             "ID", "이벤트 유형", "사용자 ID", "세션 ID", "경로", "참조 URL", 
                             "이벤트 데이터", "기기 유형", "브라우저", "OS", "IP 주소", 
                             "User Agent", "발생 시간", "위도", "경도", "생성 시간", "수정 시간"));
             
-            for (EventLog log : logs) {
+            Iterator<EventLog> iterator = logs.iterator();
+            while (iterator.hasNext()) {
+                EventLog eventLog = iterator.next();
                 csvPrinter.printRecord(
-                        log.getId(),
-                        log.getEventType(),
-                        log.getUserId(),
-                        log.getSessionId(),
-                        log.getPath(),
-                        log.getReferrer(),
-                        log.getEventData(),
-                        log.getDeviceType(),
-                        log.getBrowser(),
-                        log.getOs(),
-                        log.getIpAddressHash(),
-                        log.getUserAgentEncrypted(),
-                        log.getOccurredAt(),
-                        log.getLatitude(),
-                        log.getLongitude(),
-                        log.getCreatedAt(),
-                        log.getUpdatedAt()
+                        eventLog.getId(),
+                        eventLog.getEventType(),
+                        eventLog.getUserId(),
+                        eventLog.getSessionId(),
+                        eventLog.getPath(),
+                        eventLog.getReferrer(),
+                        eventLog.getEventData(),
+                        eventLog.getDeviceType(),
+                        eventLog.getBrowser(),
+                        eventLog.getOs(),
+                        eventLog.getIpAddressHash(),
+                        eventLog.getUserAgentEncrypted(),
+                        eventLog.getOccurredAt(),
+                        eventLog.getLatitude(),
+                        eventLog.getLongitude(),
+                        eventLog.getCreatedAt(),
+                        eventLog.getUpdatedAt()
                 );
+                // 영속성 컨텍스트에 엔티티가 쌓이지 않도록 기록한 행은 즉시 분리한다 (메모리 일정 유지)
+                entityManager.detach(eventLog);
+                rows++;
             }
             
+            // 스트림은 서블릿 컨테이너가 관리하므로 닫지 않고 flush 만 한다
             csvPrinter.flush();
-            csvPrinter.close();
-            
-            return out.toByteArray();
-        } catch (Exception e) {
-            log.error("CSV 내보내기 실패", e);
-            throw new RuntimeException("CSV 내보내기 실패: " + e.getMessage());
+            log.info("CSV 내보내기 완료: {} 건", rows);
+        } catch (IOException e) {
+            log.error("CSV 내보내기 실패 ({} 건 기록 후 중단)", rows, e);
+            throw new TraceBoardException(ErrorCode.CSV_EXPORT_FAILED, e);
         }
     }
 
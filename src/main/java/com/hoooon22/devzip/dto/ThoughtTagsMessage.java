@@ -0,0 +1,33 @@
+package com.hoooon22.devzip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * AI 태그 추출 완료 알림 (WebSocket /user/topic/thoughts)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ThoughtTagsMessage {
+
+    /**
+     * 태그가 확정된 생각 ID
+     */
+    private Long thoughtId;
+
+    /**
+     * 생각이 속한 주제 ID (없으면 null)
+     */
+    private Long topicId;
+
+    /**
+     * 확정된 태그
+     */
+    private List<String> tags;
+}
@@ -20,6 +20,7 @@ public class TopicMapResponse {
     private String topicEmoji;
     private String topicColor;
     private List<ThoughtCluster> clusters;
+    private long clusterVersion; // 클러스터 배정이 바뀔 때마다 증가
 
     @Data
     @Builder
@@ -41,12 +42,17 @@ public class TopicMapResponse {
     }
 
     public static TopicMapResponse from(Topic topic, List<ThoughtCluster> clusters) {
+        return from(topic, clusters, 0L);
+    }
+
+    public static TopicMapResponse from(Topic topic, List<ThoughtCluster> clusters, long clusterVersion) {
         return TopicMapResponse.builder()
             .topicId(topic.getId())
             .topicName(topic.getName())
             .topicEmoji(topic.getEmoji())
             .topicColor(topic.getColor())
             .clusters(clusters)
+            .clusterVersion(clusterVersion)
             .build();
     }
 
@@ -42,6 +42,7 @@ public class GridCellMessage {
     public enum MessageType {
         TOGGLE,  // 셀 토글
         CLEAR,   // 전체 클리어
-        SYNC     // 동기화
+        SYNC,    // 동기화
+        DIFF     // 묶음 변경 (GridDiffMessage)
     }
 }
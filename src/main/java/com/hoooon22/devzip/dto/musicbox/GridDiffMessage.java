@@ -0,0 +1,48 @@
+package com.hoooon22.devzip.dto.musicbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 짧은 주기 동안 모인 셀 변경을 한 번에 전달하는 diff 프레임
+ *
+ * 비트 i 는 셀 (i % gridWidth, i / gridWidth) 에 대응하며,
+ * 비트셋은 long 단위 little-endian 바이트열을 Base64 로 인코딩한 값이다.
+ * 클라이언트는 changed 비트가 켜진 셀을 active 비트 값으로 덮어쓴다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GridDiffMessage {
+
+    /**
+     * 메시지 타입 (항상 DIFF)
+     */
+    private GridCellMessage.MessageType type;
+
+    /**
+     * 프레임 순번 (1씩 증가, 건너뛰면 클라이언트가 누락 프레임이나 스냅샷을 요청)
+     */
+    private Long seq;
+
+    private Integer gridWidth;
+    private Integer gridHeight;
+
+    /**
+     * 바뀐 셀 비트셋
+     */
+    private String changed;
+
+    /**
+     * 바뀐 셀의 현재 상태 비트셋 (changed 밖의 비트는 0)
+     */
+    private String active;
+
+    /**
+     * 이 프레임에 합쳐진 토글 수
+     */
+    private Integer toggles;
+}
@@ -27,6 +27,11 @@ public class GridStateResponse {
     private Integer gridWidth;
     private Integer gridHeight;
 
+    /**
+     * 이 스냅샷이 반영한 마지막 diff 프레임 순번 (클라이언트는 이후 프레임만 적용)
+     */
+    private Long seq;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -0,0 +1,26 @@
+package com.hoooon22.devzip.dto.musicbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 뮤직박스 방 생성/크기 변경 요청 DTO
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomSizeRequest {
+
+    /**
+     * 그리드 가로 크기 (1~64, 생성 시 생략하면 16)
+     */
+    private Integer width;
+
+    /**
+     * 그리드 세로 크기 (1~64, 생성 시 생략하면 8)
+     */
+    private Integer height;
+}
@@ -9,6 +9,9 @@ import java.util.List;
 
 /**
  * 활성 사용자 목록 메시지 DTO
+ *
+ * SNAPSHOT 은 users 에 전체 목록을, DELTA 는 joined/left 에 직전 버전 이후의 변경분만 담는다.
+ * 같은 이름이 여러 번 들어 있으면 그 수만큼 추가/제거한다.
  */
 @Data
 @NoArgsConstructor
@@ -17,12 +20,37 @@ import java.util.List;
 public class UserListMessage {
 
     /**
-     * 활성 사용자명 목록
+     * 메시지 타입 (SNAPSHOT, DELTA)
+     */
+    private MessageType type;
+
+    /**
+     * 목록 버전 (DELTA 마다 1씩 증가, 건너뛰었으면 SNAPSHOT 을 다시 받아야 한다)
+     */
+    private Long version;
+
+    /**
+     * 활성 사용자명 목록 (SNAPSHOT)
      */
     private List<String> users;
 
+    /**
+     * 입장한 사용자명 (DELTA)
+     */
+    private List<String> joined;
+
+    /**
+     * 퇴장한 사용자명 (DELTA)
+     */
+    private List<String> left;
+
     /**
      * 총 사용자 수
      */
     private Integer totalCount;
+
+    public enum MessageType {
+        SNAPSHOT,  // 전체 목록
+        DELTA      // 변경분
+    }
 }
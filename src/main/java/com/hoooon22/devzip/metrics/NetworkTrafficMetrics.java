@@ -1,32 +1,252 @@
 package com.hoooon22.devzip.metrics;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 네트워크 인터페이스별 트래픽 지표
+ *
+ * - 기동 시 /sys/class/net 에서 인터페이스를 찾는다 (루프백 제외, app.network-metrics.interfaces 로 지정 가능).
+ * - sample-interval-ms 마다 rx/tx 바이트·패킷·에러 누적값을 읽어 직전 샘플 대비 초당 속도를 계산한다.
+ * - 인터페이스마다 최근 history-size 개 샘플을 링 버퍼에 보관한다 (단일 writer, 락 없음).
+ * - 최신 속도는 Micrometer 게이지(network.traffic.*.rate, 태그 interface/direction)로 노출된다.
+ */
 @Component
+@Slf4j
 public class NetworkTrafficMetrics {
 
-    // 송신 트래픽 (bytes)
+    private static final Path SYS_CLASS_NET = Path.of("/sys/class/net");
+    private static final String[] COUNTERS = {
+        "rx_bytes", "tx_bytes", "rx_packets", "tx_packets", "rx_errors", "tx_errors"
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final String configuredInterfaces;
+    private final int historySize;
+    private final Map<String, InterfaceStats> interfaces = new LinkedHashMap<>();
+
+    public NetworkTrafficMetrics(MeterRegistry meterRegistry,
+                                 @Value("${app.network-metrics.interfaces:}") String configuredInterfaces,
+                                 @Value("${app.network-metrics.history-size:120}") int historySize) {
+        this.meterRegistry = meterRegistry;
+        this.configuredInterfaces = configuredInterfaces;
+        this.historySize = Math.max(1, historySize);
+    }
+
+    @PostConstruct
+    public void init() {
+        for (String name : discoverInterfaces()) {
+            InterfaceStats stats = new InterfaceStats(name, SYS_CLASS_NET.resolve(name).resolve("statistics"), historySize);
+            interfaces.put(name, stats);
+            registerGauge("network.traffic.bytes.rate", stats, "rx", InterfaceSample::rxBytesPerSec);
+            registerGauge("network.traffic.bytes.rate", stats, "tx", InterfaceSample::txBytesPerSec);
+            registerGauge("network.traffic.packets.rate", stats, "rx", InterfaceSample::rxPacketsPerSec);
+            registerGauge("network.traffic.packets.rate", stats, "tx", InterfaceSample::txPacketsPerSec);
+            registerGauge("network.traffic.errors.rate", stats, "rx", InterfaceSample::rxErrorsPerSec);
+            registerGauge("network.traffic.errors.rate", stats, "tx", InterfaceSample::txErrorsPerSec);
+        }
+        log.info("네트워크 트래픽 지표 인터페이스: {}", interfaces.keySet());
+        sample();
+    }
+
+    @Scheduled(fixedRateString = "${app.network-metrics.sample-interval-ms:5000}")
+    public synchronized void sample() {
+        long nowNanos = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        for (InterfaceStats stats : interfaces.values()) {
+            stats.sample(nowNanos, nowMillis);
+        }
+    }
+
+    // 송신 트래픽 (bytes, 전체 인터페이스 누적)
     public long getSentBytes() {
-        return getNetworkBytes("/sys/class/net/enX0/statistics/tx_bytes");
+        return sumLatest(InterfaceSample::txBytes);
     }
 
-    // 수신 트래픽 (bytes)
+    // 수신 트래픽 (bytes, 전체 인터페이스 누적)
     public long getReceivedBytes() {
-        return getNetworkBytes("/sys/class/net/enX0/statistics/rx_bytes");
+        return sumLatest(InterfaceSample::rxBytes);
     }
 
-    // 네트워크 바이트를 가져오는 공통 메소드
-    private long getNetworkBytes(String path) {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(path)))) {
-            String line = reader.readLine();
-            return line != null ? Long.parseLong(line) : 0;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return 0;
+    // 초당 송신 바이트 (전체 인터페이스 합계)
+    public double getSentBytesPerSecond() {
+        return interfaces.values().stream().mapToDouble(s -> value(s, InterfaceSample::txBytesPerSec)).sum();
+    }
+
+    // 초당 수신 바이트 (전체 인터페이스 합계)
+    public double getReceivedBytesPerSecond() {
+        return interfaces.values().stream().mapToDouble(s -> value(s, InterfaceSample::rxBytesPerSec)).sum();
+    }
+
+    public Collection<String> getInterfaceNames() {
+        return interfaces.keySet();
+    }
+
+    /**
+     * 인터페이스별 최근 샘플 최대 limit 개 (오래된 순, iface 가 null 이면 전체)
+     */
+    public Map<String, List<InterfaceSample>> history(String iface, int limit) {
+        Map<String, List<InterfaceSample>> result = new LinkedHashMap<>();
+        for (InterfaceStats stats : interfaces.values()) {
+            if (iface == null || iface.equals(stats.name)) {
+                result.put(stats.name, stats.history(limit));
+            }
+        }
+        return result;
+    }
+
+    private List<String> discoverInterfaces() {
+        List<String> names = new ArrayList<>();
+        if (configuredInterfaces != null && !configuredInterfaces.isBlank()) {
+            Arrays.stream(configuredInterfaces.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .forEach(names::add);
+            return names;
+        }
+        if (!Files.isDirectory(SYS_CLASS_NET)) {
+            log.info("/sys/class/net 을 찾을 수 없어 네트워크 트래픽 지표를 수집하지 않습니다");
+            return names;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(SYS_CLASS_NET)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (!"lo".equals(name) && Files.isDirectory(entry.resolve("statistics"))) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("네트워크 인터페이스 탐색 실패: {}", e.getMessage());
         }
+        names.sort(null);
+        return names;
     }
-}
\ No newline at end of file
+
+    private void registerGauge(String name, InterfaceStats stats, String direction,
+                               ToDoubleFunction<InterfaceSample> rate) {
+        Gauge.builder(name, stats, s -> value(s, rate))
+                .tag("interface", stats.name)
+                .tag("direction", direction)
+                .baseUnit("per_second")
+                .register(meterRegistry);
+    }
+
+    private long sumLatest(ToLongFunction<InterfaceSample> counter) {
+        long total = 0;
+        for (InterfaceStats stats : interfaces.values()) {
+            InterfaceSample latest = stats.latest;
+            if (latest != null) {
+                total += counter.applyAsLong(latest);
+            }
+        }
+        return total;
+    }
+
+    private static double value(InterfaceStats stats, ToDoubleFunction<InterfaceSample> rate) {
+        InterfaceSample latest = stats.latest;
+        return latest != null ? rate.applyAsDouble(latest) : 0.0;
+    }
+
+    /**
+     * 인터페이스 하나의 상태와 샘플 링 버퍼
+     */
+    private static final class InterfaceStats {
+
+        private final String name;
+        private final Path[] counterPaths = new Path[COUNTERS.length];
+        private final long[] previous = new long[COUNTERS.length];
+        private final AtomicReferenceArray<InterfaceSample> ring;
+        private final AtomicLong written = new AtomicLong();
+        private long previousNanos;
+        private volatile InterfaceSample latest;
+
+        InterfaceStats(String name, Path statisticsDir, int historySize) {
+            this.name = name;
+            for (int i = 0; i < COUNTERS.length; i++) {
+                counterPaths[i] = statisticsDir.resolve(COUNTERS[i]);
+            }
+            this.ring = new AtomicReferenceArray<>(historySize);
+        }
+
+        void sample(long nowNanos, long nowMillis) {
+            long[] current = new long[COUNTERS.length];
+            for (int i = 0; i < COUNTERS.length; i++) {
+                current[i] = readCounter(counterPaths[i]);
+            }
+
+            double[] rates = new double[COUNTERS.length];
+            if (previousNanos > 0) {
+                double elapsedSeconds = (nowNanos - previousNanos) / 1_000_000_000.0;
+                for (int i = 0; i < COUNTERS.length; i++) {
+                    // 카운터가 초기화(인터페이스 재시작)되면 음수가 되므로 0으로 본다
+                    rates[i] = elapsedSeconds > 0 ? Math.max(0, current[i] - previous[i]) / elapsedSeconds : 0;
+                }
+            }
+            System.arraycopy(current, 0, previous, 0, COUNTERS.length);
+            previousNanos = nowNanos;
+
+            InterfaceSample sample = new InterfaceSample(nowMillis, current[0], current[1],
+                    rates[0], rates[1], rates[2], rates[3], rates[4], rates[5]);
+            long index = written.get();
+            ring.set((int) (index % ring.length()), sample);
+            written.set(index + 1);
+            latest = sample;
+        }
+
+        List<InterfaceSample> history(int limit) {
+            long count = written.get();
+            int size = (int) Math.min(Math.min(count, ring.length()), Math.max(0, limit));
+            List<InterfaceSample> samples = new ArrayList<>(size);
+            for (long i = count - size; i < count; i++) {
+                InterfaceSample sample = ring.get((int) (i % ring.length()));
+                if (sample != null) {
+                    samples.add(sample);
+                }
+            }
+            return samples;
+        }
+
+        private static long readCounter(Path path) {
+            try {
+                return Long.parseLong(Files.readString(path).trim());
+            } catch (IOException | NumberFormatException e) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 한 시점의 인터페이스 트래픽 (누적 바이트와 초당 속도)
+     */
+    public record InterfaceSample(
+            long timestamp,
+            long rxBytes,
+            long txBytes,
+            double rxBytesPerSec,
+            double txBytesPerSec,
+            double rxPacketsPerSec,
+            double txPacketsPerSec,
+            double rxErrorsPerSec,
+            double txErrorsPerSec) {}
+}
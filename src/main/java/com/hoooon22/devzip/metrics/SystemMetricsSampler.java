@@ -0,0 +1,189 @@
+package com.hoooon22.devzip.metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시스템 CPU/메모리/네트워크 백그라운드 샘플러
+ *
+ * 요청마다 vmstat/top/sar 프로세스를 띄우던 방식을 대체한다.
+ * - 스케줄러가 sample-interval-ms 마다 /proc/stat, /proc/meminfo 를 직접 읽는다.
+ * - CPU 사용률은 직전 샘플과의 차이로 계산한다.
+ * - 네트워크 값은 NetworkTrafficMetrics 가 인터페이스별로 수집한 값의 합계를 담는다.
+ * - 최근 샘플은 고정 크기 링 버퍼에 보관한다 (단일 writer, 다수 reader, 락 없음).
+ * - /proc 가 없는 환경(macOS, Windows)에서는 OperatingSystemMXBean 값으로 대체한다.
+ */
+@Component
+@Slf4j
+public class SystemMetricsSampler {
+
+    private static final Path PROC_STAT = Path.of("/proc/stat");
+    private static final Path PROC_MEMINFO = Path.of("/proc/meminfo");
+
+    private final NetworkTrafficMetrics networkTrafficMetrics;
+    private final AtomicReferenceArray<SystemSample> ring;
+    private final AtomicLong written = new AtomicLong();
+
+    // 직전 샘플 상태 (스케줄러 스레드에서만 접근)
+    private long prevCpuTotal = -1;
+    private long prevCpuIdle = -1;
+
+    public SystemMetricsSampler(NetworkTrafficMetrics networkTrafficMetrics,
+                                @Value("${app.system-metrics.history-size:300}") int historySize) {
+        this.networkTrafficMetrics = networkTrafficMetrics;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, historySize));
+    }
+
+    @PostConstruct
+    public void init() {
+        sample();
+    }
+
+    @Scheduled(fixedRateString = "${app.system-metrics.sample-interval-ms:2000}")
+    public synchronized void sample() {
+        try {
+            double cpuUsage = sampleCpu();
+            long[] memory = sampleMemory();
+
+            long total = memory[0];
+            long available = memory[1];
+            long used = total - available;
+            double memoryUsage = total > 0 ? clamp((double) used / total * 100) : 0.0;
+
+            SystemSample sample = new SystemSample(System.currentTimeMillis(), cpuUsage,
+                    total, used, available, memoryUsage,
+                    networkTrafficMetrics.getReceivedBytes(), networkTrafficMetrics.getSentBytes(),
+                    networkTrafficMetrics.getReceivedBytesPerSecond(), networkTrafficMetrics.getSentBytesPerSecond());
+            long index = written.get();
+            ring.set((int) (index % ring.length()), sample);
+            written.set(index + 1);
+        } catch (Exception e) {
+            log.warn("시스템 지표 샘플링 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 가장 최근 샘플 (아직 없으면 null)
+     */
+    public SystemSample latest() {
+        long count = written.get();
+        return count == 0 ? null : ring.get((int) ((count - 1) % ring.length()));
+    }
+
+    /**
+     * 최근 샘플 최대 limit 개 (오래된 순)
+     */
+    public List<SystemSample> history(int limit) {
+        long count = written.get();
+        int size = (int) Math.min(Math.min(count, ring.length()), Math.max(0, limit));
+        List<SystemSample> samples = new ArrayList<>(size);
+        for (long i = count - size; i < count; i++) {
+            SystemSample sample = ring.get((int) (i % ring.length()));
+            if (sample != null) {
+                samples.add(sample);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * /proc/stat 첫 줄(cpu 합계)의 직전 샘플 대비 비유휴 시간 비율
+     */
+    private double sampleCpu() {
+        try (BufferedReader reader = Files.newBufferedReader(PROC_STAT)) {
+            String line = reader.readLine();
+            if (line != null && line.startsWith("cpu ")) {
+                String[] parts = line.trim().split("\\s+");
+                long total = 0;
+                for (int i = 1; i < parts.length; i++) {
+                    total += Long.parseLong(parts[i]);
+                }
+                // idle + iowait
+                long idle = Long.parseLong(parts[4]) + (parts.length > 5 ? Long.parseLong(parts[5]) : 0);
+
+                double usage = 0.0;
+                if (prevCpuTotal >= 0 && total > prevCpuTotal) {
+                    usage = clamp(100.0 * (1.0 - (double) (idle - prevCpuIdle) / (total - prevCpuTotal)));
+                }
+                prevCpuTotal = total;
+                prevCpuIdle = idle;
+                return usage;
+            }
+        } catch (IOException | RuntimeException e) {
+            // /proc 가 없는 환경 - JVM 제공 값 사용
+        }
+        double load = osBean().getCpuLoad();
+        return load >= 0 ? clamp(load * 100) : 0.0;
+    }
+
+    /**
+     * /proc/meminfo 의 [전체, 사용 가능] 바이트
+     */
+    private long[] sampleMemory() {
+        try {
+            long total = 0, available = -1, free = 0, buffers = 0, cached = 0;
+            for (String line : Files.readAllLines(PROC_MEMINFO)) {
+                if (line.startsWith("MemTotal:")) {
+                    total = parseKiloBytes(line);
+                } else if (line.startsWith("MemAvailable:")) {
+                    available = parseKiloBytes(line);
+                } else if (line.startsWith("MemFree:")) {
+                    free = parseKiloBytes(line);
+                } else if (line.startsWith("Buffers:")) {
+                    buffers = parseKiloBytes(line);
+                } else if (line.startsWith("Cached:")) {
+                    cached = parseKiloBytes(line);
+                }
+            }
+            if (total > 0) {
+                return new long[]{total, available >= 0 ? available : free + buffers + cached};
+            }
+        } catch (IOException | RuntimeException e) {
+            // /proc 가 없는 환경 - JVM 제공 값 사용
+        }
+        com.sun.management.OperatingSystemMXBean osBean = osBean();
+        return new long[]{osBean.getTotalMemorySize(), osBean.getFreeMemorySize()};
+    }
+
+    private static long parseKiloBytes(String line) {
+        String[] parts = line.trim().split("\\s+");
+        return Long.parseLong(parts[1]) * 1024;
+    }
+
+    private static double clamp(double percent) {
+        return Math.max(0.0, Math.min(percent, 100.0));
+    }
+
+    private static com.sun.management.OperatingSystemMXBean osBean() {
+        return (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    }
+
+    /**
+     * 한 시점의 시스템 지표
+     */
+    public record SystemSample(
+            long timestamp,
+            double cpuUsage,
+            long totalMemory,
+            long usedMemory,
+            long availableMemory,
+            double memoryUsage,
+            long rxBytes,
+            long txBytes,
+            double rxBytesPerSec,
+            double txBytesPerSec) {}
+}
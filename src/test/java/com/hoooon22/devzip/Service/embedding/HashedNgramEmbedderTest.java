@@ -0,0 +1,70 @@
+package com.hoooon22.devzip.Service.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HashedNgramEmbedderTest {
+
+	private final HashedNgramEmbedder embedder = new HashedNgramEmbedder(256);
+
+	@Test
+	void sameInputGivesSameVector() {
+		float[] first = embedder.embed("스프링 부트 캐시 설정", List.of("spring", "cache"));
+		float[] second = new HashedNgramEmbedder(256).embed("스프링 부트 캐시 설정", List.of("spring", "cache"));
+
+		assertArrayEquals(first, second);
+	}
+
+	@Test
+	void caseAndPunctuationDoNotChangeVector() {
+		assertArrayEquals(
+				embedder.embed("Redis cache, eviction!", List.of()),
+				embedder.embed("redis CACHE eviction", List.of()));
+	}
+
+	@Test
+	void vectorIsL2Normalized() {
+		float[] vector = embedder.embed("오늘 읽은 논문 정리: 트랜잭션 격리 수준", List.of("database", "isolation"));
+
+		assertEquals(256, vector.length);
+		assertEquals(1.0, norm(vector), 1e-5);
+		assertEquals(1.0, Vectors.dot(vector, vector), 1e-5);
+	}
+
+	@Test
+	void emptyInputGivesZeroVector() {
+		float[] vector = embedder.embed(null, null);
+
+		assertEquals(0.0, norm(vector), 0.0);
+	}
+
+	@Test
+	void dimensionsHaveLowerBound() {
+		HashedNgramEmbedder tiny = new HashedNgramEmbedder(1);
+
+		assertEquals(16, tiny.getDimensions());
+		assertEquals(16, tiny.embed("hello", null).length);
+	}
+
+	@Test
+	void relatedTextIsCloserThanUnrelatedText() {
+		float[] base = embedder.embed("스프링 부트 캐시 설정 방법", List.of());
+		float[] related = embedder.embed("스프링 부트에서 캐시를 설정하는 방법", List.of());
+		float[] unrelated = embedder.embed("고양이 사료 추천 목록", List.of());
+
+		assertTrue(Vectors.dot(base, related) > Vectors.dot(base, unrelated));
+	}
+
+	private static double norm(float[] vector) {
+		double sum = 0;
+		for (float x : vector) {
+			sum += x * x;
+		}
+		return Math.sqrt(sum);
+	}
+}
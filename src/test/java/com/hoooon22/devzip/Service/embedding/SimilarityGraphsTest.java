@@ -0,0 +1,231 @@
+package com.hoooon22.devzip.Service.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SimilarityGraphsTest {
+
+	private static final int TOPICS = 3;
+	private static final int PER_TOPIC = 6;
+
+	@Test
+	void averageLinkageRecoversSeparableTopics() {
+		float[][] vectors = topicVectors(42L);
+
+		int[] labels = SimilarityGraphs.averageLinkage(similarity(vectors), 0.5);
+
+		for (int i = 0; i < labels.length; i++) {
+			for (int j = 0; j < labels.length; j++) {
+				if (i / PER_TOPIC == j / PER_TOPIC) {
+					assertEquals(labels[i], labels[j], "같은 주제는 같은 클러스터여야 한다: " + i + ", " + j);
+				} else {
+					assertNotEquals(labels[i], labels[j], "다른 주제는 다른 클러스터여야 한다: " + i + ", " + j);
+				}
+			}
+		}
+		// 처음 나타난 순서대로 0부터 번호를 매긴다
+		assertEquals(0, labels[0]);
+		assertEquals(1, labels[PER_TOPIC]);
+		assertEquals(2, labels[2 * PER_TOPIC]);
+	}
+
+	@Test
+	void thresholdAboveAllSimilaritiesLeavesSingletons() {
+		float[][] vectors = topicVectors(7L);
+
+		int[] labels = SimilarityGraphs.averageLinkage(similarity(vectors), 1.01);
+
+		assertEquals(vectors.length, Arrays.stream(labels).distinct().count());
+	}
+
+	@Test
+	void thresholdBelowAllSimilaritiesMergesEverything() {
+		float[][] vectors = topicVectors(7L);
+
+		int[] labels = SimilarityGraphs.averageLinkage(similarity(vectors), -1.01);
+
+		assertEquals(1, Arrays.stream(labels).distinct().count());
+	}
+
+	@Test
+	void thresholdCutsAtMergeSimilarity() {
+		// {0,1} 은 0.9, {2,3} 은 0.7 에서 합쳐지고, 두 쌍 사이 평균 유사도는 0.1
+		float[][] sim = {
+				{1f, 0.9f, 0.1f, 0.1f},
+				{0.9f, 1f, 0.1f, 0.1f},
+				{0.1f, 0.1f, 1f, 0.7f},
+				{0.1f, 0.1f, 0.7f, 1f}
+		};
+
+		assertArrayEquals(new int[]{0, 0, 1, 2}, SimilarityGraphs.averageLinkage(copy(sim), 0.8));
+		assertArrayEquals(new int[]{0, 0, 1, 1}, SimilarityGraphs.averageLinkage(copy(sim), 0.6));
+		assertArrayEquals(new int[]{0, 0, 0, 0}, SimilarityGraphs.averageLinkage(copy(sim), 0.05));
+	}
+
+	@Test
+	void averageLinkageHandlesTrivialInput() {
+		assertArrayEquals(new int[0], SimilarityGraphs.averageLinkage(new float[0][0], 0.5));
+		assertArrayEquals(new int[]{0}, SimilarityGraphs.averageLinkage(new float[][]{{1f}}, 0.5));
+	}
+
+	@Test
+	void maximumSpanningTreeIsSpanningTree() {
+		float[][] sim = similarity(topicVectors(3L));
+
+		int[] parent = SimilarityGraphs.maximumSpanningTree(sim);
+
+		assertEquals(1, Arrays.stream(parent).filter(p -> p == -1).count(), "루트는 하나여야 한다");
+		int edges = 0;
+		for (int v = 0; v < parent.length; v++) {
+			if (parent[v] >= 0) {
+				edges++;
+			}
+			// 부모를 따라가면 n 단계 안에 루트에 닿아야 한다 (순환 없음)
+			int node = v;
+			for (int step = 0; step < parent.length && parent[node] >= 0; step++) {
+				node = parent[node];
+			}
+			assertEquals(-1, parent[node]);
+		}
+		assertEquals(parent.length - 1, edges);
+	}
+
+	@Test
+	void maximumSpanningTreeWeightMatchesBruteForce() {
+		for (long seed = 1; seed <= 5; seed++) {
+			float[][] sim = randomSymmetric(6, seed);
+
+			int[] parent = SimilarityGraphs.maximumSpanningTree(sim);
+
+			double weight = 0;
+			for (int v = 0; v < parent.length; v++) {
+				if (parent[v] >= 0) {
+					weight += sim[v][parent[v]];
+				}
+			}
+			assertEquals(bruteForceMaximumTreeWeight(sim), weight, 1e-5, "seed " + seed);
+		}
+	}
+
+	@Test
+	void maximumSpanningTreeRootsAtMedoid() {
+		float[][] sim = {
+				{1f, 0.2f, 0.1f},
+				{0.2f, 1f, 0.8f},
+				{0.1f, 0.8f, 1f}
+		};
+
+		int[] parent = SimilarityGraphs.maximumSpanningTree(sim);
+
+		assertEquals(-1, parent[1]);
+		assertEquals(1, parent[0]);
+		assertEquals(1, parent[2]);
+	}
+
+	/**
+	 * 서로 직교하는 주제 축 주변에 잡음을 섞은 정규화 벡터 (주제 i 의 원소는 i*PER_TOPIC 부터 연속)
+	 */
+	private static float[][] topicVectors(long seed) {
+		Random random = new Random(seed);
+		int dimensions = 32;
+		float[][] vectors = new float[TOPICS * PER_TOPIC][dimensions];
+		for (int i = 0; i < vectors.length; i++) {
+			int topic = i / PER_TOPIC;
+			vectors[i][topic] = 1f;
+			for (int d = 0; d < dimensions; d++) {
+				vectors[i][d] += (float) (random.nextGaussian() * 0.1);
+			}
+			Vectors.normalize(vectors[i]);
+		}
+		return vectors;
+	}
+
+	private static float[][] similarity(float[][] vectors) {
+		float[][] sim = new float[vectors.length][vectors.length];
+		for (int i = 0; i < vectors.length; i++) {
+			for (int j = 0; j < vectors.length; j++) {
+				sim[i][j] = Vectors.dot(vectors[i], vectors[j]);
+			}
+		}
+		return sim;
+	}
+
+	private static float[][] randomSymmetric(int n, long seed) {
+		Random random = new Random(seed);
+		float[][] sim = new float[n][n];
+		for (int i = 0; i < n; i++) {
+			sim[i][i] = 1f;
+			for (int j = i + 1; j < n; j++) {
+				float s = random.nextFloat() * 2 - 1;
+				sim[i][j] = s;
+				sim[j][i] = s;
+			}
+		}
+		return sim;
+	}
+
+	private static float[][] copy(float[][] sim) {
+		float[][] copy = new float[sim.length][];
+		for (int i = 0; i < sim.length; i++) {
+			copy[i] = sim[i].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * 모든 라벨 트리(Prüfer 수열 n^(n-2) 개)의 가중치 중 최댓값
+	 */
+	private static double bruteForceMaximumTreeWeight(float[][] sim) {
+		int n = sim.length;
+		int[] sequence = new int[n - 2];
+		double best = Double.NEGATIVE_INFINITY;
+		while (true) {
+			best = Math.max(best, treeWeight(sim, sequence));
+			int position = 0;
+			while (position < sequence.length && ++sequence[position] == n) {
+				sequence[position++] = 0;
+			}
+			if (position == sequence.length) {
+				return best;
+			}
+		}
+	}
+
+	private static double treeWeight(float[][] sim, int[] sequence) {
+		int n = sim.length;
+		int[] degree = new int[n];
+		Arrays.fill(degree, 1);
+		for (int node : sequence) {
+			degree[node]++;
+		}
+		double weight = 0;
+		for (int node : sequence) {
+			for (int leaf = 0; leaf < n; leaf++) {
+				if (degree[leaf] == 1) {
+					weight += sim[leaf][node];
+					degree[leaf]--;
+					degree[node]--;
+					break;
+				}
+			}
+		}
+		int u = -1;
+		for (int i = 0; i < n; i++) {
+			if (degree[i] == 1) {
+				if (u < 0) {
+					u = i;
+				} else {
+					weight += sim[u][i];
+				}
+			}
+		}
+		return weight;
+	}
+}
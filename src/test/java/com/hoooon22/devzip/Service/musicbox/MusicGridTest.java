@@ -0,0 +1,165 @@
+package com.hoooon22.devzip.Service.musicbox;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MusicGridTest {
+
+	@Test
+	void toggleFlipsCellAndReturnsNewState() {
+		MusicGrid grid = new MusicGrid(16, 8);
+
+		assertTrue(grid.toggle(3, 2, "alice"));
+		assertTrue(grid.isActive(3, 2));
+		assertFalse(grid.isActive(2, 3));
+		assertEquals("alice", grid.getLastModifiedBy());
+
+		assertFalse(grid.toggle(3, 2, "bob"));
+		assertFalse(grid.isActive(3, 2));
+		assertEquals("bob", grid.getLastModifiedBy());
+	}
+
+	@Test
+	void cellsAcrossWordBoundaryAreIndependent() {
+		MusicGrid grid = new MusicGrid(16, 8);
+
+		grid.toggle(15, 3, "alice"); // 비트 63
+		grid.toggle(0, 4, "alice");  // 비트 64
+
+		assertEquals(2, grid.wordCount());
+		assertEquals(1L << 63, grid.snapshot()[0]);
+		assertEquals(1L, grid.snapshot()[1]);
+	}
+
+	@Test
+	void toggleOutsideGridIsRejected() {
+		MusicGrid grid = new MusicGrid(16, 8);
+
+		assertThrows(IllegalArgumentException.class, () -> grid.toggle(16, 0, "alice"));
+		assertThrows(IllegalArgumentException.class, () -> grid.toggle(0, -1, "alice"));
+		assertThrows(IllegalArgumentException.class, () -> new MusicGrid(0, 8));
+	}
+
+	@Test
+	void drainDirtyReturnsChangedCellsOnce() {
+		MusicGrid grid = new MusicGrid(16, 8);
+		grid.toggle(1, 0, "alice");
+		grid.toggle(2, 0, "alice");
+		grid.toggle(2, 0, "alice"); // 원래대로 돌아와도 저장 대상이다
+
+		long[] dirty = grid.drainDirty();
+
+		assertTrue(MusicGrid.isSet(dirty, 1));
+		assertTrue(MusicGrid.isSet(dirty, 2));
+		assertFalse(MusicGrid.isSet(dirty, 3));
+		assertArrayEquals(new long[2], grid.drainDirty());
+	}
+
+	@Test
+	void restoreDirtyMergesWithNewChanges() {
+		MusicGrid grid = new MusicGrid(16, 8);
+		grid.toggle(1, 0, "alice");
+		long[] failed = grid.drainDirty();
+		grid.toggle(0, 5, "bob");
+
+		grid.restoreDirty(failed);
+
+		long[] dirty = grid.drainDirty();
+		assertTrue(MusicGrid.isSet(dirty, 1));
+		assertTrue(MusicGrid.isSet(dirty, 5 * 16));
+		assertArrayEquals(new long[2], grid.drainDirty());
+	}
+
+	@Test
+	void drainUnsentIsIndependentOfDirty() {
+		MusicGrid grid = new MusicGrid(16, 8);
+		assertNull(grid.drainUnsent());
+
+		grid.toggle(4, 1, "alice");
+		grid.drainDirty();
+
+		long[] unsent = grid.drainUnsent();
+		assertNotNull(unsent);
+		assertTrue(MusicGrid.isSet(unsent, 16 + 4));
+		assertNull(grid.drainUnsent());
+	}
+
+	@Test
+	void clearMarksActiveCellsDirty() {
+		MusicGrid grid = new MusicGrid(16, 8);
+		grid.toggle(7, 7, "alice");
+		grid.drainDirty();
+
+		grid.clear();
+
+		assertFalse(grid.isActive(7, 7));
+		assertTrue(MusicGrid.isSet(grid.drainDirty(), 7 * 16 + 7));
+	}
+
+	@Test
+	void loadedCellsAreNotDirty() {
+		MusicGrid grid = new MusicGrid(16, 8);
+		grid.toggle(5, 5, "alice");
+		byte[] bytes = MusicGrid.toBytes(grid.snapshot());
+
+		MusicGrid restored = new MusicGrid(16, 8);
+		restored.loadBytes(bytes);
+		restored.load(0, 0);
+
+		assertTrue(restored.isActive(5, 5));
+		assertTrue(restored.isActive(0, 0));
+		assertArrayEquals(new long[2], restored.drainDirty());
+		assertNull(restored.drainUnsent());
+	}
+
+	@Test
+	void copyFromKeepsOverlappingCells() {
+		MusicGrid source = new MusicGrid(16, 8);
+		source.toggle(2, 2, "alice");
+		source.toggle(15, 7, "alice");
+
+		MusicGrid resized = new MusicGrid(8, 4);
+		resized.copyFrom(source);
+
+		assertTrue(resized.isActive(2, 2));
+		assertTrue(MusicGrid.isSet(resized.drainDirty(), 2 * 8 + 2));
+		assertEquals(1, Long.bitCount(resized.snapshot()[0]));
+	}
+
+	@Test
+	void concurrentTogglesAreNotLost() throws InterruptedException {
+		MusicGrid grid = new MusicGrid(16, 8);
+		int threads = 8;
+		int togglesPerThread = 10_000; // 짝수 번 뒤집으면 원래 상태
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int x = t;
+			Thread worker = new Thread(() -> {
+				for (int i = 0; i < togglesPerThread; i++) {
+					grid.toggle(0, 0, "shared");
+					grid.toggle(x, 1, "own");
+				}
+			});
+			workers.add(worker);
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		assertFalse(grid.isActive(0, 0));
+		for (int x = 0; x < threads; x++) {
+			assertFalse(grid.isActive(x, 1));
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+	@Test
+	void emptySketchEstimatesZero() {
+		HyperLogLog sketch = new HyperLogLog();
+
+		assertTrue(sketch.isEmpty());
+		assertEquals(0, sketch.estimate());
+	}
+
+	@Test
+	void duplicatesAreCountedOnce() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 1_000; i++) {
+			sketch.add("visitor-1");
+		}
+
+		assertFalse(sketch.isEmpty());
+		assertEquals(1, sketch.estimate());
+	}
+
+	@Test
+	void estimateIsWithinErrorBound() {
+		for (int cardinality : new int[]{100, 10_000, 200_000}) {
+			HyperLogLog sketch = new HyperLogLog();
+			for (int i = 0; i < cardinality; i++) {
+				sketch.add("visitor-" + i);
+			}
+
+			// 표준 오차 약 1.6% 의 3배 이내
+			assertEquals(cardinality, sketch.estimate(), cardinality * 0.05, "cardinality " + cardinality);
+		}
+	}
+
+	@Test
+	void mergeEqualsSketchOfUnion() {
+		HyperLogLog left = new HyperLogLog();
+		HyperLogLog right = new HyperLogLog();
+		HyperLogLog union = new HyperLogLog();
+		for (int i = 0; i < 6_000; i++) {
+			left.add("visitor-" + i);
+			union.add("visitor-" + i);
+		}
+		for (int i = 4_000; i < 10_000; i++) {
+			right.add("visitor-" + i);
+			union.add("visitor-" + i);
+		}
+
+		left.merge(right);
+
+		assertEquals(union, left);
+		assertEquals(10_000, left.estimate(), 500);
+	}
+
+	@Test
+	void bytesRoundTrip() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 500; i++) {
+			sketch.add("visitor-" + i);
+		}
+
+		byte[] bytes = sketch.toBytes();
+		HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+		assertEquals(HyperLogLog.REGISTER_COUNT, bytes.length);
+		assertEquals(sketch, restored);
+		assertEquals(sketch.estimate(), restored.estimate());
+
+		// 복원본은 입력 배열과 독립적이다
+		bytes[0] = 127;
+		assertArrayEquals(sketch.toBytes(), restored.toBytes());
+	}
+
+	@Test
+	void invalidBytesRestoreEmptySketch() {
+		assertTrue(HyperLogLog.fromBytes(null).isEmpty());
+		assertTrue(HyperLogLog.fromBytes(new byte[16]).isEmpty());
+	}
+}
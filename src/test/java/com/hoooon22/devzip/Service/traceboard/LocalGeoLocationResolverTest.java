@@ -0,0 +1,88 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import com.hoooon22.devzip.Service.traceboard.GeoIPService.GeoLocation;
+
+class LocalGeoLocationResolverTest {
+
+	@Test
+	void parsesDottedIpv4() {
+		assertEquals(0L, LocalGeoLocationResolver.parseIpv4("0.0.0.0"));
+		assertEquals(0x01020304L, LocalGeoLocationResolver.parseIpv4("1.2.3.4"));
+		assertEquals(0xFFFFFFFFL, LocalGeoLocationResolver.parseIpv4("255.255.255.255"));
+	}
+
+	@Test
+	void rejectsInvalidIpv4() {
+		for (String invalid : new String[]{null, "", "256.1.1.1", "1.2.3", "1.2.3.4.5", "1..2.3", "1.2.3.",
+				".1.2.3", "1.2.3.4 ", "0001.2.3.4", "::1", "2001:db8::1", "a.b.c.d"}) {
+			assertEquals(-1L, LocalGeoLocationResolver.parseIpv4(invalid), String.valueOf(invalid));
+		}
+	}
+
+	@Test
+	void parsesDecimalRangeBounds() {
+		assertEquals(16_777_216L, LocalGeoLocationResolver.parseRangeBound("16777216"));
+		assertEquals(0L, LocalGeoLocationResolver.parseRangeBound("0"));
+		assertEquals(0xFFFFFFFFL, LocalGeoLocationResolver.parseRangeBound("4294967295"));
+		assertEquals(-1L, LocalGeoLocationResolver.parseRangeBound("4294967296"));
+		assertEquals(-1L, LocalGeoLocationResolver.parseRangeBound("99999999999"));
+	}
+
+	@Test
+	void rangeBoundFallsBackToDottedOrRejects() {
+		assertEquals(0x01000000L, LocalGeoLocationResolver.parseRangeBound("1.0.0.0"));
+		assertEquals(-1L, LocalGeoLocationResolver.parseRangeBound("2001:db8::"));
+		assertEquals(-1L, LocalGeoLocationResolver.parseRangeBound("start_ip"));
+		assertEquals(-1L, LocalGeoLocationResolver.parseRangeBound(""));
+	}
+
+	@Test
+	void resolvesFromBothCsvFormats() throws IOException {
+		Path csv = Files.createTempFile("geoip", ".csv");
+		try {
+			Files.writeString(csv, String.join("\n",
+					"start_ip,end_ip,country_code,country_name",
+					"\"1.0.0.0\",\"1.0.0.255\",\"AU\",\"Australia\"",
+					"2001:db8::,2001:db8::ffff,JP",
+					"3758096384,3758096639,kr",
+					"225.0.0.0,255.255.255.255,US,United States"), StandardCharsets.UTF_8);
+			LocalGeoLocationResolver resolver = new LocalGeoLocationResolver(csv.toString());
+
+			resolver.load();
+
+			assertTrue(resolver.isAvailable());
+			assertEquals(new GeoLocation("AU", "Australia"), resolver.resolve("1.0.0.7"));
+			// 10진수 대역 (224.0.0.0 ~ 224.0.0.255), 이름이 없으면 코드로부터 만든다
+			assertEquals(new GeoLocation("KR", "South Korea"), resolver.resolve("224.0.0.1"));
+			// 부호 없는 비교 (0x80000000 이상)
+			assertEquals("US", resolver.resolve("255.255.255.255").getCountryCode());
+			assertNull(resolver.resolve("1.0.1.0"));
+			assertNull(resolver.resolve("0.255.255.255"));
+			assertNull(resolver.resolve("2001:db8::1"));
+		} finally {
+			Files.deleteIfExists(csv);
+		}
+	}
+
+	@Test
+	void disabledWithoutDatabasePath() {
+		LocalGeoLocationResolver resolver = new LocalGeoLocationResolver("");
+
+		resolver.load();
+
+		assertFalse(resolver.isAvailable());
+		assertNull(resolver.resolve("1.2.3.4"));
+	}
+}
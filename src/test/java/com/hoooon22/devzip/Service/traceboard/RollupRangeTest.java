@@ -0,0 +1,89 @@
+package com.hoooon22.devzip.Service.traceboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.hoooon22.devzip.Model.traceboard.EventRollup.Granularity;
+import com.hoooon22.devzip.Service.traceboard.RollupRange.Segment;
+
+class RollupRangeTest {
+
+	// 분 버킷이 모두 남아 있는 경우
+	private static final LocalDateTime NO_FLOOR = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+	@Test
+	void rangeWithinOneHourUsesMinutes() {
+		List<Segment> segments = RollupRange.plan(at(1, 10, 5, 30), at(1, 10, 20, 10), NO_FLOOR, true);
+
+		assertEquals(List.of(new Segment(Granularity.MINUTE, at(1, 10, 5), at(1, 10, 21))), segments);
+	}
+
+	@Test
+	void multiDayRangeUsesDaysInTheMiddle() {
+		LocalDateTime start = at(1, 22, 30);
+		LocalDateTime end = at(4, 2, 14);
+
+		List<Segment> segments = RollupRange.plan(start, end, NO_FLOOR, true);
+
+		assertEquals(List.of(
+				new Segment(Granularity.MINUTE, at(1, 22, 30), at(1, 23, 0)),
+				new Segment(Granularity.HOUR, at(1, 23, 0), at(2, 0, 0)),
+				new Segment(Granularity.DAY, at(2, 0, 0), at(4, 0, 0)),
+				new Segment(Granularity.HOUR, at(4, 0, 0), at(4, 2, 0)),
+				new Segment(Granularity.MINUTE, at(4, 2, 0), at(4, 2, 15))), segments);
+		assertContiguous(segments, start, end.plusMinutes(1));
+	}
+
+	@Test
+	void withoutDaysMiddleUsesHours() {
+		List<Segment> segments = RollupRange.plan(at(1, 22, 30), at(4, 2, 14), NO_FLOOR, false);
+
+		assertTrue(segments.stream().noneMatch(s -> s.granularity() == Granularity.DAY));
+		assertContiguous(segments, at(1, 22, 30), at(4, 2, 15));
+	}
+
+	@Test
+	void edgeOlderThanMinuteFloorWidensToHour() {
+		LocalDateTime minuteFloor = at(2, 0, 0);
+
+		List<Segment> segments = RollupRange.plan(at(1, 10, 5), at(2, 3, 30), minuteFloor, true);
+
+		assertEquals(new Segment(Granularity.HOUR, at(1, 10, 0), at(1, 11, 0)), segments.get(0));
+		assertEquals(new Segment(Granularity.MINUTE, at(2, 3, 0), at(2, 3, 31)), segments.get(segments.size() - 1));
+	}
+
+	@Test
+	void emptyWhenStartIsAfterEnd() {
+		assertTrue(RollupRange.plan(at(2, 0, 0), at(1, 0, 0), NO_FLOOR, true).isEmpty());
+	}
+
+	@Test
+	void hourAlignedRangeHasNoMinuteSegments() {
+		List<Segment> segments = RollupRange.plan(at(1, 10, 0), at(1, 12, 59), NO_FLOOR, true);
+
+		assertEquals(List.of(new Segment(Granularity.HOUR, at(1, 10, 0), at(1, 13, 0))), segments);
+	}
+
+	private static void assertContiguous(List<Segment> segments, LocalDateTime from, LocalDateTime to) {
+		LocalDateTime cursor = from;
+		for (Segment segment : segments) {
+			assertEquals(cursor, segment.from());
+			assertTrue(segment.from().isBefore(segment.to()));
+			cursor = segment.to();
+		}
+		assertEquals(to, cursor);
+	}
+
+	private static LocalDateTime at(int day, int hour, int minute) {
+		return LocalDateTime.of(2024, 3, day, hour, minute);
+	}
+
+	private static LocalDateTime at(int day, int hour, int minute, int second) {
+		return LocalDateTime.of(2024, 3, day, hour, minute, second);
+	}
+}